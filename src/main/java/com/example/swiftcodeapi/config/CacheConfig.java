@@ -0,0 +1,12 @@
+package com.example.swiftcodeapi.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SWIFT_CODE_DETAILS = "swiftCodeDetails";
+    public static final String COUNTRY_SWIFT_CODES = "countrySwiftCodes";
+}
@@ -0,0 +1,55 @@
+package com.example.swiftcodeapi.config;
+
+import com.example.swiftcodeapi.exception.ResourceNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Read-only API of the {@code edge} profile, which serves a mapped snapshot file and has neither a database
+ * nor an importer: adds, deletes and uploads answer 405 and import status lookups 404. The bulk lookup is a
+ * POST but only reads, so it stays open. The snapshot file holds no suggestion or search index, so suggest
+ * and search answer 404 too rather than an empty list that reads as no match.
+ */
+@Configuration
+@Profile("edge")
+public class EdgeConfig implements WebMvcConfigurer {
+
+    private static final List<String> READ_METHODS = List.of(HttpMethod.GET.name(), HttpMethod.HEAD.name());
+    private static final List<String> UNINDEXED_PATHS = List.of("/v1/swift-codes/suggest", "/v1/swift-codes/search");
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadOnlyInterceptor())
+                .addPathPatterns("/v1/**")
+                .excludePathPatterns("/v1/swift-codes/lookup");
+    }
+
+    static class ReadOnlyInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+                throws HttpRequestMethodNotSupportedException {
+            String method = request.getMethod();
+            if (!READ_METHODS.contains(method) && !HttpMethod.OPTIONS.matches(method)) {
+                throw new HttpRequestMethodNotSupportedException(method, READ_METHODS);
+            }
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            if (path.startsWith("/v1/swift-codes/import/")) {
+                throw new ResourceNotFoundException("Imports are not available on a read-only instance");
+            }
+            if (UNINDEXED_PATHS.contains(path)) {
+                throw new ResourceNotFoundException("Suggestions and search are not available on a read-only instance");
+            }
+            return true;
+        }
+    }
+}
@@ -1,19 +1,46 @@
 package com.example.swiftcodeapi.controller;
 
+import com.example.swiftcodeapi.dtos.BranchesPageDto;
 import com.example.swiftcodeapi.dtos.CountrySwiftCodesResponseDto;
+import com.example.swiftcodeapi.dtos.ImportStatusDto;
 import com.example.swiftcodeapi.dtos.MessageResponseDto;
+import com.example.swiftcodeapi.dtos.SwiftCodeLookupRequestDto;
 import com.example.swiftcodeapi.dtos.SwiftCodeRequestDto;
+import com.example.swiftcodeapi.dtos.SuggestionDto;
+import com.example.swiftcodeapi.dtos.SwiftCodeSearchResultDto;
 import com.example.swiftcodeapi.dtos.SwiftCodeResponseDto;
+import com.example.swiftcodeapi.exception.ResourceNotFoundException;
+import com.example.swiftcodeapi.service.CountryNdjsonWriter;
+import com.example.swiftcodeapi.service.CountryResponseRenderer;
+import com.example.swiftcodeapi.service.DatasetVersions;
+import com.example.swiftcodeapi.service.CountryResponseRenderer.RenderedCountry;
+import com.example.swiftcodeapi.service.SwiftCodeLookupWriter;
 import com.example.swiftcodeapi.service.SwiftCodeService;
+import com.example.swiftcodeapi.service.SwiftCodeUploadService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/v1/swift-codes")
@@ -22,6 +49,46 @@ import org.springframework.web.bind.annotation.*;
 public class SwiftCodeController {
 
     private final SwiftCodeService swiftCodeService;
+    private final CountryResponseRenderer countryResponseRenderer;
+    private final SwiftCodeLookupWriter swiftCodeLookupWriter;
+    private final CountryNdjsonWriter countryNdjsonWriter;
+    private final DatasetVersions datasetVersions;
+    @Lazy
+    private final SwiftCodeUploadService swiftCodeUploadService;
+
+    @Value("${swiftcode.http.cache-max-age:0}")
+    private long cacheMaxAgeSeconds;
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest SWIFT codes and bank names", description = "Return up to limit SWIFT codes and bank names starting with the given prefix, in alphabetical order.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions")
+    })
+    public ResponseEntity<List<SuggestionDto>> suggest(@RequestParam("q") String query,
+                                                       @RequestParam(defaultValue = "10") int limit,
+                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = datasetVersions.globalETag("s", query, limit);
+        if (DatasetVersions.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return validated(etag).body(swiftCodeService.suggest(query, limit));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search SWIFT codes by bank name, town or address", description = "Typo-tolerant full-text search ranked by trigram similarity, optionally restricted to one country.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved search results")
+    })
+    public ResponseEntity<List<SwiftCodeSearchResultDto>> search(@RequestParam("q") String query,
+                                                                 @RequestParam(value = "country", required = false) String countryISO2,
+                                                                 @RequestParam(defaultValue = "20") int limit,
+                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = datasetVersions.globalETag("q", query, countryISO2, limit);
+        if (DatasetVersions.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return validated(etag).body(swiftCodeService.search(query, countryISO2, limit));
+    }
 
     @GetMapping("/{swiftCode}")
     @Operation(summary = "Get details of a specific SWIFT code", description = "Retrieve details of a SWIFT code by providing its identifier.")
@@ -29,18 +96,40 @@ public class SwiftCodeController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved SWIFT code details"),
             @ApiResponse(responseCode = "404", description = "SWIFT code not found")
     })
-    public ResponseEntity<SwiftCodeResponseDto> getSwiftCodeDetails(@PathVariable String swiftCode) {
-        return ResponseEntity.ok(swiftCodeService.getSwiftCodeDetails(swiftCode));
+    public ResponseEntity<SwiftCodeResponseDto> getSwiftCodeDetails(@PathVariable String swiftCode,
+                                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = datasetVersions.swiftCodeETag(swiftCode, "d");
+        if (DatasetVersions.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return validated(etag).body(swiftCodeService.getSwiftCodeDetails(swiftCode));
     }
 
     @GetMapping("/country/{countryISO2}")
     @Operation(summary = "Get all SWIFT codes for a specific country", description = "Retrieve a list of SWIFT codes for a given country.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved SWIFT codes"),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved SWIFT codes",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = CountrySwiftCodesResponseDto.class))),
             @ApiResponse(responseCode = "404", description = "No SWIFT codes found for the country")
     })
-    public ResponseEntity<CountrySwiftCodesResponseDto> getSwiftCodesByCountry(@PathVariable String countryISO2) {
-        return ResponseEntity.ok(swiftCodeService.getSwiftCodesByCountry(countryISO2));
+    public ResponseEntity<byte[]> getSwiftCodesByCountry(@PathVariable String countryISO2,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = datasetVersions.countryETag(countryISO2, gzip ? "cz" : "c");
+        if (DatasetVersions.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
+        RenderedCountry rendered = countryResponseRenderer.render(countryISO2);
+        ResponseEntity.BodyBuilder response = validated(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(rendered.gzip());
+        }
+        return response.body(rendered.json());
     }
 
     @PostMapping
@@ -53,6 +142,98 @@ public class SwiftCodeController {
         return new ResponseEntity<>(swiftCodeService.addSwiftCode(requestDto), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import a SWIFT code directory file", description = "Upload an XLSX or CSV directory file as the multipart part file. It replaces the imported codes in the background; poll the returned import for progress.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Import queued"),
+            @ApiResponse(responseCode = "400", description = "Empty file or unsupported format")
+    })
+    public ResponseEntity<ImportStatusDto> importSwiftCodes(@RequestPart("file") MultipartFile file) throws IOException {
+        ImportStatusDto status = swiftCodeUploadService.startImport(file);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{importId}").buildAndExpand(status.getImportId()).toUri())
+                .body(status);
+    }
+
+    @GetMapping("/import/{importId}")
+    @Operation(summary = "Get the progress of an import", description = "Rows parsed, written and rejected so far, the write rate and, once it has ended, whether the import succeeded.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the import"),
+            @ApiResponse(responseCode = "404", description = "Import not found")
+    })
+    public ResponseEntity<ImportStatusDto> getImport(@PathVariable String importId) {
+        return ResponseEntity.ok(swiftCodeUploadService.getImport(importId));
+    }
+
+    @GetMapping(value = "/country/{countryISO2}", params = "limit")
+    @Operation(summary = "Get one page of SWIFT codes for a specific country", description = "Keyset pagination in SWIFT code order: pass the nextCursor of the previous page as after to continue.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page"),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor"),
+            @ApiResponse(responseCode = "404", description = "No SWIFT codes found for the country")
+    })
+    public ResponseEntity<CountrySwiftCodesResponseDto> getSwiftCodesByCountryPage(@PathVariable String countryISO2,
+                                                                                   @RequestParam int limit,
+                                                                                   @RequestParam(required = false) String after,
+                                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = datasetVersions.countryETag(countryISO2, "cp");
+        if (DatasetVersions.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return validated(etag).body(swiftCodeService.getSwiftCodesByCountryPage(countryISO2, after, limit));
+    }
+
+    @GetMapping("/{swiftCode}/branches")
+    @Operation(summary = "Get one page of branches of a headquarter", description = "Keyset pagination in SWIFT code order: pass the nextCursor of the previous page as after to continue.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page"),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor"),
+            @ApiResponse(responseCode = "404", description = "Headquarter SWIFT code not found")
+    })
+    public ResponseEntity<BranchesPageDto> getBranchesPage(@PathVariable String swiftCode,
+                                                           @RequestParam(defaultValue = "100") int limit,
+                                                           @RequestParam(required = false) String after,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = datasetVersions.swiftCodeETag(swiftCode, "b");
+        if (DatasetVersions.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return validated(etag).body(swiftCodeService.getBranchesPage(swiftCode, after, limit));
+    }
+
+    @GetMapping(value = "/country/{countryISO2}", produces = CountryNdjsonWriter.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all SWIFT codes for a specific country", description = "Stream the SWIFT codes of a country as newline-delimited JSON, one code per line, in SWIFT code order.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Streaming SWIFT codes"),
+            @ApiResponse(responseCode = "404", description = "No SWIFT codes found for the country")
+    })
+    public ResponseEntity<StreamingResponseBody> streamSwiftCodesByCountry(@PathVariable String countryISO2,
+                                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = datasetVersions.countryETag(countryISO2, "cn");
+        if (DatasetVersions.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        if (!swiftCodeService.hasSwiftCodesForCountry(countryISO2)) {
+            throw new ResourceNotFoundException("No swift codes found for country: " + countryISO2);
+        }
+        return validated(etag)
+                .contentType(CountryNdjsonWriter.APPLICATION_NDJSON)
+                .body(out -> countryNdjsonWriter.write(countryISO2, out));
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up many SWIFT codes at once", description = "Resolve a list of SWIFT codes in one request. Headquarters include their branches; unknown codes are listed under notFound. The response is streamed.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lookup completed"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data")
+    })
+    public ResponseEntity<StreamingResponseBody> lookupSwiftCodes(@Valid @RequestBody SwiftCodeLookupRequestDto requestDto) {
+        List<String> swiftCodes = requestDto.getSwiftCodes();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> swiftCodeLookupWriter.write(swiftCodes, out));
+    }
+
     @DeleteMapping("/{swiftCode}")
     @Operation(summary = "Delete a SWIFT code", description = "Remove a SWIFT code entry from the database.")
     @ApiResponses({
@@ -62,4 +243,55 @@ public class SwiftCodeController {
     public ResponseEntity<MessageResponseDto> deleteSwiftCode(@PathVariable String swiftCode) {
         return ResponseEntity.ok(swiftCodeService.deleteSwiftCode(swiftCode));
     }
+
+    /**
+     * Every GET answers with a strong ETag derived from the dataset version and is checked against
+     * {@code If-None-Match} before the service is called, so a 304 costs no query and no serialization.
+     */
+    private ResponseEntity.BodyBuilder validated(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl());
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl()).build();
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} allows gzip with a non-zero quality: an explicit {@code gzip} (or
+     * {@code x-gzip}) coding decides, otherwise {@code *} does. A malformed q-value counts as zero.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double wildcard = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = Math.max(gzip, quality);
+            } else if (name.equals("*")) {
+                wildcard = Math.max(wildcard, quality);
+            }
+        }
+        return (gzip >= 0 ? gzip : wildcard) > 0;
+    }
+
+    private CacheControl cacheControl() {
+        return cacheMaxAgeSeconds > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds)).mustRevalidate()
+                : CacheControl.noCache();
+    }
 }
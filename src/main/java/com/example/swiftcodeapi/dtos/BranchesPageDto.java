@@ -0,0 +1,20 @@
+package com.example.swiftcodeapi.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BranchesPageDto {
+    private String headquarterCode;
+    private List<BranchDto> branches;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+}
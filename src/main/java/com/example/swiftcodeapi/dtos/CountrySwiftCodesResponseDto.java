@@ -1,5 +1,6 @@
 package com.example.swiftcodeapi.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,4 +16,6 @@ public class CountrySwiftCodesResponseDto {
     private String countryISO2;
     private String countryName;
     private List<SwiftCodeDetailDto> swiftCodes;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 }
@@ -0,0 +1,26 @@
+package com.example.swiftcodeapi.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportStatusDto {
+    private String importId;
+    private String fileName;
+    private String status;
+    private long rowsParsed;
+    private long rowsWritten;
+    private long rowsRejected;
+    private double rowsPerSecond;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
@@ -0,0 +1,20 @@
+package com.example.swiftcodeapi.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SuggestionDto {
+    public static final String TYPE_SWIFT_CODE = "SWIFT_CODE";
+    public static final String TYPE_BANK = "BANK";
+
+    String type;
+    String text;
+    String swiftCode;
+    String bankName;
+    String countryISO2;
+    Integer swiftCodeCount;
+}
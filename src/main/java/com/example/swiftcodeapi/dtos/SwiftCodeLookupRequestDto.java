@@ -0,0 +1,22 @@
+package com.example.swiftcodeapi.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SwiftCodeLookupRequestDto {
+
+    @NotEmpty(message = "At least one SWIFT code is required")
+    @Size(max = 100000, message = "At most 100000 SWIFT codes can be looked up at once")
+    private List<@NotBlank(message = "SWIFT codes must not be blank") String> swiftCodes;
+}
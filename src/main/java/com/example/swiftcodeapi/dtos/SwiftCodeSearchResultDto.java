@@ -0,0 +1,20 @@
+package com.example.swiftcodeapi.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SwiftCodeSearchResultDto {
+    private String swiftCode;
+    private String bankName;
+    private String townName;
+    private String address;
+    private String countryISO2;
+    private boolean isHeadquarter;
+    private double score;
+}
@@ -0,0 +1,21 @@
+package com.example.swiftcodeapi.event;
+
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+
+/**
+ * Published by {@code SwiftCodeService} for every add or delete; listeners react after the transaction commits.
+ */
+public record SwiftCodeChangedEvent(SwiftCodeEntry entry, boolean deleted) {
+
+    public static SwiftCodeChangedEvent added(SwiftCodeEntry entry) {
+        return new SwiftCodeChangedEvent(entry, false);
+    }
+
+    public static SwiftCodeChangedEvent deleted(SwiftCodeEntry entry) {
+        return new SwiftCodeChangedEvent(entry, true);
+    }
+
+    public String swiftCode() {
+        return entry.getSwiftCode();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.swiftcodeapi.event;
+
+/**
+ * Published whenever the in-memory read structures should be rebuilt from the table: before the startup import
+ * when the existing rows are served during it, once that import has finished (whether rows were written or it
+ * was skipped) unless it changed nothing that was already loaded, and after any later import that changed rows.
+ */
+public record SwiftCodesImportedEvent() {
+}
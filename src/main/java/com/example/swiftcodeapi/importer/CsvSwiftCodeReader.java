@@ -0,0 +1,77 @@
+package com.example.swiftcodeapi.importer;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.RFC4180ParserBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.function.Consumer;
+
+/**
+ * Reads a CSV SWIFT code directory record by record with opencsv, so memory stays bounded by one record
+ * whatever the size of the file. The file is UTF-8, optionally with a byte order mark, comma-separated and
+ * quoted as in RFC 4180 (a backslash is an ordinary character). The first record is a header and is skipped;
+ * the columns are those of {@link SwiftCodeSource}. Blank lines are skipped; row numbers count records, the
+ * header being record 0.
+ */
+@Component
+public class CsvSwiftCodeReader implements SwiftCodeSource {
+
+    private static final int COLUMNS = 8;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    @Override
+    public boolean supports(File file) {
+        return file.getName().toLowerCase().endsWith(".csv");
+    }
+
+    @Override
+    public int read(File file, Consumer<SwiftCodeRow> consumer) throws IOException {
+        if (!file.exists()) {
+            throw new IOException("Swift Codes file not found: " + file);
+        }
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+             CSVReader csv = new CSVReaderBuilder(skipByteOrderMark(in))
+                     .withCSVParser(new RFC4180ParserBuilder().build())
+                     .withSkipLines(1)
+                     .build()) {
+            int rows = 0;
+            int recordNumber = 0;
+            String[] cells = new String[COLUMNS];
+            for (String[] record = csv.readNext(); record != null; record = csv.readNext()) {
+                recordNumber++;
+                if (record.length == 1 && record[0].isBlank()) {
+                    continue;
+                }
+                for (int i = 0; i < COLUMNS; i++) {
+                    cells[i] = i < record.length ? cell(record[i]) : null;
+                }
+                rows++;
+                consumer.accept(new SwiftCodeRow(recordNumber,
+                        cells[0], cells[1], cells[2], cells[3], cells[4], cells[5], cells[6], cells[7]));
+            }
+            return rows;
+        } catch (CsvValidationException e) {
+            throw new IOException("Cannot read Swift Codes file: " + file, e);
+        }
+    }
+
+    private static BufferedReader skipByteOrderMark(BufferedReader in) throws IOException {
+        in.mark(1);
+        if (in.read() != BYTE_ORDER_MARK) {
+            in.reset();
+        }
+        return in;
+    }
+
+    private static String cell(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
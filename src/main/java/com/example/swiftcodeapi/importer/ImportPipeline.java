@@ -0,0 +1,255 @@
+package com.example.swiftcodeapi.importer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs an import as three stages connected by bounded queues: one reader thread per source, {@code workers}
+ * threads that normalize rows, and the writer on the calling thread, which hands chunks of exactly
+ * {@code chunkSize} items (the last one shorter) to the sink. Rows travel in batches of {@value #BATCH_SIZE};
+ * each queue holds at most {@code queueCapacity} batches, so a stage that falls behind blocks the ones before
+ * it and memory stays flat however large the sources are. The writer staying on the calling thread keeps
+ * every write in the caller's transaction.
+ * <p>
+ * Normalized items reach the sink in no particular order. The rows each stage has processed are counted in
+ * the {@code swiftcode.import.rows} counter, tagged with the {@code stage} ({@code read}, {@code normalize} or
+ * {@code write}). A failure in any stage stops the others and is rethrown by {@link #run}.
+ */
+@Slf4j
+public class ImportPipeline<T> {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final long POLL_MILLIS = 100;
+
+    private final int workers;
+    private final int queueCapacity;
+    private final int chunkSize;
+    private final MeterRegistry meterRegistry;
+
+    public ImportPipeline(int workers, int queueCapacity, int chunkSize, MeterRegistry meterRegistry) {
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * A stage-one source: streams its rows, in order, to the consumer.
+     */
+    @FunctionalInterface
+    public interface RowSource {
+        void read(Consumer<SwiftCodeRow> consumer) throws IOException;
+    }
+
+    /**
+     * Reads every source, normalizes each row with {@code normalizer} (a null result drops the row) and passes
+     * the results to {@code sink} in chunks, returning the number of items written.
+     */
+    public int run(List<RowSource> sources, Function<SwiftCodeRow, T> normalizer, Consumer<List<T>> sink)
+            throws IOException {
+        Counter read = stageCounter("read");
+        Counter normalized = stageCounter("normalize");
+        Counter written = stageCounter("write");
+        // An empty batch marks the end of a stage's output; real batches are never empty.
+        BlockingQueue<List<SwiftCodeRow>> rows = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<List<T>> items = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicInteger readersLeft = new AtomicInteger(sources.size());
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(sources.size() + workers,
+                new CustomizableThreadFactory("swift-import-"));
+        try {
+            for (RowSource source : sources) {
+                executor.execute(() -> {
+                    try {
+                        readSource(source, rows, read);
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        if (readersLeft.decrementAndGet() == 0) {
+                            signalEnd(rows, workers);
+                        }
+                    }
+                });
+            }
+            for (int i = 0; i < workers; i++) {
+                executor.execute(() -> {
+                    try {
+                        normalize(rows, items, normalizer, normalized);
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        signalEnd(items, 1);
+                    }
+                });
+            }
+            if (sources.isEmpty()) {
+                signalEnd(rows, workers);
+            }
+            int total = write(items, sink, failure, written);
+            log.info("Import pipeline read {} rows from {} sources with {} workers and wrote {} in {} ms",
+                    (long) read.count(), sources.size(), workers, total, (System.nanoTime() - start) / 1_000_000);
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void readSource(RowSource source, BlockingQueue<List<SwiftCodeRow>> rows, Counter read)
+            throws IOException, InterruptedException {
+        RowBatcher batcher = new RowBatcher(rows, read);
+        source.read(batcher);
+        batcher.finish();
+    }
+
+    private void normalize(BlockingQueue<List<SwiftCodeRow>> rows, BlockingQueue<List<T>> items,
+                           Function<SwiftCodeRow, T> normalizer, Counter normalized) throws InterruptedException {
+        for (List<SwiftCodeRow> batch = rows.take(); !batch.isEmpty(); batch = rows.take()) {
+            List<T> out = new ArrayList<>(batch.size());
+            for (SwiftCodeRow row : batch) {
+                T item = normalizer.apply(row);
+                if (item != null) {
+                    out.add(item);
+                }
+            }
+            normalized.increment(batch.size());
+            if (!out.isEmpty()) {
+                items.put(out);
+            }
+        }
+    }
+
+    private int write(BlockingQueue<List<T>> items, Consumer<List<T>> sink, AtomicReference<Throwable> failure,
+                      Counter written) throws IOException {
+        List<T> chunk = new ArrayList<>(chunkSize);
+        int total = 0;
+        int workersLeft = workers;
+        try {
+            while (workersLeft > 0) {
+                List<T> batch = items.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                rethrow(failure.get());
+                if (batch == null) {
+                    continue;
+                }
+                if (batch.isEmpty()) {
+                    workersLeft--;
+                    continue;
+                }
+                for (T item : batch) {
+                    chunk.add(item);
+                    if (chunk.size() == chunkSize) {
+                        total += flush(chunk, sink, written);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        }
+        rethrow(failure.get());
+        return total + flush(chunk, sink, written);
+    }
+
+    private int flush(List<T> chunk, Consumer<List<T>> sink, Counter written) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        int size = chunk.size();
+        sink.accept(List.copyOf(chunk));
+        written.increment(size);
+        chunk.clear();
+        return size;
+    }
+
+    private Counter stageCounter(String stage) {
+        return meterRegistry.counter("swiftcode.import.rows", "stage", stage);
+    }
+
+    private static <E> void signalEnd(BlockingQueue<List<E>> queue, int consumers) {
+        try {
+            for (int i = 0; i < consumers; i++) {
+                queue.put(List.of());
+            }
+        } catch (InterruptedException e) {
+            // Only the writer interrupts, after giving up on the pipeline.
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void rethrow(Throwable failure) throws IOException {
+        if (failure == null) {
+            return;
+        }
+        if (failure instanceof IOException e) {
+            throw e;
+        }
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+        if (failure instanceof Error e) {
+            throw e;
+        }
+        throw new IOException(failure);
+    }
+
+    /**
+     * Collects a source's rows into batches for the normalizer queue. It is called back from inside the source,
+     * which cannot throw {@link InterruptedException}, so an interrupt while waiting for room is rethrown as an
+     * {@link UncheckedIOException}.
+     */
+    private static final class RowBatcher implements Consumer<SwiftCodeRow> {
+
+        private final BlockingQueue<List<SwiftCodeRow>> rows;
+        private final Counter read;
+        private List<SwiftCodeRow> batch = new ArrayList<>(BATCH_SIZE);
+
+        RowBatcher(BlockingQueue<List<SwiftCodeRow>> rows, Counter read) {
+            this.rows = rows;
+            this.read = read;
+        }
+
+        @Override
+        public void accept(SwiftCodeRow row) {
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                try {
+                    send();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UncheckedIOException(new InterruptedIOException("Import interrupted"));
+                }
+            }
+        }
+
+        void finish() throws InterruptedException {
+            if (!batch.isEmpty()) {
+                send();
+            }
+        }
+
+        private void send() throws InterruptedException {
+            rows.put(batch);
+            read.increment(batch.size());
+            batch = new ArrayList<>(BATCH_SIZE);
+        }
+    }
+}
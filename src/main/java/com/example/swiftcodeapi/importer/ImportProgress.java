@@ -0,0 +1,39 @@
+package com.example.swiftcodeapi.importer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live row counts of one import, updated from the pipeline threads and safe to read while it runs: rows
+ * parsed from the files, rows handed to the database, and rows rejected on the way (no SWIFT code, or a code
+ * already read).
+ */
+public class ImportProgress {
+
+    private final AtomicLong rowsParsed = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+
+    public void parsed() {
+        rowsParsed.incrementAndGet();
+    }
+
+    public void written(int rows) {
+        rowsWritten.addAndGet(rows);
+    }
+
+    public void rejected() {
+        rowsRejected.incrementAndGet();
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed.get();
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+}
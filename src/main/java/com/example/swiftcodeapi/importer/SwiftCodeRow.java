@@ -0,0 +1,17 @@
+package com.example.swiftcodeapi.importer;
+
+/**
+ * One data row of the SWIFT code directory as read from the file: trimmed cell text, or null for a missing
+ * cell. {@code rowNumber} is zero-based, the header being row 0.
+ */
+public record SwiftCodeRow(
+        int rowNumber,
+        String countryISO2,
+        String swiftCode,
+        String codeType,
+        String bankName,
+        String address,
+        String townName,
+        String countryName,
+        String timeZone) {
+}
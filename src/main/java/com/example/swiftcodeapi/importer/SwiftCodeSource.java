@@ -0,0 +1,24 @@
+package com.example.swiftcodeapi.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * A file format the SWIFT code directory can be imported from. Implementations stream the file, handing each
+ * data row to the consumer as it is read, with the same columns in the same order: country ISO2, SWIFT code,
+ * code type, bank name, address, town, country name and time zone. Cell text is trimmed and a missing or empty
+ * cell is null, so a row normalizes the same whichever format it came from.
+ */
+public interface SwiftCodeSource {
+
+    /**
+     * Whether this source reads {@code file}, judged by its name.
+     */
+    boolean supports(File file);
+
+    /**
+     * Streams every data row of {@code file} to {@code consumer}, returning the number of rows read.
+     */
+    int read(File file, Consumer<SwiftCodeRow> consumer) throws IOException;
+}
@@ -0,0 +1,116 @@
+package com.example.swiftcodeapi.importer;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.stereotype.Component;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Reads the first sheet of an XLSX SWIFT code directory with POI's event model: the sheet XML is parsed
+ * with SAX and each row is handed to the consumer as soon as its end tag is read, so memory stays bounded by
+ * one row plus the shared-strings table instead of the DOM of the whole workbook.
+ * <p>
+ * Columns are those of {@link SwiftCodeSource}. The header row is skipped. Cells are read as formatted text,
+ * so numbers come out as displayed.
+ */
+@Component
+public class XlsxSwiftCodeReader implements SwiftCodeSource {
+
+    private static final int COLUMNS = 8;
+
+    @Override
+    public boolean supports(File file) {
+        return file.getName().toLowerCase().endsWith(".xlsx");
+    }
+
+    @Override
+    public int read(File file, Consumer<SwiftCodeRow> consumer) throws IOException {
+        if (!file.exists()) {
+            throw new IOException("Swift Codes file not found: " + file);
+        }
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IOException("Excel file is empty: " + file);
+            }
+            RowCollector collector = new RowCollector(consumer);
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null,
+                    new ReadOnlySharedStringsTable(pkg, false), collector, new DataFormatter(), false));
+            try (InputStream sheet = sheets.next()) {
+                parser.parse(new InputSource(sheet));
+            }
+            return collector.rows;
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Cannot read Swift Codes file: " + file, e);
+        }
+    }
+
+    /**
+     * Zero-based column index of a cell reference such as {@code "C12"}.
+     */
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private static final class RowCollector implements SheetContentsHandler {
+
+        private final Consumer<SwiftCodeRow> consumer;
+        private final String[] cells = new String[COLUMNS];
+        private int rows;
+
+        RowCollector(Consumer<SwiftCodeRow> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(cells, null);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = columnIndex(cellReference);
+            if (column < COLUMNS && formattedValue != null && !formattedValue.isBlank()) {
+                cells[column] = formattedValue.trim();
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum == 0) {
+                return;
+            }
+            rows++;
+            consumer.accept(new SwiftCodeRow(rowNum,
+                    cells[0], cells[1], cells[2], cells[3], cells[4], cells[5], cells[6], cells[7]));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.swiftcodeapi.index;
+
+/**
+ * Encodes a BIC into a single {@code long} and back.
+ * <p>
+ * Each of the 11 character positions is a base-37 digit: {@code 0} marks an absent trailing character
+ * (8-character BICs), {@code 1..10} are {@code '0'..'9'} and {@code 11..36} are {@code 'A'..'Z'}. The most
+ * significant digit is the first character, so numeric order equals lexicographic order of the codes and
+ * the codes sharing an 8-character headquarter prefix form one contiguous key range. 37^11 is below 2^58,
+ * so every key is positive.
+ * <p>
+ * Only codes matching the request validation pattern {@code [A-Z]{6}[A-Z0-9]{2}([A-Z0-9]{3})?} encode;
+ * anything else yields {@link #INVALID}.
+ */
+public final class BicCodec {
+
+    public static final long INVALID = -1L;
+
+    private static final int RADIX = 37;
+    private static final int LENGTH = 11;
+
+    private static final long BRANCH_SPAN = RADIX * RADIX * RADIX;
+    private static final long LEADING_DIGIT = BRANCH_SPAN * BRANCH_SPAN * BRANCH_SPAN * RADIX;
+
+    private BicCodec() {
+    }
+
+    public static boolean isValid(CharSequence code) {
+        return encode(code) != INVALID;
+    }
+
+    public static long encode(CharSequence code) {
+        if (code == null) {
+            return INVALID;
+        }
+        int length = code.length();
+        if (length != 8 && length != LENGTH) {
+            return INVALID;
+        }
+        long key = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            int digit = 0;
+            if (i < length) {
+                char c = code.charAt(i);
+                if (c >= 'A' && c <= 'Z') {
+                    digit = c - 'A' + 11;
+                } else if (i >= 6 && c >= '0' && c <= '9') {
+                    digit = c - '0' + 1;
+                } else {
+                    return INVALID;
+                }
+            }
+            key = key * RADIX + digit;
+        }
+        return key;
+    }
+
+    public static String decode(long key) {
+        char[] chars = new char[LENGTH];
+        int length = 0;
+        long divisor = LEADING_DIGIT;
+        for (int i = 0; i < LENGTH; i++) {
+            int digit = (int) (key / divisor % RADIX);
+            if (digit != 0) {
+                chars[length++] = digit <= 10 ? (char) ('0' + digit - 1) : (char) ('A' + digit - 11);
+            }
+            divisor /= RADIX;
+        }
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Headquarter code a code belongs to: its 8-character prefix followed by {@code XXX}. This is the value
+     * stored in {@code SwiftCode.headquarterCode} for branches.
+     */
+    public static String headquarterCodeOf(String swiftCode) {
+        return swiftCode.substring(0, 8) + "XXX";
+    }
+
+    /**
+     * Inclusive lower and exclusive upper bound of all keys sharing the given code's 8-character prefix.
+     */
+    public static long prefixRangeStart(long key) {
+        return key - key % BRANCH_SPAN;
+    }
+
+    public static long prefixRangeEnd(long key) {
+        return prefixRangeStart(key) + BRANCH_SPAN;
+    }
+}
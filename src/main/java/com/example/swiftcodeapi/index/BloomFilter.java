@@ -0,0 +1,84 @@
+package com.example.swiftcodeapi.index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over SWIFT codes. BIC-shaped codes are hashed through their {@link BicCodec} key, anything
+ * else through its characters; the {@code k} probe positions come from double hashing of one 64-bit mix.
+ * <p>
+ * Sized for an expected number of codes and a target false-positive probability. Bits live in an
+ * {@link AtomicLongArray}, so codes can be added while other threads query; codes are never removed, which
+ * only makes the filter more permissive until the next rebuild.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    public static BloomFilter create(int expectedCodes, double falsePositiveProbability) {
+        int n = Math.max(1, expectedCodes);
+        long bitCount = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2))));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        return new BloomFilter(bitCount, hashCount);
+    }
+
+    public void add(String swiftCode) {
+        long hash = hash(swiftCode);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String swiftCode) {
+        long hash = hash(swiftCode);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * False-positive probability implied by the current fill ratio: {@code (set bits / all bits)^k}.
+     */
+    public double expectedFalsePositiveProbability() {
+        long set = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            set += Long.bitCount(bits.get(i));
+        }
+        return Math.pow((double) set / bitCount, hashCount);
+    }
+
+    private static long hash(String swiftCode) {
+        long key = BicCodec.encode(swiftCode);
+        if (key == BicCodec.INVALID) {
+            key = 0xcbf29ce484222325L;
+            for (int i = 0; i < swiftCode.length(); i++) {
+                key = (key ^ swiftCode.charAt(i)) * 0x100000001b3L;
+            }
+        }
+        // splitmix64 finalizer
+        key = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+        key = (key ^ (key >>> 27)) * 0x94d049bb133111ebL;
+        return key ^ (key >>> 31);
+    }
+}
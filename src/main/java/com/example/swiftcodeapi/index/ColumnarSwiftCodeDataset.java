@@ -0,0 +1,364 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compact, immutable view of the whole dataset, held as one array per column instead of one object per row,
+ * for instances where heap per replica matters.
+ * <p>
+ * Rows are sorted by SWIFT code: first the codes with the BIC shape, stored as their {@link BicCodec} key in a
+ * {@code long[]} that point lookups and the headquarter/branch ranges binary-search, as in
+ * {@link SwiftCodeSnapshot}; then the few irregular codes, as strings. Every text column is dictionary-encoded
+ * ({@link DictionaryColumn}): country, country name, time zone, code type and town each have a dictionary of
+ * their own and a byte or short id per row, while bank names, addresses and headquarter codes share one string
+ * pool. The importer appends the town to the address and derives a branch's headquarter code from its own, so
+ * both are stored as flags rather than strings when they follow that rule, and rebuilt on read. Entries are
+ * decoded per lookup.
+ * <p>
+ * It carries the same {@link SuggestionIndex} and {@link TrigramIndex} as {@link SwiftCodeSnapshot}, built over
+ * the decoded rows so that the indexes' strings are the dictionaries' own; the trigram index still holds one
+ * entry object per row, which makes the indexes most of the heap of this representation.
+ * <p>
+ * Writes are not incremental: {@link #with(SwiftCodeEntry)} and {@link #without(String)} decode every row and
+ * re-encode the columns, sorting them again, so each costs O(n log n) time and a second copy of the columns
+ * while it runs; only the indexes are updated in place of being rebuilt. That suits adds and deletes through
+ * the API, which are rare; an import replaces the dataset through {@link #of(Collection)} instead.
+ */
+public final class ColumnarSwiftCodeDataset implements SwiftCodeDataset {
+
+    private static final String TOWN_SEPARATOR = ", ";
+
+    private final long[] keys;
+    private final String[] irregularCodes;
+    private final DictionaryColumn bankNames;
+    private final DictionaryColumn addresses;
+    private final DictionaryColumn headquarterCodes;
+    private final DictionaryColumn townNames;
+    private final DictionaryColumn countryISO2s;
+    private final DictionaryColumn countryNames;
+    private final DictionaryColumn timeZones;
+    private final DictionaryColumn codeTypes;
+    private final BitSet headquarters;
+    private final BitSet townInAddress;
+    private final BitSet derivedHeadquarterCode;
+    private final int[] countryOrder;
+    private final Map<String, int[]> countries;
+    private final SuggestionIndex suggestions;
+    private final TrigramIndex textIndex;
+
+    private ColumnarSwiftCodeDataset(long[] keys, String[] irregularCodes, SwiftCodeEntry[] rows,
+                                     SuggestionIndex suggestions, TrigramIndex textIndex) {
+        this.keys = keys;
+        this.irregularCodes = irregularCodes;
+        this.suggestions = suggestions;
+        this.textIndex = textIndex;
+        int size = rows.length;
+        DictionaryColumn.Builder pool = new DictionaryColumn.Builder();
+        DictionaryColumn.Builder towns = new DictionaryColumn.Builder();
+        DictionaryColumn.Builder isoCodes = new DictionaryColumn.Builder();
+        DictionaryColumn.Builder names = new DictionaryColumn.Builder();
+        DictionaryColumn.Builder zones = new DictionaryColumn.Builder();
+        DictionaryColumn.Builder types = new DictionaryColumn.Builder();
+        int[] bankNameIds = new int[size];
+        int[] addressIds = new int[size];
+        int[] headquarterCodeIds = new int[size];
+        int[] townIds = new int[size];
+        int[] isoIds = new int[size];
+        int[] nameIds = new int[size];
+        int[] zoneIds = new int[size];
+        int[] typeIds = new int[size];
+        this.headquarters = new BitSet(size);
+        this.townInAddress = new BitSet(size);
+        this.derivedHeadquarterCode = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            SwiftCodeEntry entry = rows[row];
+            bankNameIds[row] = pool.id(entry.getBankName());
+            addressIds[row] = pool.id(storedAddress(entry, row));
+            if (entry.getHeadquarterCode() != null && entry.getSwiftCode().length() >= 8
+                    && entry.getHeadquarterCode().equals(BicCodec.headquarterCodeOf(entry.getSwiftCode()))) {
+                derivedHeadquarterCode.set(row);
+            } else {
+                headquarterCodeIds[row] = pool.id(entry.getHeadquarterCode());
+            }
+            townIds[row] = towns.id(entry.getTownName());
+            isoIds[row] = isoCodes.id(entry.getCountryISO2());
+            nameIds[row] = names.id(entry.getCountryName());
+            zoneIds[row] = zones.id(entry.getTimeZone());
+            typeIds[row] = types.id(entry.getCodeType());
+            headquarters.set(row, entry.isHeadquarter());
+        }
+        this.bankNames = pool.column(bankNameIds);
+        this.addresses = pool.column(addressIds);
+        this.headquarterCodes = pool.column(headquarterCodeIds);
+        this.townNames = towns.column(townIds);
+        this.countryISO2s = isoCodes.column(isoIds);
+        this.countryNames = names.column(nameIds);
+        this.timeZones = zones.column(zoneIds);
+        this.codeTypes = types.column(typeIds);
+
+        // Rows grouped by country, in code order within each. The irregular rows follow the BIC rows, so code
+        // order has to be restored per country.
+        Integer[] order = new Integer[size];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.<Integer>comparingInt(row -> isoIds[row]).thenComparing(row -> rows[row].getSwiftCode()));
+        this.countryOrder = new int[size];
+        Map<String, int[]> runs = new HashMap<>();
+        for (int position = 0; position < size; position++) {
+            countryOrder[position] = order[position];
+            if (position == 0 || isoIds[order[position]] != isoIds[order[position - 1]]) {
+                runs.put(rows[order[position]].getCountryISO2(), new int[]{position, 0});
+            }
+            runs.get(rows[order[position]].getCountryISO2())[1]++;
+        }
+        this.countries = runs;
+    }
+
+    /**
+     * The same columns as {@code columns} with the given indexes.
+     */
+    private ColumnarSwiftCodeDataset(ColumnarSwiftCodeDataset columns, SuggestionIndex suggestions,
+                                     TrigramIndex textIndex) {
+        this.keys = columns.keys;
+        this.irregularCodes = columns.irregularCodes;
+        this.bankNames = columns.bankNames;
+        this.addresses = columns.addresses;
+        this.headquarterCodes = columns.headquarterCodes;
+        this.townNames = columns.townNames;
+        this.countryISO2s = columns.countryISO2s;
+        this.countryNames = columns.countryNames;
+        this.timeZones = columns.timeZones;
+        this.codeTypes = columns.codeTypes;
+        this.headquarters = columns.headquarters;
+        this.townInAddress = columns.townInAddress;
+        this.derivedHeadquarterCode = columns.derivedHeadquarterCode;
+        this.countryOrder = columns.countryOrder;
+        this.countries = columns.countries;
+        this.suggestions = suggestions;
+        this.textIndex = textIndex;
+    }
+
+    public static ColumnarSwiftCodeDataset of(Collection<SwiftCodeEntry> entries) {
+        ColumnarSwiftCodeDataset columns = columns(entries, SuggestionIndex.empty(), TrigramIndex.empty());
+        // Indexing the decoded rows rather than the given entries keeps their strings out of the heap.
+        List<SwiftCodeEntry> rows = columns.entries();
+        return new ColumnarSwiftCodeDataset(columns, SuggestionIndex.of(rows), TrigramIndex.of(rows));
+    }
+
+    private static ColumnarSwiftCodeDataset columns(Collection<SwiftCodeEntry> entries, SuggestionIndex suggestions,
+                                                    TrigramIndex textIndex) {
+        List<SwiftCodeEntry> regular = new ArrayList<>(entries.size());
+        List<SwiftCodeEntry> irregular = new ArrayList<>();
+        for (SwiftCodeEntry entry : entries) {
+            (BicCodec.isValid(entry.getSwiftCode()) ? regular : irregular).add(entry);
+        }
+        Comparator<SwiftCodeEntry> byCode = Comparator.comparing(SwiftCodeEntry::getSwiftCode);
+        regular.sort(byCode);
+        irregular.sort(byCode);
+        long[] keys = new long[regular.size()];
+        for (int row = 0; row < keys.length; row++) {
+            keys[row] = BicCodec.encode(regular.get(row).getSwiftCode());
+        }
+        String[] irregularCodes = irregular.stream().map(SwiftCodeEntry::getSwiftCode).toArray(String[]::new);
+        List<SwiftCodeEntry> rows = new ArrayList<>(regular);
+        rows.addAll(irregular);
+        return new ColumnarSwiftCodeDataset(keys, irregularCodes, rows.toArray(new SwiftCodeEntry[0]),
+                suggestions, textIndex);
+    }
+
+    @Override
+    public Optional<SwiftCodeEntry> find(String swiftCode) {
+        int row = row(swiftCode);
+        return row < 0 ? Optional.empty() : Optional.of(entry(row));
+    }
+
+    @Override
+    public List<SwiftCodeEntry> findByCountry(String countryISO2) {
+        return findByCountry(countryISO2, "", Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<SwiftCodeEntry> findByCountry(String countryISO2, String after, int limit) {
+        int[] run = countries.get(countryISO2);
+        if (run == null) {
+            return List.of();
+        }
+        int from = run[0];
+        int to = run[0] + run[1];
+        if (!after.isEmpty()) {
+            int high = to;
+            while (from < high) {
+                int mid = (from + high) >>> 1;
+                if (code(countryOrder[mid]).compareTo(after) <= 0) {
+                    from = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+        }
+        int end = (int) Math.min(to, (long) from + limit);
+        List<SwiftCodeEntry> entries = new ArrayList<>(end - from);
+        for (int position = from; position < end; position++) {
+            entries.add(entry(countryOrder[position]));
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    @Override
+    public List<SwiftCodeEntry> findBranches(String headquarterSwiftCode) {
+        return findBranches(headquarterSwiftCode, "", Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<SwiftCodeEntry> findBranches(String headquarterSwiftCode, String after, int limit) {
+        long key = BicCodec.encode(headquarterSwiftCode);
+        if (key == BicCodec.INVALID) {
+            return List.of();
+        }
+        int from = lowerBound(BicCodec.prefixRangeStart(key));
+        int to = lowerBound(BicCodec.prefixRangeEnd(key));
+        if (!after.isEmpty()) {
+            int high = to;
+            while (from < high) {
+                int mid = (from + high) >>> 1;
+                if (code(mid).compareTo(after) <= 0) {
+                    from = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+        }
+        List<SwiftCodeEntry> branches = new ArrayList<>();
+        for (int row = from; row < to && branches.size() < limit; row++) {
+            if (!headquarters.get(row)) {
+                branches.add(entry(row));
+            }
+        }
+        return Collections.unmodifiableList(branches);
+    }
+
+    @Override
+    public SuggestionIndex suggestions() {
+        return suggestions;
+    }
+
+    @Override
+    public TrigramIndex textIndex() {
+        return textIndex;
+    }
+
+    /**
+     * Decodes every row, in SWIFT code order.
+     */
+    @Override
+    public List<SwiftCodeEntry> entries() {
+        SwiftCodeEntry[] entries = new SwiftCodeEntry[size()];
+        for (int row = 0; row < entries.length; row++) {
+            entries[row] = entry(row);
+        }
+        return List.of(entries);
+    }
+
+    @Override
+    public int size() {
+        return keys.length + irregularCodes.length;
+    }
+
+    public ColumnarSwiftCodeDataset with(SwiftCodeEntry entry) {
+        ColumnarSwiftCodeDataset base = without(entry.getSwiftCode());
+        List<SwiftCodeEntry> entries = new ArrayList<>(base.entries());
+        entries.add(entry);
+        return columns(entries, base.suggestions.with(entry), base.textIndex.with(entry));
+    }
+
+    public ColumnarSwiftCodeDataset without(String swiftCode) {
+        int removed = row(swiftCode);
+        if (removed < 0) {
+            return this;
+        }
+        List<SwiftCodeEntry> entries = new ArrayList<>(size() - 1);
+        for (int row = 0; row < size(); row++) {
+            if (row != removed) {
+                entries.add(entry(row));
+            }
+        }
+        return columns(entries, suggestions.without(entry(removed)), textIndex.without(swiftCode));
+    }
+
+    private int row(String swiftCode) {
+        long key = BicCodec.encode(swiftCode);
+        if (key != BicCodec.INVALID) {
+            int row = Arrays.binarySearch(keys, key);
+            return row < 0 ? -1 : row;
+        }
+        int irregular = swiftCode == null ? -1 : Arrays.binarySearch(irregularCodes, swiftCode);
+        return irregular < 0 ? -1 : keys.length + irregular;
+    }
+
+    private String code(int row) {
+        return row < keys.length ? BicCodec.decode(keys[row]) : irregularCodes[row - keys.length];
+    }
+
+    private SwiftCodeEntry entry(int row) {
+        String swiftCode = code(row);
+        String townName = townNames.get(row);
+        String address = addresses.get(row);
+        if (townInAddress.get(row)) {
+            address = address.isEmpty() ? townName : address + TOWN_SEPARATOR + townName;
+        }
+        String headquarterCode = derivedHeadquarterCode.get(row)
+                ? BicCodec.headquarterCodeOf(swiftCode)
+                : headquarterCodes.get(row);
+        return new SwiftCodeEntry(swiftCode, bankNames.get(row), address, codeTypes.get(row), townName,
+                countryISO2s.get(row), countryNames.get(row), headquarters.get(row), headquarterCode, timeZones.get(row));
+    }
+
+    /**
+     * The address with the town the importer appended to it removed, flagging the row so that
+     * {@link #entry(int)} appends it again; the address unchanged otherwise.
+     */
+    private String storedAddress(SwiftCodeEntry entry, int row) {
+        String address = entry.getAddress();
+        String townName = entry.getTownName();
+        if (address == null || townName == null || townName.isEmpty()) {
+            return address;
+        }
+        if (address.equals(townName)) {
+            townInAddress.set(row);
+            return "";
+        }
+        int street = address.length() - TOWN_SEPARATOR.length() - townName.length();
+        if (street > 0 && address.endsWith(townName) && address.startsWith(TOWN_SEPARATOR, street)) {
+            townInAddress.set(row);
+            return address.substring(0, street);
+        }
+        return address;
+    }
+
+    /**
+     * First BIC row whose key is not less than {@code key}.
+     */
+    private int lowerBound(long key) {
+        int from = 0;
+        int to = keys.length;
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (keys[mid] < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.swiftcodeapi.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dictionary-encoded string column of {@link ColumnarSwiftCodeDataset}: each row holds the id of its value in a
+ * dictionary of distinct strings, in the narrowest array that fits the dictionary, a {@code byte} per row up to
+ * 256 values and a {@code short} up to 65536. Id 0 is null. Several columns can share one dictionary, built
+ * through one {@link Builder}.
+ */
+final class DictionaryColumn {
+
+    private final String[] dictionary;
+    private final byte[] byteIds;
+    private final short[] shortIds;
+    private final int[] intIds;
+
+    private DictionaryColumn(String[] dictionary, int[] ids) {
+        this.dictionary = dictionary;
+        if (dictionary.length <= 1 << Byte.SIZE) {
+            byteIds = new byte[ids.length];
+            for (int row = 0; row < ids.length; row++) {
+                byteIds[row] = (byte) ids[row];
+            }
+            shortIds = null;
+            intIds = null;
+        } else if (dictionary.length <= 1 << Short.SIZE) {
+            shortIds = new short[ids.length];
+            for (int row = 0; row < ids.length; row++) {
+                shortIds[row] = (short) ids[row];
+            }
+            byteIds = null;
+            intIds = null;
+        } else {
+            intIds = ids;
+            byteIds = null;
+            shortIds = null;
+        }
+    }
+
+    String get(int row) {
+        return dictionary[id(row)];
+    }
+
+    int id(int row) {
+        if (byteIds != null) {
+            return Byte.toUnsignedInt(byteIds[row]);
+        }
+        return shortIds != null ? Short.toUnsignedInt(shortIds[row]) : intIds[row];
+    }
+
+    /**
+     * Number of values in the dictionary, null included.
+     */
+    int cardinality() {
+        return dictionary.length;
+    }
+
+    static final class Builder {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>(List.of(""));
+        private String[] dictionary;
+
+        Builder() {
+            values.set(0, null);
+        }
+
+        /**
+         * Id of {@code value}, adding it to the dictionary if new.
+         */
+        int id(String value) {
+            if (value == null) {
+                return 0;
+            }
+            return ids.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        /**
+         * A column of the given ids. The dictionary is fixed by the first call; the columns built from one
+         * builder share it.
+         */
+        DictionaryColumn column(int[] rowIds) {
+            if (dictionary == null) {
+                dictionary = values.toArray(new String[0]);
+            }
+            return new DictionaryColumn(dictionary, rowIds);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.event.SwiftCodeChangedEvent;
+import com.example.swiftcodeapi.event.SwiftCodesImportedEvent;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Rejects lookups of codes that certainly do not exist before they reach the database, using a
+ * {@link BloomFilter} over every known code. The filter is rebuilt from the snapshot after each import and
+ * extended after each committed add; deletes leave their bits set. Until the first import has been loaded
+ * nothing is rejected.
+ * <p>
+ * Like the snapshot, the filter only knows codes written through this application, so it is off unless
+ * {@code swiftcode.bloom.enabled} is set; while off, nothing is built and nothing is rejected.
+ * <p>
+ * Metrics: {@code swiftcode.bloom.rejections} (lookups answered by the filter alone),
+ * {@code swiftcode.bloom.false.positives} (lookups the filter let through that still found nothing),
+ * {@code swiftcode.bloom.false.positive.rate} (the latter among all unknown-code lookups) and
+ * {@code swiftcode.bloom.expected.false.positive.probability} (implied by the filter's fill ratio).
+ */
+@Component
+@Slf4j
+public class KnownSwiftCodeGuard {
+
+    private final SwiftCodeSnapshotHolder snapshotHolder;
+    private final boolean enabled;
+    private final double falsePositiveProbability;
+    private final Counter rejections;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+
+    public KnownSwiftCodeGuard(SwiftCodeSnapshotHolder snapshotHolder,
+                               MeterRegistry meterRegistry,
+                               @Value("${swiftcode.bloom.enabled:false}") boolean enabled,
+                               @Value("${swiftcode.bloom.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.snapshotHolder = snapshotHolder;
+        this.enabled = enabled;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.rejections = Counter.builder("swiftcode.bloom.rejections")
+                .description("Lookups of unknown SWIFT codes rejected by the Bloom filter")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("swiftcode.bloom.false.positives")
+                .description("Lookups passed by the Bloom filter that found no SWIFT code")
+                .register(meterRegistry);
+        Gauge.builder("swiftcode.bloom.false.positive.rate", this, KnownSwiftCodeGuard::observedFalsePositiveRate)
+                .description("Share of unknown-code lookups the Bloom filter failed to reject")
+                .register(meterRegistry);
+        Gauge.builder("swiftcode.bloom.expected.false.positive.probability", this, KnownSwiftCodeGuard::expectedFalsePositiveProbability)
+                .description("False-positive probability implied by the Bloom filter's fill ratio")
+                .register(meterRegistry);
+    }
+
+    /**
+     * True when {@code swiftCode} is certainly not in the dataset; counted as a rejection.
+     */
+    public boolean isDefinitelyAbsent(String swiftCode) {
+        BloomFilter current = filter;
+        if (current == null || current.mightContain(swiftCode)) {
+            return false;
+        }
+        rejections.increment();
+        return true;
+    }
+
+    /**
+     * Records that a code the filter let through turned out not to exist.
+     */
+    public void recordFalsePositive() {
+        if (filter != null) {
+            falsePositives.increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onImported(SwiftCodesImportedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<SwiftCodeEntry> entries = snapshotHolder.current().entries();
+        // Room for twice the imported codes keeps the false-positive rate near target as codes are added.
+        BloomFilter rebuilt = BloomFilter.create(Math.max(1024, entries.size() * 2), falsePositiveProbability);
+        entries.forEach(entry -> rebuilt.add(entry.getSwiftCode()));
+        filter = rebuilt;
+        log.info("Built Bloom filter over {} Swift Codes", entries.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onChanged(SwiftCodeChangedEvent event) {
+        BloomFilter current = filter;
+        if (current != null && !event.deleted()) {
+            current.add(event.swiftCode());
+        }
+    }
+
+    private double observedFalsePositiveRate() {
+        double passed = falsePositives.count();
+        double total = passed + rejections.count();
+        return total == 0 ? 0 : passed / total;
+    }
+
+    private double expectedFalsePositiveProbability() {
+        BloomFilter current = filter;
+        return current == null ? 0 : current.expectedFalsePositiveProbability();
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.example.swiftcodeapi.index.SnapshotFile.COUNTRY_BYTES;
+import static com.example.swiftcodeapi.index.SnapshotFile.COUNTRY_COLUMN;
+import static com.example.swiftcodeapi.index.SnapshotFile.NULL;
+import static com.example.swiftcodeapi.index.SnapshotFile.TEXT_COLUMNS;
+
+/**
+ * Serves a {@link SnapshotFile} in place from its memory mapping: nothing but the small country table is
+ * decoded up front, and each lookup decodes only the records it returns, so the heap stays flat whatever the
+ * size of the dataset and the page cache holds the data.
+ * <p>
+ * Point lookups binary-search the fixed-width records on their code bytes. A headquarter and its branches
+ * share the 8-character prefix, so they form one contiguous run of records that two more binary searches
+ * find; a country's records are one run of the country order, located through the country table. Keyset
+ * pages narrow either run with one more binary search. There is no suggestion or trigram index:
+ * {@link #suggestions()} and {@link #textIndex()} are empty, and the {@code edge} profile answers suggest and
+ * search requests with 404 instead of querying them.
+ */
+public final class MappedSwiftCodeDataset implements SwiftCodeDataset {
+
+    private final ByteBuffer buffer;
+    private final int entryCount;
+    private final int offsets;
+    private final int blob;
+    private final int records;
+    private final int countryOrder;
+    private final int stringCount;
+    private final int codeWidth;
+    private final int recordBytes;
+    private final Map<String, int[]> countries;
+
+    MappedSwiftCodeDataset(ByteBuffer buffer, int start) throws IOException {
+        this.buffer = buffer;
+        this.stringCount = buffer.getInt(start);
+        this.entryCount = buffer.getInt(start + Integer.BYTES);
+        int countryCount = buffer.getInt(start + 2 * Integer.BYTES);
+        this.codeWidth = buffer.getInt(start + 3 * Integer.BYTES);
+        this.recordBytes = codeWidth + TEXT_COLUMNS * Integer.BYTES + 1;
+        this.offsets = start + 4 * Integer.BYTES;
+        this.blob = offsets + (stringCount + 1) * Integer.BYTES;
+        this.records = blob + buffer.getInt(offsets + stringCount * Integer.BYTES);
+        int countryTable = records + entryCount * recordBytes;
+        this.countryOrder = countryTable + countryCount * COUNTRY_BYTES;
+        if (stringCount < 0 || entryCount < 0 || countryCount < 0 || codeWidth < 0
+                || (long) countryOrder + (long) entryCount * Integer.BYTES != buffer.limit() - Long.BYTES) {
+            throw new IOException("Corrupt snapshot file: unexpected length");
+        }
+        Map<String, int[]> byCountry = new HashMap<>();
+        for (int i = 0; i < countryCount; i++) {
+            int row = countryTable + i * COUNTRY_BYTES;
+            byCountry.put(string(buffer.getInt(row)),
+                    new int[]{buffer.getInt(row + Integer.BYTES), buffer.getInt(row + 2 * Integer.BYTES)});
+        }
+        this.countries = byCountry;
+    }
+
+    @Override
+    public Optional<SwiftCodeEntry> find(String swiftCode) {
+        byte[] code = swiftCode.getBytes(StandardCharsets.UTF_8);
+        if (code.length > codeWidth) {
+            return Optional.empty();
+        }
+        int record = lowerBound(code, 0, entryCount);
+        return record < entryCount && compareCode(record, code) == 0 ? Optional.of(entry(record)) : Optional.empty();
+    }
+
+    @Override
+    public List<SwiftCodeEntry> findByCountry(String countryISO2) {
+        return findByCountry(countryISO2, "", Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<SwiftCodeEntry> findByCountry(String countryISO2, String after, int limit) {
+        int[] run = countries.get(countryISO2);
+        if (run == null) {
+            return List.of();
+        }
+        int from = run[0];
+        int to = run[0] + run[1];
+        if (!after.isEmpty()) {
+            // A country's run is in code order too, so the first record past the cursor is found by bisection.
+            byte[] cursor = cursor(after);
+            int high = to;
+            while (from < high) {
+                int mid = (from + high) >>> 1;
+                if (compareCode(countryRecord(mid), cursor) <= 0) {
+                    from = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+        }
+        int end = (int) Math.min(to, (long) from + limit);
+        List<SwiftCodeEntry> entries = new ArrayList<>(end - from);
+        for (int i = from; i < end; i++) {
+            entries.add(entry(countryRecord(i)));
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    @Override
+    public List<SwiftCodeEntry> findBranches(String headquarterSwiftCode) {
+        return findBranches(headquarterSwiftCode, "", Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<SwiftCodeEntry> findBranches(String headquarterSwiftCode, String after, int limit) {
+        if (BicCodec.encode(headquarterSwiftCode) == BicCodec.INVALID) {
+            return List.of();
+        }
+        byte[] prefix = Arrays.copyOf(headquarterSwiftCode.getBytes(StandardCharsets.US_ASCII), 8);
+        byte[] pastPrefix = Arrays.copyOf(prefix, codeWidth);
+        Arrays.fill(pastPrefix, 8, codeWidth, (byte) 0xFF);
+        int from = lowerBound(prefix, 0, entryCount);
+        int to = lowerBound(pastPrefix, from, entryCount);
+        if (!after.isEmpty()) {
+            from = upperBound(cursor(after), from, to);
+        }
+        List<SwiftCodeEntry> branches = new ArrayList<>();
+        for (int record = from; record < to && branches.size() < limit; record++) {
+            if (!isHeadquarter(record) && BicCodec.encode(code(record)) != BicCodec.INVALID) {
+                branches.add(entry(record));
+            }
+        }
+        return Collections.unmodifiableList(branches);
+    }
+
+    @Override
+    public SuggestionIndex suggestions() {
+        return SuggestionIndex.empty();
+    }
+
+    @Override
+    public TrigramIndex textIndex() {
+        return TrigramIndex.empty();
+    }
+
+    /**
+     * Decodes every record, in SWIFT code order, sharing one {@code String} per distinct value.
+     */
+    @Override
+    public List<SwiftCodeEntry> entries() {
+        String[] strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            strings[i] = string(i);
+        }
+        SwiftCodeEntry[] entries = new SwiftCodeEntry[entryCount];
+        String[] columns = new String[TEXT_COLUMNS];
+        for (int record = 0; record < entryCount; record++) {
+            int position = records + record * recordBytes + codeWidth;
+            for (int column = 0; column < TEXT_COLUMNS; column++) {
+                int index = buffer.getInt(position + column * Integer.BYTES);
+                columns[column] = index == NULL ? null : strings[index];
+            }
+            entries[record] = entry(code(record), columns, isHeadquarter(record));
+        }
+        return List.of(entries);
+    }
+
+    @Override
+    public int size() {
+        return entryCount;
+    }
+
+    private SwiftCodeEntry entry(int record) {
+        int position = records + record * recordBytes + codeWidth;
+        String[] columns = new String[TEXT_COLUMNS];
+        for (int column = 0; column < TEXT_COLUMNS; column++) {
+            columns[column] = string(buffer.getInt(position + column * Integer.BYTES));
+        }
+        return entry(code(record), columns, isHeadquarter(record));
+    }
+
+    private static SwiftCodeEntry entry(String swiftCode, String[] columns, boolean isHeadquarter) {
+        return new SwiftCodeEntry(swiftCode, columns[0], columns[1], columns[2], columns[3], columns[COUNTRY_COLUMN],
+                columns[5], isHeadquarter, columns[6], columns[7]);
+    }
+
+    private String code(int record) {
+        int position = records + record * recordBytes;
+        int length = codeWidth;
+        while (length > 0 && buffer.get(position + length - 1) == 0) {
+            length--;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean isHeadquarter(int record) {
+        return buffer.get(records + record * recordBytes + recordBytes - 1) != 0;
+    }
+
+    private String string(int index) {
+        if (index == NULL) {
+            return null;
+        }
+        int start = buffer.getInt(offsets + index * Integer.BYTES);
+        byte[] bytes = new byte[buffer.getInt(offsets + (index + 1) * Integer.BYTES) - start];
+        buffer.get(blob + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int countryRecord(int position) {
+        return buffer.getInt(countryOrder + position * Integer.BYTES);
+    }
+
+    /**
+     * First record in {@code [from, to)} whose code is not less than {@code code}.
+     */
+    private int lowerBound(byte[] code, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (compareCode(mid, code) < 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * First record in {@code [from, to)} whose code is greater than {@code code}.
+     */
+    private int upperBound(byte[] code, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (compareCode(mid, code) <= 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Compares a record's zero-padded code bytes with {@code code} as if it were padded the same way.
+     */
+    private int compareCode(int record, byte[] code) {
+        int position = records + record * recordBytes;
+        for (int i = 0; i < codeWidth; i++) {
+            int stored = buffer.get(position + i) & 0xFF;
+            int other = i < code.length ? code[i] & 0xFF : 0;
+            if (stored != other) {
+                return Integer.compare(stored, other);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * A keyset cursor as code bytes. A cursor longer than the code width is cut to that width: every code up to
+     * the bytes kept sorts before the cursor, and every code past them after it.
+     */
+    private byte[] cursor(String after) {
+        byte[] bytes = after.getBytes(StandardCharsets.UTF_8);
+        return bytes.length <= codeWidth ? bytes : Arrays.copyOf(bytes, codeWidth);
+    }
+}
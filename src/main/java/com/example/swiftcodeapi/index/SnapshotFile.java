@@ -0,0 +1,214 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary copy of the dataset, loaded by {@link SwiftCodeSnapshotHolder} at startup instead of reading every
+ * row from the database, and served directly, without loading, by {@link MappedSwiftCodeDataset}. Layout,
+ * big-endian:
+ * <pre>
+ * int    magic "SWCS", int version
+ * int    key length, key (UTF-8): the dataset the file was written from
+ * int    string count, int entry count, int country count, int code width
+ * int[]  string offsets (count + 1) into the blob, then the UTF-8 blob
+ * record entry count fixed-width records sorted by SWIFT code: the code as code-width zero-padded UTF-8 bytes,
+ *        one int string index per other text column (-1 for null), one headquarter flag byte
+ * country country count rows sorted by country: ISO2 string index, first position and length of its run in
+ *        the country order
+ * int[]  country order: record numbers grouped by country, in SWIFT code order within each
+ * long   CRC32 of everything before it
+ * </pre>
+ * Each distinct string is stored once, so the countries, names and time zones that most rows repeat cost one
+ * index each. The code width is 11, the length of a BIC, unless a legacy code needs more bytes. The file is
+ * read through a memory-mapped {@link FileChannel}; the checksum is verified before anything is decoded.
+ */
+public final class SnapshotFile {
+
+    static final int MAGIC = 0x53574353;
+    static final int VERSION = 2;
+
+    static final int CODE_BYTES = 11;
+    /** Bank name, address, code type, town, country ISO2, country name, headquarter code, time zone. */
+    static final int TEXT_COLUMNS = 8;
+    static final int COUNTRY_COLUMN = 4;
+    static final int COUNTRY_BYTES = 3 * Integer.BYTES;
+    static final int NULL = -1;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes {@code entries} under {@code datasetKey}, to a temporary file that then replaces {@code path},
+     * so a crash mid-write never leaves a truncated file behind.
+     */
+    public static void write(Path path, String datasetKey, Collection<SwiftCodeEntry> entries) throws IOException {
+        List<byte[]> codes = new ArrayList<>(entries.size());
+        int codeWidth = CODE_BYTES;
+        for (SwiftCodeEntry entry : entries) {
+            byte[] code = entry.getSwiftCode().getBytes(StandardCharsets.UTF_8);
+            codes.add(code);
+            codeWidth = Math.max(codeWidth, code.length);
+        }
+        List<SwiftCodeEntry> list = new ArrayList<>(entries);
+        Integer[] order = new Integer[list.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(codes.get(a), codes.get(b)));
+
+        Map<String, Integer> indexes = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int[] records = new int[list.size() * TEXT_COLUMNS];
+        // Record numbers per country ISO2; the TreeMap keeps the country table sorted.
+        Map<String, List<Integer>> countries = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+        for (int record = 0; record < order.length; record++) {
+            SwiftCodeEntry entry = list.get(order[record]);
+            String[] columns = columns(entry);
+            for (int column = 0; column < TEXT_COLUMNS; column++) {
+                records[record * TEXT_COLUMNS + column] = columns[column] == null ? NULL
+                        : indexes.computeIfAbsent(columns[column], v -> {
+                            strings.add(v.getBytes(StandardCharsets.UTF_8));
+                            return strings.size() - 1;
+                        });
+            }
+            countries.computeIfAbsent(entry.getCountryISO2(), k -> new ArrayList<>()).add(record);
+        }
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc)))) {
+                byte[] key = datasetKey.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(key.length);
+                out.write(key);
+                out.writeInt(strings.size());
+                out.writeInt(list.size());
+                out.writeInt(countries.size());
+                out.writeInt(codeWidth);
+                int offset = 0;
+                out.writeInt(offset);
+                for (byte[] string : strings) {
+                    offset += string.length;
+                    out.writeInt(offset);
+                }
+                for (byte[] string : strings) {
+                    out.write(string);
+                }
+                for (int record = 0; record < order.length; record++) {
+                    byte[] code = codes.get(order[record]);
+                    out.write(code);
+                    out.write(new byte[codeWidth - code.length]);
+                    for (int column = 0; column < TEXT_COLUMNS; column++) {
+                        out.writeInt(records[record * TEXT_COLUMNS + column]);
+                    }
+                    out.writeByte(list.get(order[record]).isHeadquarter() ? 1 : 0);
+                }
+                int start = 0;
+                for (Map.Entry<String, List<Integer>> country : countries.entrySet()) {
+                    out.writeInt(country.getKey() == null ? NULL : indexes.get(country.getKey()));
+                    out.writeInt(start);
+                    out.writeInt(country.getValue().size());
+                    start += country.getValue().size();
+                }
+                for (List<Integer> country : countries.values()) {
+                    for (int record : country) {
+                        out.writeInt(record);
+                    }
+                }
+                out.flush();
+                // Written past the CheckedOutputStream, the checksum covers only what precedes it.
+                new DataOutputStream(file).writeLong(crc.getValue());
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The entries of the file at {@code path}, in SWIFT code order, if it exists and was written from
+     * {@code datasetKey} by this version; empty otherwise. Throws if the file is truncated or its checksum does
+     * not match.
+     */
+    public static Optional<List<SwiftCodeEntry>> read(Path path, String datasetKey) throws IOException {
+        try {
+            return open(path, datasetKey).map(MappedSwiftCodeDataset::entries);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Maps the file at {@code path}, whatever dataset it was written from, to be served in place.
+     */
+    public static MappedSwiftCodeDataset map(Path path) throws IOException {
+        return open(path, null).orElseThrow(() -> new IOException("Not a snapshot file of version " + VERSION + ": " + path));
+    }
+
+    private static Optional<MappedSwiftCodeDataset> open(Path path, String datasetKey) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return Optional.empty();
+            }
+            byte[] key = new byte[buffer.getInt()];
+            buffer.get(key);
+            if (datasetKey != null && !new String(key, StandardCharsets.UTF_8).equals(datasetKey)) {
+                return Optional.empty();
+            }
+            verifyChecksum(buffer);
+            return Optional.of(new MappedSwiftCodeDataset(buffer, buffer.position()));
+        } catch (RuntimeException e) {
+            // Out-of-range offsets: the checksum matched a file this version did not write.
+            throw new IOException("Corrupt snapshot file " + path, e);
+        }
+    }
+
+    private static void verifyChecksum(ByteBuffer buffer) throws IOException {
+        int end = buffer.limit() - Long.BYTES;
+        if (end < buffer.position()) {
+            throw new IOException("Corrupt snapshot file: truncated");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(end));
+        if (crc.getValue() != buffer.getLong(end)) {
+            throw new IOException("Corrupt snapshot file: checksum mismatch");
+        }
+    }
+
+    private static String[] columns(SwiftCodeEntry entry) {
+        return new String[]{entry.getBankName(), entry.getAddress(), entry.getCodeType(), entry.getTownName(),
+                entry.getCountryISO2(), entry.getCountryName(), entry.getHeadquarterCode(), entry.getTimeZone()};
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.dtos.SuggestionDto;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prefix index over SWIFT codes and bank names for type-ahead suggestions.
+ * <p>
+ * All terms live in one sorted array, so every prefix maps to a contiguous range, the same leaf order a trie
+ * would produce, without per-node objects. A lookup is a binary search for the first term at or after the
+ * prefix followed by a scan of at most {@code limit} terms; the suggestions themselves are prebuilt, so a
+ * keystroke allocates only the result list. Bank names are deduplicated and carry how many codes use them.
+ * <p>
+ * Instances are immutable; {@link #with(SwiftCodeEntry)} and {@link #without(SwiftCodeEntry)} copy the arrays.
+ */
+public final class SuggestionIndex {
+
+    private static final SuggestionIndex EMPTY = new SuggestionIndex(new String[0], new SuggestionDto[0]);
+
+    private static final Comparator<Term> ORDER = Comparator
+            .comparing(Term::term)
+            .thenComparing(t -> t.suggestion().getType());
+
+    private final String[] terms;
+    private final SuggestionDto[] suggestions;
+
+    private SuggestionIndex(String[] terms, SuggestionDto[] suggestions) {
+        this.terms = terms;
+        this.suggestions = suggestions;
+    }
+
+    public static SuggestionIndex empty() {
+        return EMPTY;
+    }
+
+    public static SuggestionIndex of(Collection<SwiftCodeEntry> entries) {
+        List<Term> all = new ArrayList<>(entries.size() + entries.size() / 4);
+        Map<String, Integer> bankCounts = new HashMap<>();
+        Map<String, String> bankNames = new HashMap<>();
+        for (SwiftCodeEntry entry : entries) {
+            all.add(new Term(normalize(entry.getSwiftCode()), swiftCodeSuggestion(entry)));
+            String bank = normalize(entry.getBankName());
+            if (!bank.isEmpty()) {
+                bankCounts.merge(bank, 1, Integer::sum);
+                bankNames.putIfAbsent(bank, entry.getBankName().trim());
+            }
+        }
+        bankCounts.forEach((bank, count) -> all.add(new Term(bank, bankSuggestion(bankNames.get(bank), count))));
+        all.sort(ORDER);
+
+        String[] terms = new String[all.size()];
+        SuggestionDto[] suggestions = new SuggestionDto[all.size()];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = all.get(i).term();
+            suggestions[i] = all.get(i).suggestion();
+        }
+        return new SuggestionIndex(terms, suggestions);
+    }
+
+    /**
+     * Returns up to {@code limit} suggestions whose code or bank name starts with {@code query}, in
+     * alphabetical order.
+     */
+    public List<SuggestionDto> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<SuggestionDto> result = new ArrayList<>(Math.min(limit, 16));
+        for (int i = lowerBound(prefix); i < terms.length && result.size() < limit && terms[i].startsWith(prefix); i++) {
+            result.add(suggestions[i]);
+        }
+        return result;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public SuggestionIndex with(SwiftCodeEntry entry) {
+        SuggestionIndex index = insert(swiftCodeSuggestion(entry));
+        String bank = normalize(entry.getBankName());
+        if (bank.isEmpty()) {
+            return index;
+        }
+        int position = index.find(bank, SuggestionDto.TYPE_BANK);
+        if (position < 0) {
+            return index.insert(bankSuggestion(entry.getBankName().trim(), 1));
+        }
+        SuggestionDto existing = index.suggestions[position];
+        return index.replace(position, bankSuggestion(existing.getText(), existing.getSwiftCodeCount() + 1));
+    }
+
+    public SuggestionIndex without(SwiftCodeEntry entry) {
+        SuggestionIndex index = this;
+        int position = index.find(normalize(entry.getSwiftCode()), SuggestionDto.TYPE_SWIFT_CODE);
+        if (position >= 0) {
+            index = index.remove(position);
+        }
+        String bank = normalize(entry.getBankName());
+        position = bank.isEmpty() ? -1 : index.find(bank, SuggestionDto.TYPE_BANK);
+        if (position >= 0) {
+            SuggestionDto existing = index.suggestions[position];
+            index = existing.getSwiftCodeCount() <= 1
+                    ? index.remove(position)
+                    : index.replace(position, bankSuggestion(existing.getText(), existing.getSwiftCodeCount() - 1));
+        }
+        return index;
+    }
+
+    /**
+     * Trims, collapses every run of whitespace to one space and upper-cases. Runs on every keystroke, so it
+     * copies the text only when a run actually needs collapsing.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String trimmed = text.trim();
+        int length = trimmed.length();
+        StringBuilder collapsed = null;
+        for (int i = 0; i < length; i++) {
+            char c = trimmed.charAt(i);
+            if (!isWhitespace(c)) {
+                if (collapsed != null) {
+                    collapsed.append(c);
+                }
+                continue;
+            }
+            int end = i + 1;
+            while (end < length && isWhitespace(trimmed.charAt(end))) {
+                end++;
+            }
+            if (collapsed == null && (c != ' ' || end > i + 1)) {
+                collapsed = new StringBuilder(length).append(trimmed, 0, i);
+            }
+            if (collapsed != null) {
+                collapsed.append(' ');
+            }
+            i = end - 1;
+        }
+        return (collapsed == null ? trimmed : collapsed.toString()).toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * The characters of the regex class {@code \s}.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static SuggestionDto swiftCodeSuggestion(SwiftCodeEntry entry) {
+        return SuggestionDto.builder()
+                .type(SuggestionDto.TYPE_SWIFT_CODE)
+                .text(entry.getSwiftCode())
+                .swiftCode(entry.getSwiftCode())
+                .bankName(entry.getBankName())
+                .countryISO2(entry.getCountryISO2())
+                .build();
+    }
+
+    private static SuggestionDto bankSuggestion(String bankName, int count) {
+        return SuggestionDto.builder()
+                .type(SuggestionDto.TYPE_BANK)
+                .text(bankName)
+                .bankName(bankName)
+                .swiftCodeCount(count)
+                .build();
+    }
+
+    private int find(String term, String type) {
+        for (int i = lowerBound(term); i < terms.length && terms[i].equals(term); i++) {
+            if (suggestions[i].getType().equals(type)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int lowerBound(String term) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(term) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private SuggestionIndex insert(SuggestionDto suggestion) {
+        String term = normalize(suggestion.getText());
+        int position = lowerBound(term);
+        while (position < terms.length && terms[position].equals(term)
+                && suggestions[position].getType().compareTo(suggestion.getType()) < 0) {
+            position++;
+        }
+        String[] newTerms = new String[terms.length + 1];
+        SuggestionDto[] newSuggestions = new SuggestionDto[terms.length + 1];
+        System.arraycopy(terms, 0, newTerms, 0, position);
+        System.arraycopy(suggestions, 0, newSuggestions, 0, position);
+        newTerms[position] = term;
+        newSuggestions[position] = suggestion;
+        System.arraycopy(terms, position, newTerms, position + 1, terms.length - position);
+        System.arraycopy(suggestions, position, newSuggestions, position + 1, terms.length - position);
+        return new SuggestionIndex(newTerms, newSuggestions);
+    }
+
+    private SuggestionIndex replace(int position, SuggestionDto suggestion) {
+        SuggestionDto[] newSuggestions = Arrays.copyOf(suggestions, suggestions.length);
+        newSuggestions[position] = suggestion;
+        return new SuggestionIndex(terms, newSuggestions);
+    }
+
+    private SuggestionIndex remove(int position) {
+        String[] newTerms = new String[terms.length - 1];
+        SuggestionDto[] newSuggestions = new SuggestionDto[terms.length - 1];
+        System.arraycopy(terms, 0, newTerms, 0, position);
+        System.arraycopy(suggestions, 0, newSuggestions, 0, position);
+        System.arraycopy(terms, position + 1, newTerms, position, newTerms.length - position);
+        System.arraycopy(suggestions, position + 1, newSuggestions, position, newTerms.length - position);
+        return new SuggestionIndex(newTerms, newSuggestions);
+    }
+
+    private record Term(String term, SuggestionDto suggestion) {
+    }
+}
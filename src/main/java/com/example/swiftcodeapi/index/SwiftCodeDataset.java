@@ -0,0 +1,36 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The read side of the dataset that {@link SwiftCodeSnapshotHolder} serves: the in-memory
+ * {@link SwiftCodeSnapshot} or {@link ColumnarSwiftCodeDataset}, or a {@link MappedSwiftCodeDataset} read in
+ * place from a snapshot file. Listings are sorted by SWIFT code; paged variants return at most {@code limit}
+ * entries whose code sorts after {@code after}.
+ */
+public interface SwiftCodeDataset {
+
+    Optional<SwiftCodeEntry> find(String swiftCode);
+
+    List<SwiftCodeEntry> findByCountry(String countryISO2);
+
+    List<SwiftCodeEntry> findByCountry(String countryISO2, String after, int limit);
+
+    /**
+     * Branches sharing the 8-character bank/location prefix of the given headquarter code.
+     */
+    List<SwiftCodeEntry> findBranches(String headquarterSwiftCode);
+
+    List<SwiftCodeEntry> findBranches(String headquarterSwiftCode, String after, int limit);
+
+    SuggestionIndex suggestions();
+
+    TrigramIndex textIndex();
+
+    List<SwiftCodeEntry> entries();
+
+    int size();
+}
@@ -0,0 +1,315 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable view of the whole SWIFT code dataset, indexed by code, by country and by headquarter.
+ * <p>
+ * Codes are keyed by their {@link BicCodec} value: point lookups probe a {@link LongObjectHashMap}, and a
+ * sorted array of all keys serves as the headquarter/branch adjacency index. Because a headquarter and its
+ * branches share the 8-character prefix, they occupy one contiguous key range that two binary searches
+ * find. Rows whose code does not have the BIC shape (only possible for data written before validation
+ * existed) are kept in a small string-keyed side map and take no part in branch grouping. The snapshot also
+ * carries the {@link SuggestionIndex} used for type-ahead over codes and bank names and the
+ * {@link TrigramIndex} used for fuzzy search over bank name, town and address.
+ * <p>
+ * Updates never modify an existing snapshot: {@link #with(SwiftCodeEntry)} and {@link #without(String)}
+ * return a new one. They share the entries and the untouched country lists with the old snapshot, but copy the
+ * code map, the sorted key and entry arrays and the country map, so a single write costs O(n) time and a
+ * transient second copy of those structures. This is deliberate: writes are rare admin operations while reads
+ * are the hot path, and flat arrays keep the reads fast. Bulk changes do not go through these methods; an
+ * import rebuilds the snapshot once with {@link #of(Collection)}.
+ */
+public final class SwiftCodeSnapshot implements SwiftCodeDataset {
+
+    private static final Comparator<SwiftCodeEntry> BY_CODE = Comparator.comparing(SwiftCodeEntry::getSwiftCode);
+
+    private static final SwiftCodeSnapshot EMPTY = new SwiftCodeSnapshot(
+            new LongObjectHashMap<>(), Map.of(), Map.of(), new long[0], new SwiftCodeEntry[0],
+            SuggestionIndex.empty(), TrigramIndex.empty());
+
+    private final LongObjectHashMap<SwiftCodeEntry> byCode;
+    private final Map<String, SwiftCodeEntry> irregularCodes;
+    private final Map<String, List<SwiftCodeEntry>> byCountry;
+    private final long[] sortedKeys;
+    private final SwiftCodeEntry[] sortedEntries;
+    private final SuggestionIndex suggestions;
+    private final TrigramIndex textIndex;
+
+    private SwiftCodeSnapshot(LongObjectHashMap<SwiftCodeEntry> byCode,
+                              Map<String, SwiftCodeEntry> irregularCodes,
+                              Map<String, List<SwiftCodeEntry>> byCountry,
+                              long[] sortedKeys,
+                              SwiftCodeEntry[] sortedEntries,
+                              SuggestionIndex suggestions,
+                              TrigramIndex textIndex) {
+        this.byCode = byCode;
+        this.irregularCodes = irregularCodes;
+        this.byCountry = byCountry;
+        this.sortedKeys = sortedKeys;
+        this.sortedEntries = sortedEntries;
+        this.suggestions = suggestions;
+        this.textIndex = textIndex;
+    }
+
+    public static SwiftCodeSnapshot empty() {
+        return EMPTY;
+    }
+
+    public static SwiftCodeSnapshot of(Collection<SwiftCodeEntry> entries) {
+        LongObjectHashMap<SwiftCodeEntry> byCode = new LongObjectHashMap<>(entries.size());
+        Map<String, SwiftCodeEntry> irregular = new HashMap<>();
+        for (SwiftCodeEntry entry : entries) {
+            long key = BicCodec.encode(entry.getSwiftCode());
+            if (key == BicCodec.INVALID) {
+                irregular.put(entry.getSwiftCode(), entry);
+            } else {
+                byCode.put(key, entry);
+            }
+        }
+
+        Map<String, List<SwiftCodeEntry>> byCountry = new HashMap<>();
+        List<SwiftCodeEntry> all = byCode.values();
+        all.addAll(irregular.values());
+        for (SwiftCodeEntry entry : all) {
+            byCountry.computeIfAbsent(entry.getCountryISO2(), k -> new ArrayList<>()).add(entry);
+        }
+        byCountry.replaceAll((k, list) -> sorted(list));
+
+        SwiftCodeEntry[] sortedEntries = byCode.values().toArray(new SwiftCodeEntry[0]);
+        Arrays.sort(sortedEntries, BY_CODE);
+        long[] sortedKeys = new long[sortedEntries.length];
+        for (int i = 0; i < sortedEntries.length; i++) {
+            sortedKeys[i] = BicCodec.encode(sortedEntries[i].getSwiftCode());
+        }
+
+        return new SwiftCodeSnapshot(byCode, Collections.unmodifiableMap(irregular),
+                Collections.unmodifiableMap(byCountry), sortedKeys, sortedEntries,
+                SuggestionIndex.of(all), TrigramIndex.of(all));
+    }
+
+    @Override
+    public Optional<SwiftCodeEntry> find(String swiftCode) {
+        long key = BicCodec.encode(swiftCode);
+        return Optional.ofNullable(key == BicCodec.INVALID ? irregularCodes.get(swiftCode) : byCode.get(key));
+    }
+
+    /**
+     * Returns the entries of a country sorted by SWIFT code, or an empty list.
+     */
+    @Override
+    public List<SwiftCodeEntry> findByCountry(String countryISO2) {
+        return byCountry.getOrDefault(countryISO2, List.of());
+    }
+
+    /**
+     * Returns the branches sharing the 8-character bank/location prefix of the given headquarter code,
+     * sorted by SWIFT code, by scanning that prefix's key range in the adjacency index.
+     */
+    @Override
+    public List<SwiftCodeEntry> findBranches(String headquarterSwiftCode) {
+        long key = BicCodec.encode(headquarterSwiftCode);
+        if (key == BicCodec.INVALID) {
+            return List.of();
+        }
+        int from = lowerBound(sortedKeys, BicCodec.prefixRangeStart(key));
+        int to = lowerBound(sortedKeys, BicCodec.prefixRangeEnd(key));
+        List<SwiftCodeEntry> branches = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            if (!sortedEntries[i].isHeadquarter()) {
+                branches.add(sortedEntries[i]);
+            }
+        }
+        return Collections.unmodifiableList(branches);
+    }
+
+    /**
+     * Keyset page of a country: at most {@code limit} entries whose code sorts after {@code after}.
+     */
+    @Override
+    public List<SwiftCodeEntry> findByCountry(String countryISO2, String after, int limit) {
+        List<SwiftCodeEntry> entries = findByCountry(countryISO2);
+        int from = firstAfter(entries, 0, entries.size(), after);
+        return entries.subList(from, Math.min(entries.size(), from + limit));
+    }
+
+    /**
+     * Keyset page of {@link #findBranches(String)}: at most {@code limit} branches whose code sorts after
+     * {@code after}, found by narrowing the headquarter's key range with one more binary search.
+     */
+    @Override
+    public List<SwiftCodeEntry> findBranches(String headquarterSwiftCode, String after, int limit) {
+        long key = BicCodec.encode(headquarterSwiftCode);
+        if (key == BicCodec.INVALID) {
+            return List.of();
+        }
+        List<SwiftCodeEntry> adjacency = Arrays.asList(sortedEntries);
+        int to = lowerBound(sortedKeys, BicCodec.prefixRangeEnd(key));
+        int from = firstAfter(adjacency, lowerBound(sortedKeys, BicCodec.prefixRangeStart(key)), to, after);
+        List<SwiftCodeEntry> branches = new ArrayList<>(Math.min(limit, to - from));
+        for (int i = from; i < to && branches.size() < limit; i++) {
+            if (!sortedEntries[i].isHeadquarter()) {
+                branches.add(sortedEntries[i]);
+            }
+        }
+        return Collections.unmodifiableList(branches);
+    }
+
+    @Override
+    public SuggestionIndex suggestions() {
+        return suggestions;
+    }
+
+    @Override
+    public TrigramIndex textIndex() {
+        return textIndex;
+    }
+
+    @Override
+    public List<SwiftCodeEntry> entries() {
+        List<SwiftCodeEntry> entries = byCode.values();
+        entries.addAll(irregularCodes.values());
+        return entries;
+    }
+
+    @Override
+    public int size() {
+        return byCode.size() + irregularCodes.size();
+    }
+
+    public SwiftCodeSnapshot with(SwiftCodeEntry entry) {
+        SwiftCodeSnapshot base = without(entry.getSwiftCode());
+
+        LongObjectHashMap<SwiftCodeEntry> codes = base.byCode;
+        Map<String, SwiftCodeEntry> irregular = base.irregularCodes;
+        long[] keys = base.sortedKeys;
+        SwiftCodeEntry[] adjacency = base.sortedEntries;
+        long key = BicCodec.encode(entry.getSwiftCode());
+        if (key == BicCodec.INVALID) {
+            irregular = new HashMap<>(irregular);
+            irregular.put(entry.getSwiftCode(), entry);
+            irregular = Collections.unmodifiableMap(irregular);
+        } else {
+            codes = codes.copy();
+            codes.put(key, entry);
+
+            int position = lowerBound(keys, key);
+            keys = new long[keys.length + 1];
+            adjacency = new SwiftCodeEntry[keys.length];
+            System.arraycopy(base.sortedKeys, 0, keys, 0, position);
+            System.arraycopy(base.sortedEntries, 0, adjacency, 0, position);
+            keys[position] = key;
+            adjacency[position] = entry;
+            System.arraycopy(base.sortedKeys, position, keys, position + 1, base.sortedKeys.length - position);
+            System.arraycopy(base.sortedEntries, position, adjacency, position + 1, base.sortedEntries.length - position);
+        }
+
+        Map<String, List<SwiftCodeEntry>> countries = new HashMap<>(base.byCountry);
+        countries.put(entry.getCountryISO2(), plus(countries.get(entry.getCountryISO2()), entry));
+
+        return new SwiftCodeSnapshot(codes, irregular, Collections.unmodifiableMap(countries), keys, adjacency,
+                base.suggestions.with(entry), base.textIndex.with(entry));
+    }
+
+    public SwiftCodeSnapshot without(String swiftCode) {
+        SwiftCodeEntry existing = find(swiftCode).orElse(null);
+        if (existing == null) {
+            return this;
+        }
+
+        LongObjectHashMap<SwiftCodeEntry> codes = byCode;
+        Map<String, SwiftCodeEntry> irregular = irregularCodes;
+        long[] keys = sortedKeys;
+        SwiftCodeEntry[] adjacency = sortedEntries;
+        long key = BicCodec.encode(swiftCode);
+        if (key == BicCodec.INVALID) {
+            irregular = new HashMap<>(irregular);
+            irregular.remove(swiftCode);
+            irregular = Collections.unmodifiableMap(irregular);
+        } else {
+            codes = codes.copy();
+            codes.remove(key);
+
+            int position = lowerBound(keys, key);
+            keys = new long[sortedKeys.length - 1];
+            adjacency = new SwiftCodeEntry[keys.length];
+            System.arraycopy(sortedKeys, 0, keys, 0, position);
+            System.arraycopy(sortedEntries, 0, adjacency, 0, position);
+            System.arraycopy(sortedKeys, position + 1, keys, position, keys.length - position);
+            System.arraycopy(sortedEntries, position + 1, adjacency, position, keys.length - position);
+        }
+
+        Map<String, List<SwiftCodeEntry>> countries = new HashMap<>(byCountry);
+        List<SwiftCodeEntry> remaining = minus(countries.get(existing.getCountryISO2()), existing);
+        if (remaining.isEmpty()) {
+            countries.remove(existing.getCountryISO2());
+        } else {
+            countries.put(existing.getCountryISO2(), remaining);
+        }
+
+        return new SwiftCodeSnapshot(codes, irregular, Collections.unmodifiableMap(countries), keys, adjacency,
+                suggestions.without(existing), textIndex.without(swiftCode));
+    }
+
+    /**
+     * Index of the first key that is not less than {@code key}.
+     */
+    private static int lowerBound(long[] keys, long key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the first entry in {@code [from, to)} of a code-sorted list whose code is greater than
+     * {@code after}.
+     */
+    private static int firstAfter(List<SwiftCodeEntry> entries, int from, int to, String after) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries.get(mid).getSwiftCode().compareTo(after) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static List<SwiftCodeEntry> sorted(List<SwiftCodeEntry> entries) {
+        entries.sort(BY_CODE);
+        return Collections.unmodifiableList(entries);
+    }
+
+    private static List<SwiftCodeEntry> plus(List<SwiftCodeEntry> entries, SwiftCodeEntry entry) {
+        List<SwiftCodeEntry> copy = entries == null ? new ArrayList<>(1) : new ArrayList<>(entries);
+        copy.add(entry);
+        return sorted(copy);
+    }
+
+    private static List<SwiftCodeEntry> minus(List<SwiftCodeEntry> entries, SwiftCodeEntry entry) {
+        List<SwiftCodeEntry> copy = new ArrayList<>(entries);
+        copy.removeIf(e -> e.getSwiftCode().equals(entry.getSwiftCode()));
+        return Collections.unmodifiableList(copy);
+    }
+}
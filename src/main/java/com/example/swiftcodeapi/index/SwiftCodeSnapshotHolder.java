@@ -0,0 +1,176 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.event.SwiftCodeChangedEvent;
+import com.example.swiftcodeapi.event.SwiftCodesImportedEvent;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import com.example.swiftcodeapi.model.ImportState;
+import com.example.swiftcodeapi.repository.ImportStateRepository;
+import com.example.swiftcodeapi.repository.SwiftCodeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owns the current {@link SwiftCodeSnapshot}. The snapshot is loaded once the startup import has committed
+ * and is swapped atomically after every committed add or delete, so readers never see a partial update.
+ * Its listeners run first so that cache eviction afterwards cannot be repopulated from a stale snapshot.
+ * <p>
+ * The snapshot is always loaded because the suggestion index depends on it; {@code swiftcode.snapshot.enabled}
+ * only decides whether detail and country reads are answered from it instead of the database. With
+ * {@code swiftcode.snapshot.columnar} it is loaded as a {@link ColumnarSwiftCodeDataset} instead, which stores the
+ * rows in a fraction of the heap, carries the same indexes, and pays for it with slower writes.
+ * <p>
+ * With {@code swiftcode.snapshot.file} set, every load from the database is also written to that
+ * {@link SnapshotFile}, keyed by the checksum of the table's last import, of the configured files or an upload,
+ * and a later load whose import was skipped as unchanged maps the file instead of reading the rows again. A
+ * file from another import, one whose row count no longer matches the table, or a corrupt one is ignored. Adds
+ * and deletes through the API delete it, so the next startup goes back to the database; like the in-memory
+ * snapshot itself, the file does not see other writers sharing the database.
+ * <p>
+ * With {@code swiftcode.snapshot.serve-mapped} (the {@code edge} profile), the file is instead served in place
+ * as a {@link MappedSwiftCodeDataset}, whatever import wrote it: it is mapped once at startup, the instance
+ * fails to start without it, and no database is ever consulted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SwiftCodeSnapshotHolder {
+
+    @Lazy
+    private final SwiftCodeRepository swiftCodeRepository;
+    @Lazy
+    private final ImportStateRepository importStateRepository;
+
+    private final AtomicReference<SwiftCodeDataset> snapshot = new AtomicReference<>();
+
+    @Value("${swiftcode.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${swiftcode.snapshot.file:}")
+    private String snapshotFile;
+
+    @Value("${swiftcode.snapshot.columnar:false}")
+    private boolean columnar;
+
+    @Value("${swiftcode.snapshot.serve-mapped:false}")
+    private boolean serveMapped;
+
+    private volatile MappedSwiftCodeDataset mapped;
+
+    @PostConstruct
+    void mapSnapshotFile() throws IOException {
+        if (!serveMapped) {
+            return;
+        }
+        if (snapshotFile.isBlank()) {
+            throw new IllegalStateException("swiftcode.snapshot.serve-mapped requires swiftcode.snapshot.file");
+        }
+        mapped = SnapshotFile.map(Path.of(snapshotFile));
+        log.info("Serving {} Swift Codes from mapped snapshot file {}", mapped.size(), snapshotFile);
+    }
+
+    /**
+     * Whether reads should be answered from memory: a snapshot file is mapped, or the mode is enabled and the
+     * initial load has completed.
+     */
+    public boolean isServing() {
+        return mapped != null || (enabled && snapshot.get() != null);
+    }
+
+    /**
+     * Whether {@link #current()} holds the dataset rather than the empty placeholder used before the first load.
+     */
+    public boolean isLoaded() {
+        return mapped != null || snapshot.get() != null;
+    }
+
+    public SwiftCodeDataset current() {
+        if (mapped != null) {
+            return mapped;
+        }
+        SwiftCodeDataset current = snapshot.get();
+        return current != null ? current : SwiftCodeSnapshot.empty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onImported(SwiftCodesImportedEvent event) {
+        reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onChanged(SwiftCodeChangedEvent event) {
+        snapshot.updateAndGet(current -> {
+            if (current instanceof ColumnarSwiftCodeDataset columns) {
+                return event.deleted() ? columns.without(event.swiftCode()) : columns.with(event.entry());
+            }
+            if (current instanceof SwiftCodeSnapshot indexed) {
+                return event.deleted() ? indexed.without(event.swiftCode()) : indexed.with(event.entry());
+            }
+            return current;
+        });
+        if (!snapshotFile.isBlank()) {
+            try {
+                Files.deleteIfExists(Path.of(snapshotFile));
+            } catch (IOException e) {
+                log.warn("Could not delete stale snapshot file {}", snapshotFile, e);
+            }
+        }
+    }
+
+    public void reload() {
+        long start = System.nanoTime();
+        String datasetKey = snapshotFile.isBlank() ? null : importStateRepository.findFirstByOrderByImportedAtDesc()
+                .map(ImportState::getChecksum)
+                .orElse(null);
+        List<SwiftCodeEntry> entries = datasetKey != null ? readSnapshotFile(datasetKey) : null;
+        String source = "snapshot file";
+        if (entries == null) {
+            entries = swiftCodeRepository.findAll().stream()
+                    .map(SwiftCodeEntry::from)
+                    .toList();
+            source = "database";
+            if (datasetKey != null) {
+                writeSnapshotFile(datasetKey, entries);
+            }
+        }
+        snapshot.set(columnar ? ColumnarSwiftCodeDataset.of(entries) : SwiftCodeSnapshot.of(entries));
+        log.info("Loaded in-memory snapshot of {} Swift Codes from the {} in {} ms", entries.size(), source,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<SwiftCodeEntry> readSnapshotFile(String datasetKey) {
+        try {
+            List<SwiftCodeEntry> entries = SnapshotFile.read(Path.of(snapshotFile), datasetKey).orElse(null);
+            if (entries != null && entries.size() != swiftCodeRepository.count()) {
+                log.info("Snapshot file {} does not match the table, loading from the database", snapshotFile);
+                return null;
+            }
+            return entries;
+        } catch (IOException e) {
+            log.warn("Could not read snapshot file {}, loading from the database", snapshotFile, e);
+            return null;
+        }
+    }
+
+    private void writeSnapshotFile(String datasetKey, List<SwiftCodeEntry> entries) {
+        try {
+            SnapshotFile.write(Path.of(snapshotFile), datasetKey, entries);
+        } catch (IOException e) {
+            log.warn("Could not write snapshot file {}", snapshotFile, e);
+        }
+    }
+}
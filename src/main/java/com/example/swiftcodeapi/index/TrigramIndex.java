@@ -0,0 +1,245 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Trigram inverted index over bank name, town name and address for typo-tolerant full-text search.
+ * <p>
+ * Text is upper-cased, split into words of letters and digits, and every word is padded with two leading
+ * spaces and one trailing space before its trigrams are taken, as {@code pg_trgm} does, so even one- and
+ * two-letter queries produce trigrams. Each trigram is packed into a {@code long} (three 16-bit chars) and
+ * maps to a posting list of document ids stored as a sorted {@code int[]}.
+ * <p>
+ * A query walks the posting lists of its distinct trigrams once, counting hits per document in an array; a
+ * document qualifies when it contains at least half of the trigrams, which tolerates a typo or two in longer
+ * queries. Hits are ranked by the share of matched trigrams, then by whether the bank name contains the query
+ * verbatim, then by SWIFT code.
+ * <p>
+ * Instances are immutable. Document ids only grow, so {@link #with(SwiftCodeEntry)} appends to the touched
+ * posting lists and {@link #without(String)} removes from them and leaves a null tombstone in the document
+ * table. Each write still copies the document table, the code-to-id map and the posting map itself (though
+ * not the untouched lists), so it costs O(n). Tombstones make every query's hit-count array longer, so once
+ * they reach a quarter of the table {@link #without(String)} re-numbers the live documents by rebuilding the
+ * index; an import rebuilds it from scratch anyway.
+ */
+public final class TrigramIndex {
+
+    private static final double MIN_MATCH_RATIO = 0.5;
+
+    /** Tombstones below this count are never compacted, so small indexes are not rebuilt on every delete. */
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 64;
+
+    private static final TrigramIndex EMPTY = new TrigramIndex(
+            new LongObjectHashMap<>(), new SwiftCodeEntry[0], new String[0], Map.of());
+
+    private final LongObjectHashMap<int[]> postings;
+    private final SwiftCodeEntry[] documents;
+    /** Normalized bank name per document, for the verbatim-match ranking. */
+    private final String[] bankNames;
+    private final Map<String, Integer> idsByCode;
+
+    private TrigramIndex(LongObjectHashMap<int[]> postings, SwiftCodeEntry[] documents, String[] bankNames,
+                         Map<String, Integer> idsByCode) {
+        this.postings = postings;
+        this.documents = documents;
+        this.bankNames = bankNames;
+        this.idsByCode = idsByCode;
+    }
+
+    public static TrigramIndex empty() {
+        return EMPTY;
+    }
+
+    public static TrigramIndex of(Collection<SwiftCodeEntry> entries) {
+        SwiftCodeEntry[] documents = entries.toArray(new SwiftCodeEntry[0]);
+        Arrays.sort(documents, Comparator.comparing(SwiftCodeEntry::getSwiftCode));
+        String[] bankNames = new String[documents.length];
+        Map<String, Integer> idsByCode = new HashMap<>(documents.length * 2);
+        Map<Long, IntList> lists = new HashMap<>();
+        for (int id = 0; id < documents.length; id++) {
+            bankNames[id] = SuggestionIndex.normalize(documents[id].getBankName());
+            idsByCode.put(documents[id].getSwiftCode(), id);
+            for (long trigram : trigrams(documentText(documents[id]))) {
+                lists.computeIfAbsent(trigram, k -> new IntList()).add(id);
+            }
+        }
+        LongObjectHashMap<int[]> postings = new LongObjectHashMap<>(lists.size());
+        lists.forEach((trigram, ids) -> postings.put(trigram, ids.toArray()));
+        return new TrigramIndex(postings, documents, bankNames, Collections.unmodifiableMap(idsByCode));
+    }
+
+    /**
+     * Returns up to {@code limit} best matches for {@code query}, optionally restricted to one country.
+     */
+    public List<Hit> search(String query, String countryISO2, int limit) {
+        long[] queryTrigrams = trigrams(query);
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        int minMatches = Math.max(1, (int) Math.ceil(queryTrigrams.length * MIN_MATCH_RATIO));
+        int[] counts = new int[documents.length];
+        int present = 0;
+        for (long trigram : queryTrigrams) {
+            int[] list = postings.get(trigram);
+            if (list != null) {
+                present++;
+                for (int doc : list) {
+                    counts[doc]++;
+                }
+            }
+        }
+        if (present < minMatches) {
+            return List.of();
+        }
+
+        String phrase = SuggestionIndex.normalize(query);
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, Hit.RANKING.reversed());
+        for (int doc = 0; doc < counts.length; doc++) {
+            SwiftCodeEntry entry = documents[doc];
+            if (counts[doc] < minMatches || entry == null
+                    || (countryISO2 != null && !countryISO2.equalsIgnoreCase(entry.getCountryISO2()))) {
+                continue;
+            }
+            Hit hit = new Hit(entry, (double) counts[doc] / queryTrigrams.length, bankNames[doc].contains(phrase));
+            best.add(hit);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Hit.RANKING);
+        return hits;
+    }
+
+    public int size() {
+        return idsByCode.size();
+    }
+
+    public TrigramIndex with(SwiftCodeEntry entry) {
+        TrigramIndex base = without(entry.getSwiftCode());
+        int id = base.documents.length;
+
+        SwiftCodeEntry[] documents = Arrays.copyOf(base.documents, id + 1);
+        documents[id] = entry;
+        String[] bankNames = Arrays.copyOf(base.bankNames, id + 1);
+        bankNames[id] = SuggestionIndex.normalize(entry.getBankName());
+        Map<String, Integer> idsByCode = new HashMap<>(base.idsByCode);
+        idsByCode.put(entry.getSwiftCode(), id);
+
+        LongObjectHashMap<int[]> postings = base.postings.copy();
+        for (long trigram : trigrams(documentText(entry))) {
+            int[] list = postings.get(trigram);
+            int[] extended = list == null ? new int[1] : Arrays.copyOf(list, list.length + 1);
+            extended[extended.length - 1] = id;
+            postings.put(trigram, extended);
+        }
+        return new TrigramIndex(postings, documents, bankNames, Collections.unmodifiableMap(idsByCode));
+    }
+
+    public TrigramIndex without(String swiftCode) {
+        Integer id = idsByCode.get(swiftCode);
+        if (id == null) {
+            return this;
+        }
+        int tombstones = this.documents.length - this.idsByCode.size() + 1;
+        if (tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones * 4L >= this.documents.length) {
+            List<SwiftCodeEntry> live = new ArrayList<>(this.idsByCode.size() - 1);
+            for (SwiftCodeEntry document : this.documents) {
+                if (document != null && document != this.documents[id]) {
+                    live.add(document);
+                }
+            }
+            return of(live);
+        }
+        SwiftCodeEntry[] documents = this.documents.clone();
+        documents[id] = null;
+        String[] bankNames = this.bankNames.clone();
+        bankNames[id] = null;
+        Map<String, Integer> idsByCode = new HashMap<>(this.idsByCode);
+        idsByCode.remove(swiftCode);
+
+        LongObjectHashMap<int[]> postings = this.postings.copy();
+        for (long trigram : trigrams(documentText(this.documents[id]))) {
+            int[] list = postings.get(trigram);
+            int position = Arrays.binarySearch(list, id);
+            if (list.length == 1) {
+                postings.remove(trigram);
+            } else {
+                int[] shrunk = new int[list.length - 1];
+                System.arraycopy(list, 0, shrunk, 0, position);
+                System.arraycopy(list, position + 1, shrunk, position, shrunk.length - position);
+                postings.put(trigram, shrunk);
+            }
+        }
+        return new TrigramIndex(postings, documents, bankNames, Collections.unmodifiableMap(idsByCode));
+    }
+
+    /**
+     * Distinct trigram keys of {@code text}, in no particular order.
+     */
+    static long[] trigrams(String text) {
+        if (text == null || text.isEmpty()) {
+            return new long[0];
+        }
+        LongObjectHashMap<Boolean> seen = new LongObjectHashMap<>(text.length() + 8);
+        StringBuilder word = new StringBuilder("  ");
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? Character.toUpperCase(text.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (word.length() > 2) {
+                word.append(' ');
+                for (int j = 0; j + 3 <= word.length(); j++) {
+                    seen.put(((long) word.charAt(j) << 32) | ((long) word.charAt(j + 1) << 16) | word.charAt(j + 2), Boolean.TRUE);
+                }
+                word.setLength(2);
+            }
+        }
+        long[] keys = new long[seen.size()];
+        int[] index = {0};
+        seen.forEachKey(key -> keys[index[0]++] = key);
+        return keys;
+    }
+
+    private static String documentText(SwiftCodeEntry entry) {
+        return Objects.toString(entry.getBankName(), "") + ' '
+                + Objects.toString(entry.getTownName(), "") + ' '
+                + Objects.toString(entry.getAddress(), "");
+    }
+
+    public record Hit(SwiftCodeEntry entry, double score, boolean bankNameMatch) {
+
+        static final Comparator<Hit> RANKING = Comparator
+                .comparingDouble(Hit::score).reversed()
+                .thenComparing(Hit::bankNameMatch, Comparator.reverseOrder())
+                .thenComparing(hit -> hit.entry().getSwiftCode());
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
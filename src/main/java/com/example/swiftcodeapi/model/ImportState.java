@@ -0,0 +1,38 @@
+package com.example.swiftcodeapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * What the last successful import of a source read: a checksum over the contents of its files, and how many
+ * rows they held. The configured files and uploads are separate sources, so each is compared with its own
+ * last import.
+ */
+@Entity
+@Table(name = "import_state")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportState {
+
+    /** Source of the files in {@code swiftcode.import.filepath}. */
+    public static final String CONFIGURED_SOURCE = "swift-codes";
+    /** Source of the last uploaded file. */
+    public static final String UPLOAD_SOURCE = "upload";
+
+    @Id
+    @Column(name = "source", nullable = false, length = 64)
+    private String source;
+
+    @Column(name = "checksum", nullable = false, length = 64)
+    private String checksum;
+
+    @Column(name = "row_count", nullable = false)
+    private int rowCount;
+
+    @Column(name = "imported_at", nullable = false)
+    private Instant importedAt;
+}
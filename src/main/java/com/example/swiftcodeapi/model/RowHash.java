@@ -0,0 +1,52 @@
+package com.example.swiftcodeapi.model;
+
+/**
+ * 64-bit FNV-1a hash over every column of a SWIFT code row. A separator follows each value, so moving text
+ * between adjacent columns changes the hash, and a null value hashes differently from an empty one.
+ * <p>
+ * The importer stores it per row to tell whether a later import changes the row, so its value must not change
+ * for an unchanged row: a new column is appended to {@link #of(SwiftCode)} and {@link #of(SwiftCodeEntry)}
+ * alike, and shifts every stored hash once.
+ */
+public final class RowHash {
+
+    public static final long OFFSET = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private RowHash() {
+    }
+
+    public static long of(SwiftCode code) {
+        return columns(code.getSwiftCode(), code.getBankName(), code.getAddress(), code.getCodeType(),
+                code.getTownName(), code.getCountryISO2(), code.getCountryName(),
+                Boolean.toString(code.isHeadquarter()), code.getHeadquarterCode(), code.getTimeZone());
+    }
+
+    public static long of(SwiftCodeEntry entry) {
+        return columns(entry.getSwiftCode(), entry.getBankName(), entry.getAddress(), entry.getCodeType(),
+                entry.getTownName(), entry.getCountryISO2(), entry.getCountryName(),
+                Boolean.toString(entry.isHeadquarter()), entry.getHeadquarterCode(), entry.getTimeZone());
+    }
+
+    /**
+     * Continues {@code hash} with {@code value} and a separator.
+     */
+    public static long append(long hash, String value) {
+        if (value == null) {
+            hash = (hash ^ 0xFFFF) * PRIME;
+        } else {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * PRIME;
+            }
+        }
+        return (hash ^ 0xFFFE) * PRIME;
+    }
+
+    private static long columns(String... values) {
+        long hash = OFFSET;
+        for (String value : values) {
+            hash = append(hash, value);
+        }
+        return hash;
+    }
+}
@@ -3,9 +3,6 @@ package com.example.swiftcodeapi.model;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Entity
 @Table(name = "swift_codes")
 @Getter
@@ -47,8 +44,8 @@ public class SwiftCode {
     @Column(name = "time_zone")
     private String timeZone;
 
-    @OneToMany(mappedBy = "headquarterCode", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @ToString.Exclude
-    private List<SwiftCode> branches = new ArrayList<>();
+    /** Hash of the row as last imported from the directory file; null for codes added through the API. */
+    @Column(name = "row_hash")
+    private Long rowHash;
 
 }
@@ -0,0 +1,40 @@
+package com.example.swiftcodeapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable, persistence-free copy of a {@link SwiftCode} row, used by the in-memory read path and as the
+ * constructor projection of repository read queries, which is why the all-args constructor is public.
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class SwiftCodeEntry {
+    String swiftCode;
+    String bankName;
+    String address;
+    String codeType;
+    String townName;
+    String countryISO2;
+    String countryName;
+    boolean isHeadquarter;
+    String headquarterCode;
+    String timeZone;
+
+    public static SwiftCodeEntry from(SwiftCode code) {
+        return SwiftCodeEntry.builder()
+                .swiftCode(code.getSwiftCode())
+                .bankName(code.getBankName())
+                .address(code.getAddress())
+                .codeType(code.getCodeType())
+                .townName(code.getTownName())
+                .countryISO2(code.getCountryISO2())
+                .countryName(code.getCountryName())
+                .isHeadquarter(code.isHeadquarter())
+                .headquarterCode(code.getHeadquarterCode())
+                .timeZone(code.getTimeZone())
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.swiftcodeapi.repository;
+
+import com.example.swiftcodeapi.model.ImportState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ImportStateRepository extends JpaRepository<ImportState, String> {
+
+    /**
+     * The import the table's rows came from: the latest of the configured files' and the last upload's.
+     */
+    Optional<ImportState> findFirstByOrderByImportedAtDesc();
+}
@@ -0,0 +1,44 @@
+package com.example.swiftcodeapi.repository;
+
+import com.example.swiftcodeapi.dtos.SwiftCodeDetailDto;
+import com.example.swiftcodeapi.model.SwiftCode;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Plain-JDBC statements mixed into {@link SwiftCodeRepository} for reads and bulk writes that should not go
+ * through the persistence context.
+ */
+public interface SwiftCodeJdbcRepository {
+
+    /**
+     * Streams the codes of a country in SWIFT code order from a forward-only cursor, handing each row to
+     * {@code consumer} as it is read. Nothing is accumulated, so memory use does not depend on the country size.
+     */
+    void streamByCountryISO2(String countryISO2, Consumer<SwiftCodeDetailDto> consumer);
+
+    /**
+     * Inserts new rows without loading or merging entities: with {@code COPY ... FROM STDIN} on PostgreSQL,
+     * as one JDBC batch elsewhere. Joins the caller's transaction. Codes must not exist yet.
+     */
+    void bulkInsert(List<SwiftCode> swiftCodes);
+
+    /**
+     * Overwrites every column of existing rows, including the row hash, as one JDBC batch. Joins the caller's
+     * transaction.
+     */
+    void bulkUpdate(List<SwiftCode> swiftCodes);
+
+    /**
+     * Deletes rows by code as one JDBC batch. Joins the caller's transaction.
+     */
+    void bulkDelete(Collection<String> swiftCodes);
+
+    /**
+     * The row hash of every code in the table, null for codes that were not imported.
+     */
+    Map<String, Long> findRowHashes();
+}
@@ -0,0 +1,192 @@
+package com.example.swiftcodeapi.repository;
+
+import com.example.swiftcodeapi.dtos.SwiftCodeDetailDto;
+import com.example.swiftcodeapi.model.SwiftCode;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+class SwiftCodeJdbcRepositoryImpl implements SwiftCodeJdbcRepository {
+
+    private static final String SELECT_BY_COUNTRY =
+            "SELECT swift_code, bank_name, address, country_iso2, is_headquarter FROM swift_codes "
+                    + "WHERE country_iso2 = ? ORDER BY swift_code";
+
+    private static final String INSERT_COLUMNS = "swift_code, bank_name, address, code_type, town_name, "
+            + "country_iso2, country_name, is_headquarter, headquarter_code, time_zone, row_hash";
+
+    private static final String COPY_IN = "COPY swift_codes (" + INSERT_COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT = "INSERT INTO swift_codes (" + INSERT_COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE = "UPDATE swift_codes SET bank_name = ?, address = ?, code_type = ?, "
+            + "town_name = ?, country_iso2 = ?, country_name = ?, is_headquarter = ?, headquarter_code = ?, "
+            + "time_zone = ?, row_hash = ? WHERE swift_code = ?";
+
+    private static final String DELETE = "DELETE FROM swift_codes WHERE swift_code = ?";
+
+    private static final String SELECT_ROW_HASHES = "SELECT swift_code, row_hash FROM swift_codes";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${swiftcode.stream.fetch-size:500}")
+    private int fetchSize;
+
+    // The PostgreSQL driver only honours the fetch size, instead of buffering the whole result,
+    // when auto-commit is off, hence the read-only transaction.
+    @Override
+    @Transactional(readOnly = true)
+    public void streamByCountryISO2(String countryISO2, Consumer<SwiftCodeDetailDto> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SELECT_BY_COUNTRY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setString(1, countryISO2);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(SwiftCodeDetailDto.builder()
+                .swiftCode(rs.getString(1))
+                .bankName(rs.getString(2))
+                .address(rs.getString(3))
+                .countryISO2(rs.getString(4))
+                .isHeadquarter(rs.getBoolean(5))
+                .build()));
+    }
+
+    @Override
+    @Transactional
+    public void bulkInsert(List<SwiftCode> swiftCodes) {
+        if (swiftCodes.isEmpty()) {
+            return;
+        }
+        boolean copied = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return false;
+            }
+            copyIn(connection.unwrap(PGConnection.class), swiftCodes);
+            return true;
+        }));
+        if (!copied) {
+            jdbcTemplate.batchUpdate(INSERT, swiftCodes, swiftCodes.size(), (statement, code) -> {
+                statement.setString(1, code.getSwiftCode());
+                setColumns(statement, 2, code);
+            });
+        }
+    }
+
+    @Override
+    @Transactional
+    public void bulkUpdate(List<SwiftCode> swiftCodes) {
+        if (swiftCodes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE, swiftCodes, swiftCodes.size(), (statement, code) -> {
+            setColumns(statement, 1, code);
+            statement.setString(11, code.getSwiftCode());
+        });
+    }
+
+    @Override
+    @Transactional
+    public void bulkDelete(Collection<String> swiftCodes) {
+        if (swiftCodes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE, new ArrayList<>(swiftCodes), swiftCodes.size(),
+                (statement, code) -> statement.setString(1, code));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> findRowHashes() {
+        Map<String, Long> hashes = new HashMap<>();
+        jdbcTemplate.query(SELECT_ROW_HASHES, (RowCallbackHandler) rs -> {
+            String code = rs.getString(1);
+            long hash = rs.getLong(2);
+            hashes.put(code, rs.wasNull() ? null : hash);
+        });
+        return hashes;
+    }
+
+    /**
+     * Binds every column but the code, in {@link #INSERT_COLUMNS} order, from {@code index} on.
+     */
+    private static void setColumns(PreparedStatement statement, int index, SwiftCode code) throws SQLException {
+        statement.setString(index, code.getBankName());
+        statement.setString(index + 1, code.getAddress());
+        statement.setString(index + 2, code.getCodeType());
+        statement.setString(index + 3, code.getTownName());
+        statement.setString(index + 4, code.getCountryISO2());
+        statement.setString(index + 5, code.getCountryName());
+        statement.setBoolean(index + 6, code.isHeadquarter());
+        statement.setString(index + 7, code.getHeadquarterCode());
+        statement.setString(index + 8, code.getTimeZone());
+        if (code.getRowHash() != null) {
+            statement.setLong(index + 9, code.getRowHash());
+        } else {
+            statement.setNull(index + 9, Types.BIGINT);
+        }
+    }
+
+    private static void copyIn(PGConnection connection, List<SwiftCode> swiftCodes) throws SQLException {
+        StringBuilder csv = new StringBuilder(swiftCodes.size() * 160);
+        for (SwiftCode code : swiftCodes) {
+            appendCsv(csv, code.getSwiftCode()).append(',');
+            appendCsv(csv, code.getBankName()).append(',');
+            appendCsv(csv, code.getAddress()).append(',');
+            appendCsv(csv, code.getCodeType()).append(',');
+            appendCsv(csv, code.getTownName()).append(',');
+            appendCsv(csv, code.getCountryISO2()).append(',');
+            appendCsv(csv, code.getCountryName()).append(',');
+            csv.append(code.isHeadquarter() ? 't' : 'f').append(',');
+            appendCsv(csv, code.getHeadquarterCode()).append(',');
+            appendCsv(csv, code.getTimeZone()).append(',');
+            if (code.getRowHash() != null) {
+                csv.append(code.getRowHash());
+            }
+            csv.append('\n');
+        }
+        try {
+            connection.getCopyAPI().copyIn(COPY_IN, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY into swift_codes failed", e);
+        }
+    }
+
+    /**
+     * Appends a CSV field as COPY reads it: null as nothing, anything else quoted, so that an empty string
+     * stays distinct from NULL.
+     */
+    static StringBuilder appendCsv(StringBuilder csv, String value) {
+        if (value == null) {
+            return csv;
+        }
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+}
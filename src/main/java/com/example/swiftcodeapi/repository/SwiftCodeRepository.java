@@ -1,20 +1,67 @@
 package com.example.swiftcodeapi.repository;
 
 import com.example.swiftcodeapi.model.SwiftCode;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Read queries return {@link SwiftCodeEntry} constructor projections rather than managed entities, so they
+ * bypass the persistence context: no entity instances, no dirty-checking snapshots, and only mapped columns
+ * are selected. Entities are loaded only where they are written or deleted.
+ */
 @Repository
-public interface SwiftCodeRepository extends JpaRepository<SwiftCode, String> {
+public interface SwiftCodeRepository extends JpaRepository<SwiftCode, String>, SwiftCodeJdbcRepository {
+
+    String SELECT_ENTRY = "SELECT new com.example.swiftcodeapi.model.SwiftCodeEntry(s.swiftCode, s.bankName, s.address, "
+            + "s.codeType, s.townName, s.countryISO2, s.countryName, s.isHeadquarter, s.headquarterCode, s.timeZone) "
+            + "FROM SwiftCode s ";
 
     List<SwiftCode> findByCountryISO2(String countryISO2);
 
+    @Query(SELECT_ENTRY + "WHERE s.countryISO2 = ?1 ORDER BY s.swiftCode")
+    List<SwiftCodeEntry> findEntriesByCountryISO2(String countryISO2);
+
+    boolean existsByCountryISO2(String countryISO2);
+
     @Query("SELECT s FROM SwiftCode s WHERE s.headquarterCode = ?1")
     List<SwiftCode> findBranchesByHeadquarterCode(String headquarterCode);
 
     Optional<SwiftCode> findBySwiftCode(String swiftCode);
+
+    @Query(SELECT_ENTRY + "WHERE s.swiftCode = ?1")
+    Optional<SwiftCodeEntry> findEntryBySwiftCode(String swiftCode);
+
+    /**
+     * One keyset page of a country: codes after {@code after} in code order, read as a range of the
+     * {@code (country_iso2, swift_code)} index.
+     */
+    @Query(SELECT_ENTRY + "WHERE s.countryISO2 = ?1 AND s.swiftCode > ?2 ORDER BY s.swiftCode")
+    List<SwiftCodeEntry> findByCountryISO2After(String countryISO2, String after, Limit limit);
+
+    /**
+     * One keyset page of a headquarter's branches, read as a range of the {@code (headquarter_code, swift_code)}
+     * index.
+     */
+    @Query(SELECT_ENTRY + "WHERE s.headquarterCode = ?1 AND s.swiftCode > ?2 AND s.swiftCode <> ?1 ORDER BY s.swiftCode")
+    List<SwiftCodeEntry> findBranchesByHeadquarterCodeAfter(String headquarterCode, String after, Limit limit);
+
+    /**
+     * Loads a code together with the branches that reference it as their headquarter, in one query.
+     */
+    @Query(SELECT_ENTRY + "WHERE s.swiftCode = ?1 OR s.headquarterCode = ?1 ORDER BY s.swiftCode")
+    List<SwiftCodeEntry> findWithBranchesBySwiftCode(String swiftCode);
+
+    /**
+     * Set-based variant of {@link #findWithBranchesBySwiftCode(String)}: the requested codes plus every branch
+     * of a requested headquarter.
+     */
+    @Query(SELECT_ENTRY + "WHERE s.swiftCode IN ?1 OR s.headquarterCode IN ?1 ORDER BY s.swiftCode")
+    List<SwiftCodeEntry> findWithBranchesBySwiftCodeIn(Collection<String> swiftCodes);
 }
@@ -0,0 +1,52 @@
+package com.example.swiftcodeapi.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes a country listing as newline-delimited JSON, one {@code SwiftCodeDetailDto} per line, while the rows
+ * are still being read. The first line is flushed immediately; after that Jackson's buffer decides when bytes
+ * reach the client.
+ */
+@Component
+@RequiredArgsConstructor
+public class CountryNdjsonWriter {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    private final SwiftCodeService swiftCodeService;
+    private final ObjectMapper objectMapper;
+
+    public void write(String countryISO2, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            boolean[] first = {true};
+            try {
+                swiftCodeService.streamSwiftCodesByCountry(countryISO2, code -> {
+                    try {
+                        generator.writeObject(code);
+                        generator.writeRaw('\n');
+                        if (first[0]) {
+                            generator.flush();
+                            first[0] = false;
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
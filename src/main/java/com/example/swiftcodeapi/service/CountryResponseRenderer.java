@@ -0,0 +1,102 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.dtos.CountrySwiftCodesResponseDto;
+import com.example.swiftcodeapi.event.SwiftCodeChangedEvent;
+import com.example.swiftcodeapi.event.SwiftCodesImportedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the country listing response pre-serialized as UTF-8 JSON and gzip bytes, so the controller can write
+ * it without DTO mapping or Jackson. A country is rendered on first request and re-rendered only after a
+ * committed write touches that country; concurrent first requests for the same country render it once.
+ * <p>
+ * The map holds a future per country rather than the bytes, so the query, serialization and gzip run on the
+ * requesting thread outside the map's bin lock: a slow render blocks only the requests waiting for that same
+ * country, never requests or invalidations of other countries that hash to the same bin.
+ */
+@Component
+@RequiredArgsConstructor
+public class CountryResponseRenderer {
+
+    private final SwiftCodeService swiftCodeService;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentMap<String, CompletableFuture<RenderedCountry>> rendered = new ConcurrentHashMap<>();
+
+    public RenderedCountry render(String countryISO2) {
+        String key = countryISO2.toUpperCase();
+        CompletableFuture<RenderedCountry> future = rendered.get(key);
+        if (future == null) {
+            CompletableFuture<RenderedCountry> created = new CompletableFuture<>();
+            future = rendered.putIfAbsent(key, created);
+            if (future == null) {
+                try {
+                    created.complete(renderNow(key));
+                } catch (RuntimeException e) {
+                    // Not cached: the next request retries, and the ones already waiting see the same error.
+                    rendered.remove(key, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+                return created.join();
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    // Runs after SwiftCodeCacheInvalidator so a re-render cannot pick up the evicted DTO,
+    // and before DatasetVersions so a new ETag is never paired with old bytes.
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public void onChanged(SwiftCodeChangedEvent event) {
+        rendered.remove(event.entry().getCountryISO2());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public void onImported(SwiftCodesImportedEvent event) {
+        rendered.clear();
+    }
+
+    private RenderedCountry renderNow(String countryISO2) {
+        CountrySwiftCodesResponseDto response = swiftCodeService.getSwiftCodesByCountry(countryISO2);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            return new RenderedCountry(json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render swift codes for country: " + countryISO2, e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public record RenderedCountry(byte[] json, byte[] gzip) {
+    }
+}
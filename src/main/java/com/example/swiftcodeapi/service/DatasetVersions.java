@@ -0,0 +1,190 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.event.SwiftCodeChangedEvent;
+import com.example.swiftcodeapi.event.SwiftCodesImportedEvent;
+import com.example.swiftcodeapi.index.SwiftCodeDataset;
+import com.example.swiftcodeapi.index.SwiftCodeSnapshotHolder;
+import com.example.swiftcodeapi.model.RowHash;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dataset versions used as HTTP validators. A version is a fingerprint of content, not a counter: a country's
+ * version is the order-independent sum of a 64-bit hash of each of its rows, taken from the in-memory dataset
+ * of {@link SwiftCodeSnapshotHolder}, and the global version is the sum over all countries. Replicas serving
+ * the same data, and the same instance after a restart, therefore hand out the same ETags, and a country's
+ * version (and the version of every SWIFT code in it) only moves when its rows do.
+ * <p>
+ * A committed add or delete recomputes the countries it touched from their rows; an import recomputes them
+ * all. Until the dataset is first loaded there is nothing to fingerprint, so the ETags fall back to a token
+ * chosen at startup plus a count of the changes seen since.
+ * <p>
+ * Versions are updated by the last after-commit listener, once the snapshot, caches and pre-rendered responses
+ * already reflect the change, so a response can never be served under a newer version than its content.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatasetVersions {
+
+    private final SwiftCodeSnapshotHolder snapshotHolder;
+
+    private final String bootId = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong changesBeforeLoad = new AtomicLong();
+    private final ConcurrentMap<String, Long> countries = new ConcurrentHashMap<>();
+    private volatile long global;
+    private volatile boolean loaded;
+
+    @PostConstruct
+    void fingerprintLoadedDataset() {
+        // A mapped snapshot file is loaded before any import event, and in the edge profile no event ever comes.
+        if (snapshotHolder.isLoaded()) {
+            recomputeAll();
+        }
+    }
+
+    public long global() {
+        return loaded ? global : changesBeforeLoad.get();
+    }
+
+    public long country(String countryISO2) {
+        return loaded ? countries.getOrDefault(countryISO2.toUpperCase(), 0L) : changesBeforeLoad.get();
+    }
+
+    /**
+     * Version of a SWIFT code and its branches, tracked through the country embedded at positions 5-6 and,
+     * when the code is filed under another country, that one too.
+     */
+    public long swiftCode(String swiftCode) {
+        if (swiftCode.length() < 6) {
+            return global();
+        }
+        String embedded = swiftCode.substring(4, 6).toUpperCase();
+        long version = country(embedded);
+        String filed = loaded ? snapshotHolder.current().find(swiftCode).map(SwiftCodeEntry::getCountryISO2).orElse(null) : null;
+        return filed == null || filed.equalsIgnoreCase(embedded) ? version : version * 31 + country(filed);
+    }
+
+    /**
+     * ETag of a response computed from the whole dataset; {@code parameters} are the request parameters the
+     * response depends on, so different queries never share a validator.
+     */
+    public String globalETag(String variant, Object... parameters) {
+        long hash = RowHash.OFFSET;
+        for (Object parameter : parameters) {
+            hash = RowHash.append(hash, Objects.toString(parameter, null));
+        }
+        return etag(variant + Long.toUnsignedString(hash, 36), global());
+    }
+
+    public String countryETag(String countryISO2, String variant) {
+        return etag(variant, country(countryISO2));
+    }
+
+    public String swiftCodeETag(String swiftCode, String variant) {
+        return etag(variant, swiftCode(swiftCode));
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header value matches {@code etag}, using the weak comparison
+     * RFC 9110 prescribes for that header. {@code *} matches only a representation that exists, which is not
+     * known before the lookup, so it never matches here and the request is answered normally.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public synchronized void onChanged(SwiftCodeChangedEvent event) {
+        if (!loaded) {
+            if (snapshotHolder.isLoaded()) {
+                recomputeAll();
+            } else {
+                changesBeforeLoad.incrementAndGet();
+            }
+            return;
+        }
+        SwiftCodeDataset dataset = snapshotHolder.current();
+        recompute(dataset, event.entry().getCountryISO2().toUpperCase());
+        if (event.swiftCode().length() >= 6) {
+            recompute(dataset, event.swiftCode().substring(4, 6).toUpperCase());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public synchronized void onImported(SwiftCodesImportedEvent event) {
+        if (snapshotHolder.isLoaded()) {
+            recomputeAll();
+        } else {
+            changesBeforeLoad.incrementAndGet();
+        }
+    }
+
+    private void recomputeAll() {
+        Map<String, Long> fingerprints = new HashMap<>();
+        for (SwiftCodeEntry entry : snapshotHolder.current().entries()) {
+            fingerprints.merge(entry.getCountryISO2().toUpperCase(), hash(entry), Long::sum);
+        }
+        countries.keySet().retainAll(fingerprints.keySet());
+        countries.putAll(fingerprints);
+        long sum = 0;
+        for (long fingerprint : fingerprints.values()) {
+            sum += fingerprint;
+        }
+        global = sum;
+        loaded = true;
+    }
+
+    private void recompute(SwiftCodeDataset dataset, String countryISO2) {
+        long fingerprint = 0;
+        for (SwiftCodeEntry entry : dataset.findByCountry(countryISO2)) {
+            fingerprint += hash(entry);
+        }
+        Long previous = fingerprint == 0 ? countries.remove(countryISO2) : countries.put(countryISO2, fingerprint);
+        global += fingerprint - (previous == null ? 0 : previous);
+    }
+
+    /**
+     * The importer's {@link RowHash}, finished with the MurmurHash3 mixer so that sums of row hashes do not
+     * cancel out along FNV's low bits.
+     */
+    static long hash(SwiftCodeEntry entry) {
+        long hash = RowHash.of(entry);
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private String etag(String variant, long version) {
+        String token = loaded ? "" : bootId + "-";
+        return "\"" + token + variant + "-" + Long.toUnsignedString(version, 36) + "\"";
+    }
+}
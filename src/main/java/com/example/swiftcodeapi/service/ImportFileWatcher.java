@@ -0,0 +1,123 @@
+package com.example.swiftcodeapi.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * With {@code swiftcode.import.watch.enabled}, watches the directories of the {@code swiftcode.import.filepath}
+ * files and asks {@link SwiftCodeImportRunner#reload()} to re-import once one of them is created or replaced.
+ * Files are usually copied in several writes, so the reload only starts after the files have been quiet for
+ * {@code swiftcode.import.watch.debounce}; every further event restarts the wait. A half-written file that still
+ * slips through fails to parse, which rolls the reload back and keeps the previous data, and the next write
+ * triggers another attempt.
+ */
+@Component
+@Profile("!edge")
+@Slf4j
+public class ImportFileWatcher {
+
+    private final SwiftCodeImportRunner importRunner;
+    private final String filePaths;
+    private final boolean enabled;
+    private final Duration debounce;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            new CustomizableThreadFactory("swift-import-watcher-"));
+
+    private WatchService watchService;
+    private ScheduledFuture<?> pendingReload;
+
+    public ImportFileWatcher(SwiftCodeImportRunner importRunner,
+                             @Value("${swiftcode.import.filepath}") String filePaths,
+                             @Value("${swiftcode.import.watch.enabled:false}") boolean enabled,
+                             @Value("${swiftcode.import.watch.debounce:5s}") Duration debounce) {
+        this.importRunner = importRunner;
+        this.filePaths = filePaths;
+        this.enabled = enabled;
+        this.debounce = debounce;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Map<Path, Set<Path>> watched = new HashMap<>();
+        for (File file : ExcelParserService.sourceFiles(filePaths)) {
+            Path path = file.toPath().toAbsolutePath().normalize();
+            watched.computeIfAbsent(path.getParent(), directory -> new HashSet<>()).add(path.getFileName());
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path directory : watched.keySet()) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+        Thread thread = new Thread(() -> watch(watched), "swift-import-watch");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Watching {} for Swift Codes file changes, debounce {}", watched.keySet(), debounce);
+    }
+
+    private void watch(Map<Path, Set<Path>> watched) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Set<Path> names = watched.getOrDefault((Path) key.watchable(), Set.of());
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    // On overflow the events are lost, so any of the files may have changed.
+                    changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || names.contains((Path) event.context());
+                }
+                key.reset();
+                if (changed) {
+                    scheduleReload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Shutting down.
+        }
+    }
+
+    private synchronized void scheduleReload() {
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        pendingReload = scheduler.schedule(() -> {
+            log.info("Swift Codes file changed, reloading");
+            importRunner.reload();
+        }, debounce.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        scheduler.shutdownNow();
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.swiftcodeapi.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the startup import as the {@code import} health component, which the readiness group includes, so
+ * {@code /actuator/health/readiness} answers 503 until {@link SwiftCodeImportRunner#isServable()}: out of
+ * service while it is pending or running, down if it failed with nothing to serve.
+ */
+@Component
+@Profile("!edge")
+@RequiredArgsConstructor
+public class ImportHealthIndicator implements HealthIndicator {
+
+    private final SwiftCodeImportRunner importRunner;
+
+    @Override
+    public Health health() {
+        SwiftCodeImportRunner.Status status = importRunner.getStatus();
+        Health.Builder health;
+        if (importRunner.isServable()) {
+            health = Health.up();
+        } else if (status == SwiftCodeImportRunner.Status.FAILED) {
+            health = Health.down();
+        } else {
+            health = Health.outOfService();
+        }
+        health.withDetail("status", status);
+        if (importRunner.getStartedAt() != null) {
+            health.withDetail("startedAt", importRunner.getStartedAt());
+        }
+        if (importRunner.getFinishedAt() != null) {
+            health.withDetail("finishedAt", importRunner.getFinishedAt());
+        }
+        if (importRunner.getReloadedAt() != null) {
+            health.withDetail("reloadedAt", importRunner.getReloadedAt());
+        }
+        if (importRunner.getFailure() != null) {
+            health.withDetail("failure", importRunner.getFailure());
+        }
+        return health.build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.importer.ImportProgress;
+import lombok.Getter;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One import of an uploaded file, queued on {@link SwiftCodeImportRunner}: its id, the file it reads, its
+ * status and row counts while it runs, and how it ended.
+ */
+@Getter
+public class ImportJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final String fileName;
+    private final File file;
+    private final ImportProgress progress = new ImportProgress();
+    private final Instant submittedAt = Instant.now();
+
+    private volatile SwiftCodeImportRunner.Status status = SwiftCodeImportRunner.Status.PENDING;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String failure;
+
+    ImportJob(String fileName, File file) {
+        this.fileName = fileName;
+        this.file = file;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        status = SwiftCodeImportRunner.Status.RUNNING;
+    }
+
+    void finished(Exception failure) {
+        finishedAt = Instant.now();
+        this.failure = failure != null ? failure.toString() : null;
+        status = failure != null ? SwiftCodeImportRunner.Status.FAILED : SwiftCodeImportRunner.Status.DONE;
+    }
+}
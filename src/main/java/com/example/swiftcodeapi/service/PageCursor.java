@@ -0,0 +1,40 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the URL-safe Base64 of the last SWIFT code on a page. The next page starts after
+ * that code, so a page costs one index range scan however deep the client has paged.
+ */
+final class PageCursor {
+
+    private static final int MAX_CODE_LENGTH = 11;
+
+    private PageCursor() {
+    }
+
+    static String encode(String lastSwiftCode) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastSwiftCode.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the SWIFT code to continue after, or {@code ""} (sorts before every code) when there is no cursor.
+     */
+    static String decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return "";
+        }
+        try {
+            String swiftCode = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!swiftCode.isEmpty() && swiftCode.length() <= MAX_CODE_LENGTH) {
+                return swiftCode;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // fall through to the error below
+        }
+        throw new BadRequestException("Invalid page cursor: " + cursor);
+    }
+}
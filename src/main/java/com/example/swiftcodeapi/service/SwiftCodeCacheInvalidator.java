@@ -0,0 +1,53 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.config.CacheConfig;
+import com.example.swiftcodeapi.event.SwiftCodeChangedEvent;
+import com.example.swiftcodeapi.event.SwiftCodesImportedEvent;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached responses affected by a committed write: the code itself, the headquarter entry that lists
+ * it as a branch, and its country listing. An import clears both caches.
+ */
+@Component
+@RequiredArgsConstructor
+public class SwiftCodeCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onChanged(SwiftCodeChangedEvent event) {
+        SwiftCodeEntry entry = event.entry();
+        Cache details = cacheManager.getCache(CacheConfig.SWIFT_CODE_DETAILS);
+        Cache countries = cacheManager.getCache(CacheConfig.COUNTRY_SWIFT_CODES);
+
+        if (details != null) {
+            details.evict(entry.getSwiftCode());
+            if (!entry.isHeadquarter() && entry.getSwiftCode().length() >= 8) {
+                details.evict(entry.getSwiftCode().substring(0, 8) + "XXX");
+            }
+        }
+        if (countries != null) {
+            countries.evict(entry.getCountryISO2());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onImported(SwiftCodesImportedEvent event) {
+        cacheManager.getCacheNames().forEach(name -> {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.event.SwiftCodesImportedEvent;
+import com.example.swiftcodeapi.repository.SwiftCodeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs {@link ExcelParserService#importSwiftCodes()} on a background thread once the application is ready,
+ * so startup does not wait for it, and tracks it through {@link Status}: {@code PENDING} until then,
+ * {@code RUNNING}, and finally {@code DONE} or {@code FAILED}. Either way {@link SwiftCodesImportedEvent} is
+ * published after the import transaction has ended, so the in-memory read structures are rebuilt from what
+ * was committed, before the final status is set.
+ * <p>
+ * {@link #isServable()} tells the {@code import} health indicator, part of the readiness group, whether
+ * traffic should be routed here yet. With {@code swiftcode.import.serve-existing-data} (the default) a
+ * database that already held codes when the import started is served while it runs; otherwise, and always for
+ * an empty database, only once it is done. After a failed import whatever was there before is served.
+ * <p>
+ * The snapshot, suggestion and search indexes and the Bloom filter are only built on
+ * {@link SwiftCodesImportedEvent}, so before serving existing data the runner publishes it once over those rows
+ * (or the snapshot file of their import) and reports ready only if that load succeeded. The event after the
+ * import is then only published when the import changed rows.
+ * <p>
+ * {@link #reload()} re-imports on the same thread after the files changed. The status is left alone, so the
+ * previous data keeps being served until the new import commits, and the event is only published when the
+ * import actually changed rows; a failed reload rolls back and leaves the served data as it was. Requests
+ * arriving while a reload is queued are folded into it.
+ * <p>
+ * {@link #submit} queues the import of an uploaded file the same way, as an {@link ImportJob} that can be
+ * looked up by id while it runs and for a while after; the last {@value #MAX_JOBS} jobs are kept.
+ */
+@Component
+@Profile("!edge")
+@Slf4j
+public class SwiftCodeImportRunner {
+
+    public enum Status { PENDING, RUNNING, DONE, FAILED }
+
+    static final int MAX_JOBS = 20;
+
+    private final ExcelParserService excelParserService;
+    private final SwiftCodeRepository swiftCodeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean serveExistingData;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("swift-import-runner-"));
+    private final CompletableFuture<Status> completion = new CompletableFuture<>();
+    private final AtomicBoolean reloadQueued = new AtomicBoolean();
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_JOBS;
+        }
+    };
+
+    private volatile Status status = Status.PENDING;
+    private volatile boolean hadData;
+    private volatile boolean preloaded;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String failure;
+    private volatile Instant reloadedAt;
+
+    public SwiftCodeImportRunner(ExcelParserService excelParserService,
+                                 SwiftCodeRepository swiftCodeRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${swiftcode.import.serve-existing-data:true}") boolean serveExistingData) {
+        this.excelParserService = excelParserService;
+        this.swiftCodeRepository = swiftCodeRepository;
+        this.eventPublisher = eventPublisher;
+        this.serveExistingData = serveExistingData;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(this::run);
+    }
+
+    void run() {
+        startedAt = Instant.now();
+        Status outcome = Status.DONE;
+        boolean changed = false;
+        try {
+            hadData = swiftCodeRepository.count() > 0;
+            if (hadData && serveExistingData) {
+                preload();
+            }
+            status = Status.RUNNING;
+            changed = excelParserService.importSwiftCodes();
+        } catch (Exception e) {
+            log.error("Error importing Swift Codes file", e);
+            failure = e.toString();
+            outcome = Status.FAILED;
+        }
+        // A failed import rolled back, so what was preloaded is still what the table holds.
+        if (!preloaded || changed) {
+            try {
+                eventPublisher.publishEvent(new SwiftCodesImportedEvent());
+            } catch (RuntimeException e) {
+                log.error("Error loading imported Swift Codes", e);
+                failure = e.toString();
+                outcome = Status.FAILED;
+            }
+        }
+        finishedAt = Instant.now();
+        status = outcome;
+        completion.complete(outcome);
+        log.info("Swift Codes import {} in {} ms", outcome, finishedAt.toEpochMilli() - startedAt.toEpochMilli());
+    }
+
+    /**
+     * Builds the in-memory read structures from the rows already in the table, so they can be served while the
+     * import runs.
+     */
+    private void preload() {
+        long start = System.nanoTime();
+        try {
+            eventPublisher.publishEvent(new SwiftCodesImportedEvent());
+            preloaded = true;
+            log.info("Loaded the existing Swift Codes in {} ms, serving them during the import",
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Error loading the existing Swift Codes, not serving them until the import is done", e);
+        }
+    }
+
+    /**
+     * Queues a re-import of the files behind the running import, unless one is already queued.
+     */
+    public void reload() {
+        if (reloadQueued.compareAndSet(false, true)) {
+            executor.execute(this::runReload);
+        }
+    }
+
+    void runReload() {
+        reloadQueued.set(false);
+        long start = System.nanoTime();
+        try {
+            if (excelParserService.importSwiftCodes()) {
+                eventPublisher.publishEvent(new SwiftCodesImportedEvent());
+                log.info("Reloaded changed Swift Codes in {} ms", (System.nanoTime() - start) / 1_000_000);
+            }
+            reloadedAt = Instant.now();
+            failure = null;
+        } catch (Exception e) {
+            log.error("Error reloading Swift Codes file, still serving the previous data", e);
+            failure = e.toString();
+        }
+    }
+
+    /**
+     * Queues the import of {@code file}, which is deleted once it has been read, and returns its job.
+     */
+    public ImportJob submit(String fileName, File file) {
+        ImportJob job = new ImportJob(fileName, file);
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+        executor.execute(() -> runJob(job));
+        return job;
+    }
+
+    public Optional<ImportJob> findJob(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    void runJob(ImportJob job) {
+        job.started();
+        Exception failure = null;
+        try {
+            if (excelParserService.importSwiftCodes(List.of(job.getFile()), job.getProgress())) {
+                eventPublisher.publishEvent(new SwiftCodesImportedEvent());
+            }
+        } catch (Exception e) {
+            log.error("Error importing uploaded Swift Codes file {}", job.getFileName(), e);
+            failure = e;
+        } finally {
+            try {
+                Files.deleteIfExists(job.getFile().toPath());
+            } catch (IOException e) {
+                log.warn("Could not delete uploaded Swift Codes file {}", job.getFile(), e);
+            }
+        }
+        job.finished(failure);
+        log.info("Import {} of uploaded file {} {}: {} rows parsed, {} written, {} rejected", job.getId(),
+                job.getFileName(), job.getStatus(), job.getProgress().getRowsParsed(),
+                job.getProgress().getRowsWritten(), job.getProgress().getRowsRejected());
+    }
+
+    /**
+     * Whether the data should be served: after the import, or during it when the policy allows serving the
+     * existing data and it has been loaded, or after a failed import if there is data at all.
+     */
+    public boolean isServable() {
+        return switch (status) {
+            case PENDING -> false;
+            case RUNNING -> preloaded;
+            case DONE -> true;
+            case FAILED -> hadData;
+        };
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public Instant getReloadedAt() {
+        return reloadedAt;
+    }
+
+    /**
+     * Completes with the final status once the import has finished.
+     */
+    public CompletableFuture<Status> completion() {
+        return completion;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.swiftcodeapi.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a batch lookup response as {@code {"found":[...],"notFound":[...]}} directly to the response stream.
+ * Found entries are serialized as soon as their chunk is resolved, so memory stays bounded by one chunk plus
+ * the list of missing codes, however many codes were requested.
+ */
+@Component
+@RequiredArgsConstructor
+public class SwiftCodeLookupWriter {
+
+    private final SwiftCodeService swiftCodeService;
+    private final ObjectMapper objectMapper;
+
+    public void write(List<String> swiftCodes, OutputStream out) throws IOException {
+        List<String> notFound = new ArrayList<>();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("found");
+            try {
+                swiftCodeService.lookup(swiftCodes, found -> {
+                    try {
+                        generator.writeObject(found);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, notFound::add);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("notFound");
+            for (String swiftCode : notFound) {
+                generator.writeString(swiftCode);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+}
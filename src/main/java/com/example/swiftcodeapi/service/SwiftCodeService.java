@@ -1,64 +1,87 @@
 package com.example.swiftcodeapi.service;
 
+import com.example.swiftcodeapi.config.CacheConfig;
+import com.example.swiftcodeapi.event.SwiftCodeChangedEvent;
 import com.example.swiftcodeapi.exception.ResourceNotFoundException;
+import com.example.swiftcodeapi.index.BicCodec;
+import com.example.swiftcodeapi.index.KnownSwiftCodeGuard;
+import com.example.swiftcodeapi.index.SwiftCodeDataset;
+import com.example.swiftcodeapi.index.SwiftCodeSnapshotHolder;
 import com.example.swiftcodeapi.model.SwiftCode;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
 import com.example.swiftcodeapi.repository.SwiftCodeRepository;
 import com.example.swiftcodeapi.dtos.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SwiftCodeService {
 
+    public static final int MAX_SUGGESTIONS = 50;
+    public static final int MAX_SEARCH_RESULTS = 100;
+    public static final int LOOKUP_CHUNK_SIZE = 1000;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /** Lazy: the edge profile serves everything from a mapped snapshot file and has no database. */
+    @Lazy
     private final SwiftCodeRepository swiftCodeRepository;
+    private final SwiftCodeSnapshotHolder snapshotHolder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KnownSwiftCodeGuard knownSwiftCodeGuard;
 
-    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SWIFT_CODE_DETAILS, key = "#swiftCode", sync = true)
     public SwiftCodeResponseDto getSwiftCodeDetails(String swiftCode) {
-        SwiftCode code = swiftCodeRepository.findBySwiftCode(swiftCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Swift code not found: " + swiftCode));
+        if (knownSwiftCodeGuard.isDefinitelyAbsent(swiftCode)) {
+            throw swiftCodeNotFound(swiftCode);
+        }
+        if (snapshotHolder.isServing()) {
+            SwiftCodeDataset snapshot = snapshotHolder.current();
+            SwiftCodeEntry code = snapshot.find(swiftCode)
+                    .orElseThrow(() -> falsePositive(swiftCode));
+            return toResponseDto(code, code.isHeadquarter() ? snapshot.findBranches(code.getSwiftCode()) : null);
+        }
+
+        List<SwiftCodeEntry> rows = swiftCodeRepository.findWithBranchesBySwiftCode(swiftCode);
+        SwiftCodeEntry code = rows.stream()
+                .filter(row -> row.getSwiftCode().equals(swiftCode))
+                .findFirst()
+                .orElseThrow(() -> falsePositive(swiftCode));
 
         if (code.isHeadquarter()) {
-            List<SwiftCode> branches = swiftCodeRepository.findBranchesByHeadquarterCode(code.getSwiftCode());
-
-            List<BranchDto> branchDtos = branches.stream()
-                    .map(branch -> BranchDto.builder()
-                            .address(branch.getAddress())
-                            .bankName(branch.getBankName())
-                            .countryISO2(branch.getCountryISO2())
-                            .isHeadquarter(false)
-                            .swiftCode(branch.getSwiftCode())
-                            .build())
+            List<SwiftCodeEntry> branches = rows.stream()
+                    .filter(row -> row != code)
                     .collect(Collectors.toList());
-
-            return SwiftCodeResponseDto.builder()
-                    .address(code.getAddress())
-                    .bankName(code.getBankName())
-                    .countryISO2(code.getCountryISO2())
-                    .countryName(code.getCountryName())
-                    .isHeadquarter(true)
-                    .swiftCode(code.getSwiftCode())
-                    .branches(branchDtos)
-                    .build();
-        } else {
-            return SwiftCodeResponseDto.builder()
-                    .address(code.getAddress())
-                    .bankName(code.getBankName())
-                    .countryISO2(code.getCountryISO2())
-                    .countryName(code.getCountryName())
-                    .isHeadquarter(false)
-                    .swiftCode(code.getSwiftCode())
-                    .build();
+            return toResponseDto(code, branches);
         }
+        return toResponseDto(code, null);
     }
 
-    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COUNTRY_SWIFT_CODES, key = "#countryISO2.toUpperCase()", sync = true)
     public CountrySwiftCodesResponseDto getSwiftCodesByCountry(String countryISO2) {
-        List<SwiftCode> swiftCodes = swiftCodeRepository.findByCountryISO2(countryISO2.toUpperCase());
+        List<SwiftCodeEntry> swiftCodes;
+        if (snapshotHolder.isServing()) {
+            swiftCodes = snapshotHolder.current().findByCountry(countryISO2.toUpperCase());
+        } else {
+            swiftCodes = swiftCodeRepository.findEntriesByCountryISO2(countryISO2.toUpperCase());
+        }
 
         if (swiftCodes.isEmpty()) {
             throw new ResourceNotFoundException("No swift codes found for country: " + countryISO2);
@@ -67,13 +90,7 @@ public class SwiftCodeService {
         String countryName = swiftCodes.get(0).getCountryName();
 
         List<SwiftCodeDetailDto> swiftCodeDetails = swiftCodes.stream()
-                .map(code -> SwiftCodeDetailDto.builder()
-                        .address(code.getAddress())
-                        .bankName(code.getBankName())
-                        .countryISO2(code.getCountryISO2())
-                        .isHeadquarter(code.isHeadquarter())
-                        .swiftCode(code.getSwiftCode())
-                        .build())
+                .map(this::toDetailDto)
                 .collect(Collectors.toList());
 
         return CountrySwiftCodesResponseDto.builder()
@@ -83,6 +100,165 @@ public class SwiftCodeService {
                 .build();
     }
 
+    /**
+     * One keyset page of a country listing. {@code cursor} is the {@code nextCursor} of the previous page, or
+     * null for the first; the returned {@code nextCursor} is null on the last page.
+     */
+    public CountrySwiftCodesResponseDto getSwiftCodesByCountryPage(String countryISO2, String cursor, int limit) {
+        String after = PageCursor.decode(cursor);
+        int pageSize = boundedPageSize(limit);
+        List<SwiftCodeEntry> swiftCodes;
+        if (snapshotHolder.isServing()) {
+            swiftCodes = snapshotHolder.current().findByCountry(countryISO2.toUpperCase(), after, pageSize + 1);
+        } else {
+            swiftCodes = swiftCodeRepository.findByCountryISO2After(countryISO2.toUpperCase(), after, Limit.of(pageSize + 1));
+        }
+
+        if (swiftCodes.isEmpty() && after.isEmpty()) {
+            throw new ResourceNotFoundException("No swift codes found for country: " + countryISO2);
+        }
+
+        List<SwiftCodeEntry> page = swiftCodes.subList(0, Math.min(pageSize, swiftCodes.size()));
+        return CountrySwiftCodesResponseDto.builder()
+                .countryISO2(countryISO2.toUpperCase())
+                .countryName(page.isEmpty() ? null : page.get(0).getCountryName())
+                .swiftCodes(page.stream().map(this::toDetailDto).collect(Collectors.toList()))
+                .nextCursor(nextCursor(swiftCodes, pageSize))
+                .build();
+    }
+
+    /**
+     * One keyset page of a headquarter's branches, paged like {@link #getSwiftCodesByCountryPage}.
+     */
+    public BranchesPageDto getBranchesPage(String headquarterCode, String cursor, int limit) {
+        String after = PageCursor.decode(cursor);
+        int pageSize = boundedPageSize(limit);
+        List<SwiftCodeEntry> branches;
+        if (snapshotHolder.isServing()) {
+            SwiftCodeDataset snapshot = snapshotHolder.current();
+            requireHeadquarter(snapshot.find(headquarterCode), headquarterCode);
+            branches = snapshot.findBranches(headquarterCode, after, pageSize + 1);
+        } else {
+            requireHeadquarter(knownSwiftCodeGuard.isDefinitelyAbsent(headquarterCode)
+                    ? Optional.empty()
+                    : swiftCodeRepository.findEntryBySwiftCode(headquarterCode), headquarterCode);
+            branches = swiftCodeRepository.findBranchesByHeadquarterCodeAfter(headquarterCode, after, Limit.of(pageSize + 1));
+        }
+
+        List<SwiftCodeEntry> page = branches.subList(0, Math.min(pageSize, branches.size()));
+        return BranchesPageDto.builder()
+                .headquarterCode(headquarterCode)
+                .branches(page.stream().map(this::toBranchDto).collect(Collectors.toList()))
+                .nextCursor(nextCursor(branches, pageSize))
+                .build();
+    }
+
+    public boolean hasSwiftCodesForCountry(String countryISO2) {
+        if (snapshotHolder.isServing()) {
+            return !snapshotHolder.current().findByCountry(countryISO2.toUpperCase()).isEmpty();
+        }
+        return swiftCodeRepository.existsByCountryISO2(countryISO2.toUpperCase());
+    }
+
+    /**
+     * Hands the codes of a country to {@code consumer} one at a time in SWIFT code order, from the snapshot or
+     * from a database cursor, without building the full listing.
+     */
+    public void streamSwiftCodesByCountry(String countryISO2, Consumer<SwiftCodeDetailDto> consumer) {
+        if (snapshotHolder.isServing()) {
+            for (SwiftCodeEntry code : snapshotHolder.current().findByCountry(countryISO2.toUpperCase())) {
+                consumer.accept(toDetailDto(code));
+            }
+            return;
+        }
+        swiftCodeRepository.streamByCountryISO2(countryISO2.toUpperCase(), consumer);
+    }
+
+    /**
+     * Resolves many codes at once, reporting each distinct code to exactly one of the callbacks in request
+     * order. Codes are resolved {@value #LOOKUP_CHUNK_SIZE} at a time, each chunk from the snapshot or with one
+     * query that also returns the branches of every headquarter in it, so results can be written out while
+     * later chunks are still pending. Codes the Bloom filter rules out are reported without being queried.
+     */
+    public void lookup(List<String> swiftCodes, Consumer<SwiftCodeResponseDto> onFound, Consumer<String> onNotFound) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(swiftCodes));
+        for (int from = 0; from < distinct.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, distinct.size()));
+            List<String> candidates = new ArrayList<>(chunk.size());
+            for (String swiftCode : chunk) {
+                if (!knownSwiftCodeGuard.isDefinitelyAbsent(swiftCode)) {
+                    candidates.add(swiftCode);
+                }
+            }
+            if (snapshotHolder.isServing()) {
+                SwiftCodeDataset snapshot = snapshotHolder.current();
+                Set<String> queried = new HashSet<>(candidates);
+                for (String swiftCode : chunk) {
+                    SwiftCodeEntry code = queried.contains(swiftCode) ? snapshot.find(swiftCode).orElse(null) : null;
+                    report(swiftCode, code, queried, onFound, onNotFound,
+                            () -> snapshot.findBranches(swiftCode));
+                }
+                continue;
+            }
+
+            Map<String, SwiftCodeEntry> byCode = new HashMap<>();
+            Map<String, List<SwiftCodeEntry>> branchesByHeadquarter = new HashMap<>();
+            List<SwiftCodeEntry> rows = candidates.isEmpty() ? List.of() : swiftCodeRepository.findWithBranchesBySwiftCodeIn(candidates);
+            for (SwiftCodeEntry entry : rows) {
+                byCode.put(entry.getSwiftCode(), entry);
+                if (!entry.isHeadquarter() && entry.getHeadquarterCode() != null) {
+                    branchesByHeadquarter.computeIfAbsent(entry.getHeadquarterCode(), k -> new ArrayList<>()).add(entry);
+                }
+            }
+            Set<String> queried = new HashSet<>(candidates);
+            for (String swiftCode : chunk) {
+                report(swiftCode, byCode.get(swiftCode), queried, onFound, onNotFound,
+                        () -> branchesByHeadquarter.getOrDefault(swiftCode, List.of()));
+            }
+        }
+    }
+
+    private void report(String swiftCode, SwiftCodeEntry code, Set<String> queried,
+                        Consumer<SwiftCodeResponseDto> onFound, Consumer<String> onNotFound,
+                        Supplier<List<SwiftCodeEntry>> branches) {
+        if (code != null) {
+            onFound.accept(toResponseDto(code, code.isHeadquarter() ? branches.get() : null));
+            return;
+        }
+        if (queried.contains(swiftCode)) {
+            knownSwiftCodeGuard.recordFalsePositive();
+        }
+        onNotFound.accept(swiftCode);
+    }
+
+    /**
+     * Type-ahead over SWIFT codes and bank names. Answered from the in-memory suggestion index, which is
+     * empty until the startup import has been loaded. {@code limit} is clamped to 1..{@value #MAX_SUGGESTIONS}.
+     */
+    public List<SuggestionDto> suggest(String query, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return snapshotHolder.current().suggestions().suggest(query, boundedLimit);
+    }
+
+    /**
+     * Typo-tolerant search over bank name, town and address, optionally within one country. Answered from
+     * the in-memory trigram index; {@code limit} is clamped to 1..{@value #MAX_SEARCH_RESULTS}.
+     */
+    public List<SwiftCodeSearchResultDto> search(String query, String countryISO2, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        return snapshotHolder.current().textIndex().search(query, countryISO2, boundedLimit).stream()
+                .map(hit -> SwiftCodeSearchResultDto.builder()
+                        .swiftCode(hit.entry().getSwiftCode())
+                        .bankName(hit.entry().getBankName())
+                        .townName(hit.entry().getTownName())
+                        .address(hit.entry().getAddress())
+                        .countryISO2(hit.entry().getCountryISO2())
+                        .isHeadquarter(hit.entry().isHeadquarter())
+                        .score(hit.score())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     @Transactional
     public MessageResponseDto addSwiftCode(SwiftCodeRequestDto requestDto) {
         String formattedCountryISO2 = requestDto.getCountryISO2().toUpperCase();
@@ -97,10 +273,11 @@ public class SwiftCodeService {
                 .countryISO2(formattedCountryISO2)
                 .countryName(formattedCountryName)
                 .isHeadquarter(isHeadquarter)
-                .headquarterCode(isHeadquarter ? null : requestDto.getSwiftCode().substring(0, 8))
+                .headquarterCode(isHeadquarter ? null : BicCodec.headquarterCodeOf(requestDto.getSwiftCode()))
                 .build();
 
         swiftCodeRepository.save(swiftCode);
+        eventPublisher.publishEvent(SwiftCodeChangedEvent.added(SwiftCodeEntry.from(swiftCode)));
 
         return MessageResponseDto.builder()
                 .message("Swift code added successfully")
@@ -109,13 +286,79 @@ public class SwiftCodeService {
 
     @Transactional
     public MessageResponseDto deleteSwiftCode(String swiftCode) {
+        if (knownSwiftCodeGuard.isDefinitelyAbsent(swiftCode)) {
+            throw swiftCodeNotFound(swiftCode);
+        }
         SwiftCode code = swiftCodeRepository.findBySwiftCode(swiftCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Swift code not found: " + swiftCode));
+                .orElseThrow(() -> falsePositive(swiftCode));
 
         swiftCodeRepository.delete(code);
+        eventPublisher.publishEvent(SwiftCodeChangedEvent.deleted(SwiftCodeEntry.from(code)));
 
         return MessageResponseDto.builder()
                 .message("Swift code deleted successfully")
                 .build();
     }
+
+    private static ResourceNotFoundException swiftCodeNotFound(String swiftCode) {
+        return new ResourceNotFoundException("Swift code not found: " + swiftCode);
+    }
+
+    private ResourceNotFoundException falsePositive(String swiftCode) {
+        knownSwiftCodeGuard.recordFalsePositive();
+        return swiftCodeNotFound(swiftCode);
+    }
+
+    private static int boundedPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Cursor after the last entry of the page when one more entry than the page size was fetched, else null.
+     */
+    private static String nextCursor(List<SwiftCodeEntry> fetched, int pageSize) {
+        return fetched.size() > pageSize ? PageCursor.encode(fetched.get(pageSize - 1).getSwiftCode()) : null;
+    }
+
+    private static void requireHeadquarter(Optional<SwiftCodeEntry> code, String swiftCode) {
+        if (code.filter(SwiftCodeEntry::isHeadquarter).isEmpty()) {
+            throw new ResourceNotFoundException("Headquarter swift code not found: " + swiftCode);
+        }
+    }
+
+    private BranchDto toBranchDto(SwiftCodeEntry branch) {
+        return BranchDto.builder()
+                .address(branch.getAddress())
+                .bankName(branch.getBankName())
+                .countryISO2(branch.getCountryISO2())
+                .isHeadquarter(false)
+                .swiftCode(branch.getSwiftCode())
+                .build();
+    }
+
+    private SwiftCodeDetailDto toDetailDto(SwiftCodeEntry code) {
+        return SwiftCodeDetailDto.builder()
+                .address(code.getAddress())
+                .bankName(code.getBankName())
+                .countryISO2(code.getCountryISO2())
+                .isHeadquarter(code.isHeadquarter())
+                .swiftCode(code.getSwiftCode())
+                .build();
+    }
+
+    private SwiftCodeResponseDto toResponseDto(SwiftCodeEntry code, List<SwiftCodeEntry> branches) {
+        List<BranchDto> branchDtos = branches == null ? null : branches.stream()
+                .map(this::toBranchDto)
+                .collect(Collectors.toList());
+
+        return SwiftCodeResponseDto.builder()
+                .address(code.getAddress())
+                .bankName(code.getBankName())
+                .countryISO2(code.getCountryISO2())
+                .countryName(code.getCountryName())
+                .isHeadquarter(code.isHeadquarter())
+                .swiftCode(code.getSwiftCode())
+                .branches(branchDtos)
+                .build();
+    }
 }
@@ -0,0 +1,95 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.dtos.ImportStatusDto;
+import com.example.swiftcodeapi.exception.BadRequestException;
+import com.example.swiftcodeapi.exception.ResourceNotFoundException;
+import com.example.swiftcodeapi.importer.ImportProgress;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Starts imports of uploaded directory files and reports on them. The servlet container writes the upload to a
+ * temporary file as the request body arrives ({@code spring.servlet.multipart.file-size-threshold=0}), so it is
+ * never held in memory; that file is moved aside, since the container deletes it when the request ends, and
+ * queued on {@link SwiftCodeImportRunner}, which streams it through the import pipeline.
+ * <p>
+ * An upload replaces the imported codes, so it is refused, as if the endpoint did not exist, unless
+ * {@code swiftcode.import.upload-enabled} is set.
+ */
+@Service
+@Profile("!edge")
+@RequiredArgsConstructor
+@Slf4j
+public class SwiftCodeUploadService {
+
+    private final SwiftCodeImportRunner importRunner;
+    private final ExcelParserService excelParserService;
+
+    @Value("${swiftcode.import.upload-enabled:false}")
+    private boolean uploadEnabled;
+
+    public ImportStatusDto startImport(MultipartFile upload) throws IOException {
+        if (!uploadEnabled) {
+            throw new ResourceNotFoundException("Uploads are disabled on this instance");
+        }
+        String fileName = StringUtils.getFilename(upload.getOriginalFilename());
+        if (upload.isEmpty() || fileName == null || fileName.isBlank()) {
+            throw new BadRequestException("Upload a non-empty Swift Codes file");
+        }
+        if (!excelParserService.supports(fileName)) {
+            throw new BadRequestException("Unsupported Swift Codes file format: " + fileName);
+        }
+
+        Path file = Files.createTempFile("swift-import-", "-" + fileName);
+        try {
+            upload.transferTo(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        ImportJob job = importRunner.submit(fileName, file.toFile());
+        log.info("Queued import {} of uploaded file {} ({} bytes)", job.getId(), fileName, upload.getSize());
+        return toDto(job);
+    }
+
+    public ImportStatusDto getImport(String importId) {
+        return importRunner.findJob(importId)
+                .map(SwiftCodeUploadService::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Import not found: " + importId));
+    }
+
+    static ImportStatusDto toDto(ImportJob job) {
+        ImportProgress progress = job.getProgress();
+        Instant startedAt = job.getStartedAt();
+        Instant finishedAt = job.getFinishedAt();
+        double rowsPerSecond = 0;
+        if (startedAt != null) {
+            long millis = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis();
+            rowsPerSecond = millis > 0 ? progress.getRowsWritten() * 1000.0 / millis : 0;
+        }
+        return ImportStatusDto.builder()
+                .importId(job.getId())
+                .fileName(job.getFileName())
+                .status(job.getStatus().name())
+                .rowsParsed(progress.getRowsParsed())
+                .rowsWritten(progress.getRowsWritten())
+                .rowsRejected(progress.getRowsRejected())
+                .rowsPerSecond(rowsPerSecond)
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(job.getFailure())
+                .build();
+    }
+}
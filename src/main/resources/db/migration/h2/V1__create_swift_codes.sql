@@ -0,0 +1,13 @@
+-- Same table as ../postgresql/V1__create_swift_codes.sql.
+CREATE TABLE IF NOT EXISTS swift_codes (
+    swift_code       VARCHAR(11)  NOT NULL PRIMARY KEY,
+    bank_name        VARCHAR(255) NOT NULL,
+    address          VARCHAR(255),
+    code_type        VARCHAR(255),
+    town_name        VARCHAR(255),
+    country_iso2     VARCHAR(2)   NOT NULL,
+    country_name     VARCHAR(255) NOT NULL,
+    is_headquarter   BOOLEAN      NOT NULL,
+    headquarter_code VARCHAR(11),
+    time_zone        VARCHAR(255)
+);
@@ -0,0 +1,5 @@
+-- Same indexes as ../postgresql/V2__add_read_indexes.sql, without INCLUDE columns or the partial predicate,
+-- which H2 does not support.
+CREATE INDEX IF NOT EXISTS idx_swift_codes_country_listing ON swift_codes (country_iso2, swift_code);
+
+CREATE INDEX IF NOT EXISTS idx_swift_codes_branches ON swift_codes (headquarter_code, swift_code);
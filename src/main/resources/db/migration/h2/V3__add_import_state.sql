@@ -0,0 +1,9 @@
+-- Same as ../postgresql/V3__add_import_state.sql.
+ALTER TABLE swift_codes ADD COLUMN IF NOT EXISTS row_hash BIGINT;
+
+CREATE TABLE IF NOT EXISTS import_state (
+    source      VARCHAR(64)              NOT NULL PRIMARY KEY,
+    checksum    VARCHAR(64)              NOT NULL,
+    row_count   INTEGER                  NOT NULL,
+    imported_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,4 @@
+-- Same as ../postgresql/V4__normalize_headquarter_codes.sql.
+UPDATE swift_codes
+SET headquarter_code = headquarter_code || 'XXX'
+WHERE LENGTH(headquarter_code) = 8;
@@ -0,0 +1,16 @@
+-- Plain indexes that ddl-auto=update created from the entity before the schema was migrated by Flyway.
+DROP INDEX IF EXISTS idx_swift_codes_country_code;
+DROP INDEX IF EXISTS idx_swift_codes_headquarter_code;
+
+-- Country listing, keyset pages, existence check and NDJSON stream: one range of the index, already in code
+-- order. The included columns are those the listing returns, so the stream is an index-only scan.
+CREATE INDEX IF NOT EXISTS idx_swift_codes_country_listing
+    ON swift_codes (country_iso2, swift_code)
+    INCLUDE (bank_name, address, is_headquarter, country_name);
+
+-- Branch lookup and branch pages. Only branches carry a headquarter_code, so the index leaves every
+-- headquarter row out; "headquarter_code = ?" implies the predicate, so the planner can always use it.
+CREATE INDEX IF NOT EXISTS idx_swift_codes_branches
+    ON swift_codes (headquarter_code, swift_code)
+    INCLUDE (bank_name, address, country_iso2, is_headquarter)
+    WHERE headquarter_code IS NOT NULL;
@@ -0,0 +1,11 @@
+-- Hash of the row as last imported from the directory file; NULL for codes added through the API, which an
+-- import updates when the file has them but never deletes.
+ALTER TABLE swift_codes ADD COLUMN IF NOT EXISTS row_hash BIGINT;
+
+-- Checksum of the source files of the last successful import, so an unchanged file is not parsed again.
+CREATE TABLE IF NOT EXISTS import_state (
+    source      VARCHAR(64)              NOT NULL PRIMARY KEY,
+    checksum    VARCHAR(64)              NOT NULL,
+    row_count   INTEGER                  NOT NULL,
+    imported_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
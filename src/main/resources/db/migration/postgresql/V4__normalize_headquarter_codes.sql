@@ -0,0 +1,5 @@
+-- Branches added through the API used to reference their headquarter by the bare 8-character prefix; every
+-- code path now stores the full XXX code, so the legacy rows are rewritten once here.
+UPDATE swift_codes
+SET headquarter_code = headquarter_code || 'XXX'
+WHERE LENGTH(headquarter_code) = 8;
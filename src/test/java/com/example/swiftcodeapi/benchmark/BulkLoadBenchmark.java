@@ -0,0 +1,86 @@
+package com.example.swiftcodeapi.benchmark;
+
+import com.example.swiftcodeapi.SwiftCodeApiApplication;
+import com.example.swiftcodeapi.model.SwiftCode;
+import com.example.swiftcodeapi.repository.SwiftCodeRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times importing generated codes with {@code saveAll} (a merge, so a SELECT before every INSERT) against
+ * {@link SwiftCodeRepository#bulkInsert} in chunks of 5,000, each in one transaction as the startup import
+ * runs. Not a unit test (surefire skips it); run {@link #main} after {@code mvn test-compile}. Arguments: row
+ * count (default 50,000), then optionally a JDBC URL, user and password; without them an in-memory H2
+ * database is used, which exercises the batch path rather than COPY.
+ */
+public class BulkLoadBenchmark {
+
+    private static final int CHUNK_SIZE = 5_000;
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        String url = args.length > 1 ? args[1] : "jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1";
+        String user = args.length > 2 ? args[2] : "sa";
+        String password = args.length > 3 ? args[3] : "";
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SwiftCodeApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + user,
+                        "--spring.datasource.password=" + password,
+                        // Let Boot and Hibernate derive the driver and dialect from the URL.
+                        "--spring.datasource.driver-class-name=",
+                        "--spring.jpa.database-platform=",
+                        "--logging.level.root=WARN")) {
+            SwiftCodeRepository repository = context.getBean(SwiftCodeRepository.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            TransactionTemplate transaction = context.getBean(TransactionTemplate.class);
+            List<SwiftCode> codes = generate(rows);
+
+            long start = System.nanoTime();
+            transaction.executeWithoutResult(status -> repository.saveAll(codes));
+            report("saveAll", rows, start);
+            jdbcTemplate.update("DELETE FROM swift_codes WHERE swift_code LIKE 'Z%'");
+
+            start = System.nanoTime();
+            transaction.executeWithoutResult(status -> {
+                for (int from = 0; from < codes.size(); from += CHUNK_SIZE) {
+                    repository.bulkInsert(codes.subList(from, Math.min(from + CHUNK_SIZE, codes.size())));
+                }
+            });
+            report("bulkInsert", rows, start);
+            jdbcTemplate.update("DELETE FROM swift_codes WHERE swift_code LIKE 'Z%'");
+        }
+    }
+
+    private static List<SwiftCode> generate(int rows) {
+        List<SwiftCode> codes = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String bank = String.format("Z%05X", i / 8);
+            boolean headquarter = i % 8 == 0;
+            codes.add(SwiftCode.builder()
+                    .swiftCode(bank + "PL" + (headquarter ? "XXX" : String.format("%03d", i % 8)))
+                    .bankName("BANK " + bank)
+                    .address(i + " MAIN STREET, WARSZAWA")
+                    .codeType("BIC11")
+                    .townName("WARSZAWA")
+                    .countryISO2("PL")
+                    .countryName("POLAND")
+                    .isHeadquarter(headquarter)
+                    .headquarterCode(headquarter ? null : bank + "PLXXX")
+                    .timeZone("Europe/Warsaw")
+                    .build());
+        }
+        return codes;
+    }
+
+    private static void report(String label, int rows, long start) {
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%-10s %,9d rows  %,7d ms  %,9.0f rows/s%n", label, rows, millis, rows * 1000.0 / Math.max(1, millis));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.swiftcodeapi.benchmark;
+
+import com.example.swiftcodeapi.importer.XlsxSwiftCodeReader;
+import com.example.swiftcodeapi.index.BicCodec;
+import com.example.swiftcodeapi.index.ColumnarSwiftCodeDataset;
+import com.example.swiftcodeapi.index.SwiftCodeSnapshot;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports, with JOL, the retained heap of the in-memory representations of the dataset, in total and per
+ * record: the entries as loaded from the database, the indexed {@link SwiftCodeSnapshot} and the
+ * {@link ColumnarSwiftCodeDataset}, on the bundled data and on it replicated ten times under new location codes,
+ * followed by the class histogram of the columnar dataset. Not a unit test (surefire skips it); run
+ * {@link #main} from the project root after {@code mvn test-compile}, with {@code -Djdk.attach.allowAttachSelf}
+ * to spare JOL a warning. An optional first argument overrides the spreadsheet path.
+ */
+public class FootprintReport {
+
+    public static void main(String[] args) throws Exception {
+        File workbook = new File(args.length > 0 ? args[0] : "src/main/resources/Interns_2025_SWIFT_CODES.xlsx");
+        List<SwiftCodeEntry> entries = new ArrayList<>();
+        new XlsxSwiftCodeReader().read(workbook, row -> entries.add(asImported(row.swiftCode(), row.bankName(),
+                row.address(), row.codeType(), row.townName(), row.countryISO2(), row.countryName(), row.timeZone())));
+
+        for (int factor : new int[]{1, 10}) {
+            List<SwiftCodeEntry> data = replicate(entries, factor);
+            System.out.printf("%dx, %d records%n", factor, data.size());
+            report("Loaded entries", data, data.size());
+            report("SwiftCodeSnapshot", SwiftCodeSnapshot.of(data), data.size());
+            report("ColumnarSwiftCodeDataset", ColumnarSwiftCodeDataset.of(data), data.size());
+        }
+        System.out.println(GraphLayout.parseInstance(ColumnarSwiftCodeDataset.of(entries)).toFootprint());
+    }
+
+    private static void report(String name, Object root, int records) {
+        long bytes = GraphLayout.parseInstance(root).totalSize();
+        System.out.printf("  %-26s %,13d bytes  %7.1f bytes/record%n", name, bytes, (double) bytes / records);
+    }
+
+    /**
+     * An entry as the importer stores it: the town appended to the address, the headquarter code derived, and
+     * every value a string of its own, as each row read from the database is.
+     */
+    private static SwiftCodeEntry asImported(String swiftCode, String bankName, String address, String codeType,
+                                             String townName, String countryISO2, String countryName, String timeZone) {
+        String fullAddress = address == null || address.isEmpty() ? "" : address;
+        if (townName != null && !townName.isEmpty()) {
+            fullAddress = fullAddress.isEmpty() ? townName : fullAddress + ", " + townName;
+        }
+        boolean headquarter = swiftCode.endsWith("XXX");
+        return new SwiftCodeEntry(copy(swiftCode), copy(bankName), copy(fullAddress), copy(codeType), copy(townName),
+                copy(countryISO2), copy(countryName), headquarter,
+                headquarter ? null : BicCodec.headquarterCodeOf(swiftCode), copy(timeZone));
+    }
+
+    private static String copy(String value) {
+        return value == null ? null : new String(value);
+    }
+
+    /**
+     * The entries, then {@code factor - 1} copies with the location code (characters 7 and 8) replaced, so the
+     * copies are still valid BICs; codes that collide are kept once.
+     */
+    private static List<SwiftCodeEntry> replicate(List<SwiftCodeEntry> entries, int factor) {
+        Map<String, SwiftCodeEntry> result = new LinkedHashMap<>();
+        for (int copy = 0; copy < factor; copy++) {
+            for (SwiftCodeEntry entry : entries) {
+                String swiftCode = entry.getSwiftCode();
+                if (copy > 0 && swiftCode.length() >= 8) {
+                    String location = Integer.toString(copy + 36, 36).toUpperCase();
+                    swiftCode = swiftCode.substring(0, 6) + location + swiftCode.substring(8);
+                }
+                result.putIfAbsent(swiftCode, asImported(swiftCode, entry.getBankName(), streetOf(entry),
+                        entry.getCodeType(), entry.getTownName(), entry.getCountryISO2(), entry.getCountryName(),
+                        entry.getTimeZone()));
+            }
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    private static String streetOf(SwiftCodeEntry entry) {
+        String town = entry.getTownName();
+        String address = entry.getAddress();
+        if (town == null || town.isEmpty() || address.equals(town)) {
+            return town == null || town.isEmpty() ? address : "";
+        }
+        return address.substring(0, address.length() - town.length() - 2);
+    }
+}
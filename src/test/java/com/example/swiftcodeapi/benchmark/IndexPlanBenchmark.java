@@ -0,0 +1,138 @@
+package com.example.swiftcodeapi.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Prints PostgreSQL query plans for the country listing and branch lookups on a generated dataset, first on
+ * the bare table from {@code V1__create_swift_codes.sql} and then after {@code V2__add_read_indexes.sql}.
+ * Not a unit test (surefire skips it); run {@link #main} from the project root after {@code mvn test-compile}
+ * with a JDBC URL, user and password of a scratch PostgreSQL database, and optionally the row count
+ * (default 3,000,000). Everything is created in, and dropped with, the schema {@value #SCHEMA}.
+ * <p>
+ * The dataset has eight codes per bank (one headquarter and seven branches) spread over 208 countries, so a
+ * country lists about 14,000 codes and a headquarter has seven branches.
+ */
+public class IndexPlanBenchmark {
+
+    private static final String SCHEMA = "swift_index_benchmark";
+    private static final String MIGRATIONS = "/db/migration/postgresql/";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("usage: IndexPlanBenchmark <jdbc-url> <user> <password> [rows]");
+            System.exit(1);
+        }
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 3_000_000;
+
+        try (Connection connection = DriverManager.getConnection(args[0], args[1], args[2]);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("SET search_path TO " + SCHEMA);
+            try {
+                runMigration(statement, "V1__create_swift_codes.sql");
+                long start = System.nanoTime();
+                generate(statement, rows);
+                System.out.printf("Generated %,d rows in %d ms%n", rows, (System.nanoTime() - start) / 1_000_000);
+
+                String country = firstValue(statement, "SELECT country_iso2 FROM swift_codes WHERE swift_code = '000001XXXXX'");
+                Map<String, String> queries = queries(country, "000001XXXXX");
+                explainAll(statement, "Without indexes", queries);
+
+                start = System.nanoTime();
+                runMigration(statement, "V2__add_read_indexes.sql");
+                System.out.printf("%nCreated indexes in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+                // Index-only scans need an up-to-date visibility map.
+                statement.execute("VACUUM ANALYZE swift_codes");
+                explainAll(statement, "With V2 indexes", queries);
+            } finally {
+                statement.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+            }
+        }
+    }
+
+    /**
+     * The statements behind the country listing and branch endpoints, as Hibernate and the NDJSON stream
+     * issue them.
+     */
+    private static Map<String, String> queries(String country, String headquarter) {
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("Country stream (NDJSON)", "SELECT swift_code, bank_name, address, country_iso2, is_headquarter "
+                + "FROM swift_codes WHERE country_iso2 = '" + country + "' ORDER BY swift_code");
+        queries.put("Country page (limit 100)", "SELECT * FROM swift_codes WHERE country_iso2 = '" + country + "' "
+                + "AND swift_code > '' ORDER BY swift_code LIMIT 101");
+        queries.put("Country exists", "SELECT 1 FROM swift_codes WHERE country_iso2 = '" + country + "' LIMIT 1");
+        queries.put("Headquarter with branches", "SELECT * FROM swift_codes WHERE swift_code = '" + headquarter + "' "
+                + "OR headquarter_code = '" + headquarter + "' ORDER BY swift_code");
+        queries.put("Branch page (limit 100)", "SELECT * FROM swift_codes WHERE headquarter_code = '" + headquarter + "' "
+                + "AND swift_code > '' AND swift_code <> '" + headquarter + "' ORDER BY swift_code LIMIT 101");
+        return queries;
+    }
+
+    private static void generate(Statement statement, int rows) throws SQLException {
+        statement.execute("""
+                INSERT INTO swift_codes (swift_code, bank_name, address, town_name, country_iso2, country_name,
+                                         is_headquarter, headquarter_code, time_zone)
+                SELECT bank || 'XX' || CASE WHEN branch = 0 THEN 'XXX' ELSE lpad(branch::text, 3, '0') END,
+                       'BANK ' || bank,
+                       branch || ' MAIN STREET',
+                       'TOWN ' || (n % 1000),
+                       country,
+                       'COUNTRY ' || country,
+                       branch = 0,
+                       CASE WHEN branch = 0 THEN NULL ELSE bank || 'XXXXX' END,
+                       'Europe/Warsaw'
+                FROM (SELECT n,
+                             upper(lpad(to_hex(n / 8), 6, '0')) AS bank,
+                             n % 8 AS branch,
+                             chr(65 + (n / 8) % 26) || chr(65 + (n / 208) % 8) AS country
+                      FROM generate_series(0, :last) AS n) AS generated
+                """.replace(":last", Integer.toString(rows - 1)));
+        statement.execute("ANALYZE swift_codes");
+    }
+
+    private static void explainAll(Statement statement, String title, Map<String, String> queries) throws SQLException {
+        System.out.printf("%n=== %s ===%n", title);
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            System.out.printf("%n--- %s%n", query.getKey());
+            try (ResultSet plan = statement.executeQuery("EXPLAIN (ANALYZE, BUFFERS) " + query.getValue())) {
+                while (plan.next()) {
+                    System.out.println(plan.getString(1));
+                }
+            }
+        }
+    }
+
+    private static void runMigration(Statement statement, String name) throws SQLException, IOException {
+        String script;
+        try (InputStream in = IndexPlanBenchmark.class.getResourceAsStream(MIGRATIONS + name)) {
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String withoutComments = Arrays.stream(script.split("\n"))
+                .filter(line -> !line.trim().startsWith("--"))
+                .collect(Collectors.joining("\n"));
+        for (String sql : withoutComments.split(";")) {
+            if (!sql.isBlank()) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static String firstValue(Statement statement, String sql) throws SQLException {
+        try (ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+}
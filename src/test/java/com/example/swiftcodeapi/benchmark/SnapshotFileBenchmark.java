@@ -0,0 +1,76 @@
+package com.example.swiftcodeapi.benchmark;
+
+import com.example.swiftcodeapi.importer.XlsxSwiftCodeReader;
+import com.example.swiftcodeapi.index.SnapshotFile;
+import com.example.swiftcodeapi.index.SwiftCodeSnapshot;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures what a startup with an unchanged import costs with a {@link SnapshotFile}: mapping and decoding the
+ * file, then building the {@link SwiftCodeSnapshot} indexes, against parsing the bundled workbook, on the bundled
+ * data and on it replicated ten and a hundred times. Not a unit test (surefire skips it); run {@link #main} from
+ * the project root after {@code mvn test-compile}. An optional first argument overrides the spreadsheet path.
+ */
+public class SnapshotFileBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        File workbook = new File(args.length > 0 ? args[0] : "src/main/resources/Interns_2025_SWIFT_CODES.xlsx");
+        List<SwiftCodeEntry> entries = new ArrayList<>();
+        long parseNanos = best(() -> {
+            entries.clear();
+            new XlsxSwiftCodeReader().read(workbook, row -> entries.add(new SwiftCodeEntry(row.swiftCode(),
+                    row.bankName(), row.address(), row.codeType(), row.townName(), row.countryISO2(),
+                    row.countryName(), row.swiftCode().endsWith("XXX"), null, row.timeZone())));
+        });
+        System.out.printf("Parse workbook     %8d entries  %6.1f ms%n", entries.size(), parseNanos / 1e6);
+
+        Path file = Files.createTempFile("swift-codes", ".snapshot");
+        try {
+            for (int factor : new int[]{1, 10, 100}) {
+                List<SwiftCodeEntry> data = replicate(entries, factor);
+                SnapshotFile.write(file, "checksum", data);
+                long readNanos = best(() -> SnapshotFile.read(file, "checksum").orElseThrow());
+                long buildNanos = best(() -> SwiftCodeSnapshot.of(data));
+                System.out.printf("Snapshot file %4dx %8d entries  %,11d bytes  read %6.1f ms  index %6.1f ms%n",
+                        factor, data.size(), Files.size(file), readNanos / 1e6, buildNanos / 1e6);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    private static long best(Step step) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            step.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static List<SwiftCodeEntry> replicate(List<SwiftCodeEntry> entries, int factor) {
+        List<SwiftCodeEntry> result = new ArrayList<>(entries.size() * factor);
+        for (int copy = 0; copy < factor; copy++) {
+            for (SwiftCodeEntry entry : entries) {
+                String swiftCode = copy == 0 ? entry.getSwiftCode() : entry.getSwiftCode() + copy;
+                result.add(new SwiftCodeEntry(swiftCode, entry.getBankName(), entry.getAddress(), entry.getCodeType(),
+                        entry.getTownName(), entry.getCountryISO2(), entry.getCountryName(), entry.isHeadquarter(),
+                        entry.getHeadquarterCode(), entry.getTimeZone()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.swiftcodeapi.benchmark;
+
+import com.example.swiftcodeapi.index.TrigramIndex;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures {@link TrigramIndex} build time and search latency on the bundled SWIFT code file and on the
+ * same data replicated ten times. Not a unit test (surefire skips it); run {@link #main} from the project root
+ * after {@code mvn test-compile}. An optional first argument overrides the spreadsheet path.
+ */
+public class TrigramSearchBenchmark {
+
+    private static final String[] QUERIES = {"paribas", "parbas", "deutsche bank", "warszawa", "bank", "sanpaolo milano", "ul"};
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURED_ROUNDS = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        Path file = Path.of(args.length > 0 ? args[0] : "src/main/resources/Interns_2025_SWIFT_CODES.xlsx");
+        List<SwiftCodeEntry> entries = load(file);
+
+        run("1x", entries);
+        run("10x", replicate(entries, 10));
+    }
+
+    private static void run(String label, List<SwiftCodeEntry> entries) {
+        long start = System.nanoTime();
+        TrigramIndex index = TrigramIndex.of(entries);
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            index.search(QUERIES[i % QUERIES.length], null, 20);
+        }
+        long[] latencies = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            String country = i % 2 == 0 ? null : "PL";
+            long t = System.nanoTime();
+            index.search(QUERIES[i % QUERIES.length], country, 20);
+            latencies[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-4s %8d entries  build %5d ms  p50 %7.1f us  p99 %7.1f us  max %7.1f us%n",
+                label, entries.size(), buildMillis,
+                latencies[MEASURED_ROUNDS / 2] / 1_000.0,
+                latencies[MEASURED_ROUNDS * 99 / 100] / 1_000.0,
+                latencies[MEASURED_ROUNDS - 1] / 1_000.0);
+    }
+
+    private static List<SwiftCodeEntry> load(Path file) throws Exception {
+        List<SwiftCodeEntry> entries = new ArrayList<>();
+        DataFormatter formatter = new DataFormatter();
+        try (InputStream in = Files.newInputStream(file); XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (Row row : sheet) {
+                if (row.getRowNum() == 0) continue;
+                String swiftCode = formatter.formatCellValue(row.getCell(1)).trim();
+                if (swiftCode.isEmpty()) continue;
+                entries.add(SwiftCodeEntry.builder()
+                        .countryISO2(formatter.formatCellValue(row.getCell(0)).trim().toUpperCase())
+                        .swiftCode(swiftCode)
+                        .bankName(formatter.formatCellValue(row.getCell(3)).trim())
+                        .address(formatter.formatCellValue(row.getCell(4)).trim())
+                        .townName(formatter.formatCellValue(row.getCell(5)).trim())
+                        .isHeadquarter(swiftCode.endsWith("XXX"))
+                        .build());
+            }
+        }
+        return entries;
+    }
+
+    private static List<SwiftCodeEntry> replicate(List<SwiftCodeEntry> entries, int factor) {
+        List<SwiftCodeEntry> result = new ArrayList<>(entries.size() * factor);
+        for (int copy = 0; copy < factor; copy++) {
+            for (SwiftCodeEntry entry : entries) {
+                result.add(SwiftCodeEntry.builder()
+                        .swiftCode(entry.getSwiftCode() + "#" + copy)
+                        .bankName(entry.getBankName())
+                        .address(entry.getAddress())
+                        .townName(entry.getTownName())
+                        .countryISO2(entry.getCountryISO2())
+                        .isHeadquarter(entry.isHeadquarter())
+                        .build());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.swiftcodeapi.benchmark;
+
+import com.example.swiftcodeapi.importer.XlsxSwiftCodeReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the streaming {@link XlsxSwiftCodeReader} with loading the whole workbook as {@link XSSFWorkbook}
+ * on a synthetic directory of one million rows (written once with {@link SXSSFWorkbook} to a temp file),
+ * reporting wall time and peak heap for each. Not a unit test (surefire skips it); run {@link #main} after
+ * {@code mvn test-compile}, with the heap the application gets in production (e.g. {@code -Xmx1g}) so the
+ * DOM load shows whether it fits. Optional arguments: row count, and a workbook to use instead.
+ */
+public class XlsxImportBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        File file = args.length > 1 ? new File(args[1]) : generate(rows);
+        System.out.printf("Workbook %s: %,d bytes, max heap %,d MB%n",
+                file, file.length(), Runtime.getRuntime().maxMemory() >> 20);
+
+        measure("SAX (XlsxSwiftCodeReader)", () -> {
+            AtomicLong chars = new AtomicLong();
+            int read = new XlsxSwiftCodeReader().read(file, row -> chars.addAndGet(row.swiftCode().length()));
+            return read;
+        });
+        // A sheet of this size exceeds POI's default 100 MB limit for a single part read into memory.
+        IOUtils.setByteArrayMaxOverride(Integer.MAX_VALUE - 8);
+        measure("DOM (XSSFWorkbook)", () -> {
+            try (FileInputStream in = new FileInputStream(file); Workbook workbook = new XSSFWorkbook(in)) {
+                return workbook.getSheetAt(0).getLastRowNum();
+            }
+        });
+    }
+
+    private static File generate(int rows) throws Exception {
+        Path path = Files.createTempFile("swift-codes-", ".xlsx");
+        path.toFile().deleteOnExit();
+        long start = System.nanoTime();
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1_000)) {
+            Sheet sheet = workbook.createSheet("Swift Codes");
+            String[] header = {"COUNTRY ISO2 CODE", "SWIFT CODE", "CODE TYPE", "NAME", "ADDRESS", "TOWN NAME", "COUNTRY NAME", "TIME ZONE"};
+            write(sheet.createRow(0), header);
+            for (int i = 1; i <= rows; i++) {
+                String bank = String.format("%06X", i / 8);
+                String country = "" + (char) ('A' + i / 8 % 26) + (char) ('A' + i / 208 % 8);
+                String branch = i % 8 == 0 ? "XXX" : String.format("%03d", i % 8);
+                write(sheet.createRow(i), new String[]{country, bank + "XX" + branch, "BIC11", "BANK " + bank,
+                        (i % 97) + " MAIN STREET", "TOWN " + (i % 1000), "COUNTRY " + country, "Europe/Warsaw"});
+            }
+            try (OutputStream out = Files.newOutputStream(path)) {
+                workbook.write(out);
+            }
+            workbook.dispose();
+        }
+        System.out.printf("Generated %,d rows in %d ms%n", rows, (System.nanoTime() - start) / 1_000_000);
+        return path.toFile();
+    }
+
+    private static void write(Row row, String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+
+    private static void measure(String label, Load load) {
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long start = System.nanoTime();
+        try {
+            int rows = load.run();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            long peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            System.out.printf("%-26s %,9d rows  %,7d ms  peak heap %,6d MB%n", label, rows, millis, peak >> 20);
+        } catch (OutOfMemoryError e) {
+            System.out.printf("%-26s OutOfMemoryError after %,d ms%n", label, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Load {
+        int run() throws Exception;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.swiftcodeapi.controller;
+
+import com.example.swiftcodeapi.index.SnapshotFile;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("edge")
+class EdgeModeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @DynamicPropertySource
+    static void snapshotFile(DynamicPropertyRegistry registry) throws IOException {
+        Path file = Files.createTempDirectory("swift-edge-").resolve("swift-codes.snapshot");
+        SnapshotFile.write(file, "checksum-1", List.of(
+                new SwiftCodeEntry("BNPAFRPPXXX", "BNP PARIBAS", "16 BOULEVARD DES ITALIENS", "BIC11", "PARIS",
+                        "FR", "FRANCE", true, null, "Europe/Paris"),
+                new SwiftCodeEntry("BNPAFRPP123", "BNP PARIBAS", "1 RUE DE LA PAIX", "BIC11", "PARIS",
+                        "FR", "FRANCE", false, "BNPAFRPPXXX", "Europe/Paris")));
+        file.toFile().deleteOnExit();
+        registry.add("swiftcode.snapshot.file", file::toString);
+    }
+
+    @Test
+    void context_ShouldStartWithoutADatabase() {
+        assertThat(context.getBeanNamesForType(DataSource.class)).isEmpty();
+    }
+
+    @Test
+    void reads_ShouldBeServedFromTheMappedFile() throws Exception {
+        mockMvc.perform(get("/v1/swift-codes/BNPAFRPPXXX"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bankName").value("BNP PARIBAS"))
+                .andExpect(jsonPath("$.branches[0].swiftCode").value("BNPAFRPP123"));
+        mockMvc.perform(get("/v1/swift-codes/country/fr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.swiftCodes.length()").value(2));
+        mockMvc.perform(get("/v1/swift-codes/DEUTDEFFXXX"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/v1/swift-codes/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"swiftCodes\":[\"BNPAFRPP123\"]}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void ifNoneMatchAny_ShouldNotHideAMissingCode() throws Exception {
+        mockMvc.perform(get("/v1/swift-codes/DEUTDEFFXXX").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/v1/swift-codes/country/de").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/v1/swift-codes/BNPAFRPPXXX").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void lookup_WithANullOrBlankCode_ShouldBeRejectedBeforeStreaming() throws Exception {
+        for (String codes : List.of("[\"BNPAFRPPXXX\",null]", "[\" \"]")) {
+            mockMvc.perform(post("/v1/swift-codes/lookup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"swiftCodes\":" + codes + "}"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void suggestAndSearch_ShouldBeUnavailable() throws Exception {
+        mockMvc.perform(get("/v1/swift-codes/suggest").param("q", "BNP"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/v1/swift-codes/search").param("q", "paribas"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void writes_ShouldBeRejectedAsMethodNotAllowed() throws Exception {
+        mockMvc.perform(post("/v1/swift-codes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isMethodNotAllowed())
+                .andExpect(header().string(HttpHeaders.ALLOW, "GET,HEAD"));
+        mockMvc.perform(delete("/v1/swift-codes/BNPAFRPPXXX"))
+                .andExpect(status().isMethodNotAllowed());
+        mockMvc.perform(multipart("/v1/swift-codes/import").file("file", new byte[0]))
+                .andExpect(status().isMethodNotAllowed());
+        mockMvc.perform(get("/v1/swift-codes/import/0f8fad5b-d9cb-469f-a165-70867728950e"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -2,17 +2,30 @@ package com.example.swiftcodeapi.controller;
 
 import com.example.swiftcodeapi.controller.SwiftCodeController;
 import com.example.swiftcodeapi.dtos.*;
+import com.example.swiftcodeapi.event.SwiftCodeChangedEvent;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import com.example.swiftcodeapi.index.SwiftCodeSnapshotHolder;
+import com.example.swiftcodeapi.service.CountryNdjsonWriter;
+import com.example.swiftcodeapi.service.CountryResponseRenderer;
+import com.example.swiftcodeapi.service.DatasetVersions;
+import com.example.swiftcodeapi.service.CountryResponseRenderer.RenderedCountry;
+import com.example.swiftcodeapi.service.SwiftCodeLookupWriter;
 import com.example.swiftcodeapi.service.SwiftCodeService;
+import com.example.swiftcodeapi.service.SwiftCodeUploadService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -28,6 +41,21 @@ public class SwiftCodeControllerIntegrationTest {
     @Mock
     private SwiftCodeService swiftCodeService;
 
+    @Mock
+    private CountryResponseRenderer countryResponseRenderer;
+
+    @Mock
+    private SwiftCodeLookupWriter swiftCodeLookupWriter;
+
+    @Mock
+    private CountryNdjsonWriter countryNdjsonWriter;
+
+    @Mock
+    private SwiftCodeUploadService swiftCodeUploadService;
+
+    @Spy
+    private DatasetVersions datasetVersions = new DatasetVersions(mock(SwiftCodeSnapshotHolder.class));
+
     @InjectMocks
     private SwiftCodeController swiftCodeController;
 
@@ -62,6 +90,52 @@ public class SwiftCodeControllerIntegrationTest {
                 .andExpect(jsonPath("$.isHeadquarter").value(true));
     }
 
+    @Test
+    void testStreamSwiftCodesByCountryAsNdjson() throws Exception {
+        when(swiftCodeService.hasSwiftCodesForCountry("US")).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{\"swiftCode\":\"BANKUS33XXX\"}\n".getBytes());
+            return null;
+        }).when(countryNdjsonWriter).write(eq("US"), any());
+
+        MvcResult result = mockMvc.perform(get("/v1/swift-codes/country/US").accept(CountryNdjsonWriter.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CountryNdjsonWriter.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"swiftCode\":\"BANKUS33XXX\"}\n"));
+        verifyNoInteractions(countryResponseRenderer);
+    }
+
+    @Test
+    void testGetSwiftCodeDetailsRevalidation() throws Exception {
+        when(swiftCodeService.getSwiftCodeDetails("BANKUS33XXX")).thenReturn(SwiftCodeResponseDto.builder()
+                .swiftCode("BANKUS33XXX")
+                .isHeadquarter(true)
+                .build());
+
+        String etag = mockMvc.perform(get("/v1/swift-codes/BANKUS33XXX"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/v1/swift-codes/BANKUS33XXX").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        verify(swiftCodeService, times(1)).getSwiftCodeDetails("BANKUS33XXX");
+
+        datasetVersions.onChanged(SwiftCodeChangedEvent.deleted(SwiftCodeEntry.builder()
+                .swiftCode("BANKUS33ABC")
+                .countryISO2("US")
+                .build()));
+
+        mockMvc.perform(get("/v1/swift-codes/BANKUS33XXX").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void testGetSwiftCodesByCountry() throws Exception {
         SwiftCodeDetailDto swiftCodeDetailDto1 = SwiftCodeDetailDto.builder()
@@ -88,7 +162,8 @@ public class SwiftCodeControllerIntegrationTest {
                 .swiftCodes(swiftCodeDetails)
                 .build();
 
-        when(swiftCodeService.getSwiftCodesByCountry("US")).thenReturn(responseDto);
+        when(countryResponseRenderer.render("US"))
+                .thenReturn(new RenderedCountry(objectMapper.writeValueAsBytes(responseDto), new byte[0]));
 
         mockMvc.perform(get("/v1/swift-codes/country/US"))
                 .andExpect(status().isOk())
@@ -136,4 +211,32 @@ public class SwiftCodeControllerIntegrationTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.message").value("SWIFT code deleted successfully"));
     }
+
+    @Test
+    void testImportSwiftCodes() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "codes.csv", "text/csv",
+                "CountryISO2,SWIFT Code\nPL,BREXPLPWXXX\n".getBytes());
+        ImportStatusDto queued = ImportStatusDto.builder().importId("42").fileName("codes.csv").status("PENDING").build();
+        when(swiftCodeUploadService.startImport(any())).thenReturn(queued);
+
+        mockMvc.perform(multipart("/v1/swift-codes/import").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/v1/swift-codes/import/42"))
+                .andExpect(jsonPath("$.importId").value("42"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+        verify(swiftCodeUploadService).startImport(argThat(upload -> "codes.csv".equals(upload.getOriginalFilename())));
+    }
+
+    @Test
+    void testGetImport() throws Exception {
+        ImportStatusDto done = ImportStatusDto.builder().importId("42").status("DONE")
+                .rowsParsed(3).rowsWritten(2).rowsRejected(1).build();
+        when(swiftCodeUploadService.getImport("42")).thenReturn(done);
+
+        mockMvc.perform(get("/v1/swift-codes/import/42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(jsonPath("$.rowsWritten").value(2))
+                .andExpect(jsonPath("$.rowsRejected").value(1));
+    }
 }
@@ -1,19 +1,33 @@
 package com.example.swiftcodeapi.controller;
 
 import com.example.swiftcodeapi.dtos.*;
+import com.example.swiftcodeapi.index.SwiftCodeSnapshotHolder;
+import com.example.swiftcodeapi.service.CountryNdjsonWriter;
+import com.example.swiftcodeapi.service.CountryResponseRenderer;
+import com.example.swiftcodeapi.service.DatasetVersions;
+import com.example.swiftcodeapi.service.CountryResponseRenderer.RenderedCountry;
+import com.example.swiftcodeapi.service.SwiftCodeLookupWriter;
 import com.example.swiftcodeapi.service.SwiftCodeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class SwiftCodeControllerUnitTest {
@@ -21,6 +35,18 @@ class SwiftCodeControllerUnitTest {
     @Mock
     private SwiftCodeService swiftCodeService;
 
+    @Mock
+    private CountryResponseRenderer countryResponseRenderer;
+
+    @Mock
+    private SwiftCodeLookupWriter swiftCodeLookupWriter;
+
+    @Mock
+    private CountryNdjsonWriter countryNdjsonWriter;
+
+    @Spy
+    private DatasetVersions datasetVersions = new DatasetVersions(mock(SwiftCodeSnapshotHolder.class));
+
     @InjectMocks
     private SwiftCodeController swiftCodeController;
 
@@ -42,7 +68,7 @@ class SwiftCodeControllerUnitTest {
 
         when(swiftCodeService.getSwiftCodeDetails(swiftCode)).thenReturn(expectedResponse);
 
-        ResponseEntity<SwiftCodeResponseDto> response = swiftCodeController.getSwiftCodeDetails(swiftCode);
+        ResponseEntity<SwiftCodeResponseDto> response = swiftCodeController.getSwiftCodeDetails(swiftCode, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedResponse, response.getBody());
@@ -50,7 +76,7 @@ class SwiftCodeControllerUnitTest {
     }
 
     @Test
-    void getSwiftCodesByCountry_ShouldReturnCountrySwiftCodes() {
+    void getSwiftCodesByCountry_ShouldReturnCountrySwiftCodes() throws Exception {
         String countryISO2 = "FR";
         List<SwiftCodeDetailDto> swiftCodes = Arrays.asList(
                 SwiftCodeDetailDto.builder()
@@ -73,13 +99,36 @@ class SwiftCodeControllerUnitTest {
                 .swiftCodes(swiftCodes)
                 .build();
 
-        when(swiftCodeService.getSwiftCodesByCountry(countryISO2)).thenReturn(expectedResponse);
+        byte[] json = new ObjectMapper().writeValueAsBytes(expectedResponse);
+        byte[] gzip = {31, -117};
+        when(countryResponseRenderer.render(countryISO2)).thenReturn(new RenderedCountry(json, gzip));
 
-        ResponseEntity<CountrySwiftCodesResponseDto> response = swiftCodeController.getSwiftCodesByCountry(countryISO2);
+        ResponseEntity<byte[]> response = swiftCodeController.getSwiftCodesByCountry(countryISO2, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(expectedResponse, response.getBody());
-        verify(swiftCodeService, times(1)).getSwiftCodesByCountry(countryISO2);
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(json, response.getBody());
+        verify(countryResponseRenderer, times(1)).render(countryISO2);
+        verifyNoInteractions(swiftCodeService);
+
+        ResponseEntity<byte[]> compressed = swiftCodeController.getSwiftCodesByCountry(countryISO2, "gzip, deflate, br", null);
+
+        assertEquals("gzip", compressed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(gzip, compressed.getBody());
+    }
+
+    @Test
+    void getSwiftCodesByCountry_ShouldHonourAcceptEncodingQualities() {
+        when(countryResponseRenderer.render("FR")).thenReturn(new RenderedCountry(new byte[]{'{', '}'}, new byte[]{31, -117}));
+
+        ResponseEntity<byte[]> refused = swiftCodeController.getSwiftCodesByCountry("FR", "gzip;q=0, deflate", null);
+        assertNull(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        assertTrue(SwiftCodeController.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(SwiftCodeController.acceptsGzip("br, *"));
+        assertFalse(SwiftCodeController.acceptsGzip("*;q=1, gzip; q=0.0"));
+        assertFalse(SwiftCodeController.acceptsGzip("gzip;q=bogus"));
+        assertFalse(SwiftCodeController.acceptsGzip("identity"));
     }
 
     @Test
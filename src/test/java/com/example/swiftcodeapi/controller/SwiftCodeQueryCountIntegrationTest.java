@@ -0,0 +1,189 @@
+package com.example.swiftcodeapi.controller;
+
+import com.example.swiftcodeapi.model.SwiftCode;
+import com.example.swiftcodeapi.repository.SwiftCodeRepository;
+import com.example.swiftcodeapi.service.CountryNdjsonWriter;
+import com.example.swiftcodeapi.service.SwiftCodeImportRunner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each read endpoint issues against the database path (snapshot serving
+ * off, caches cleared), so an accidental N+1 or an extra lookup query fails the build. Security filters are
+ * left out: they issue no SQL, and their header writing races the streamed responses in MockMvc.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+class SwiftCodeQueryCountIntegrationTest {
+
+    private static final AtomicInteger STATEMENTS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SwiftCodeRepository swiftCodeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SwiftCodeImportRunner importRunner;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // The startup import runs in the background; its statements must not be counted.
+        importRunner.completion().get(1, TimeUnit.MINUTES);
+        swiftCodeRepository.saveAll(List.of(
+                code("QCNTQQ33XXX", true, null),
+                code("QCNTQQ33AAA", false, "QCNTQQ33XXX"),
+                code("QCNTQQ33BBB", false, "QCNTQQ33XXX")));
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        STATEMENTS.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        swiftCodeRepository.deleteAllById(List.of("QCNTQQ33XXX", "QCNTQQ33AAA", "QCNTQQ33BBB"));
+    }
+
+    @Test
+    void headquarterDetails_ShouldLoadCodeAndBranchesInOneStatement() throws Exception {
+        mockMvc.perform(get("/v1/swift-codes/QCNTQQ33XXX"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.branches.length()").value(2));
+
+        assertThat(STATEMENTS.get()).isEqualTo(1);
+    }
+
+    @Test
+    void countryListing_ShouldUseOneStatement() throws Exception {
+        mockMvc.perform(get("/v1/swift-codes/country/QQ"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.swiftCodes.length()").value(3));
+
+        assertThat(STATEMENTS.get()).isEqualTo(1);
+    }
+
+    @Test
+    void countryPage_ShouldUseOneStatement() throws Exception {
+        mockMvc.perform(get("/v1/swift-codes/country/QQ").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.swiftCodes.length()").value(2));
+
+        assertThat(STATEMENTS.get()).isEqualTo(1);
+    }
+
+    @Test
+    void branchesPage_ShouldCheckHeadquarterThenReadOnePage() throws Exception {
+        mockMvc.perform(get("/v1/swift-codes/QCNTQQ33XXX/branches").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.branches.length()").value(2));
+
+        assertThat(STATEMENTS.get()).isEqualTo(2);
+    }
+
+    @Test
+    void lookup_ShouldUseOneStatementPerChunk() throws Exception {
+        MvcResult result = mockMvc.perform(post("/v1/swift-codes/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"swiftCodes\":[\"QCNTQQ33XXX\",\"QCNTQQ33AAA\",\"QMISQQ33XXX\"]}"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found.length()").value(2));
+
+        assertThat(STATEMENTS.get()).isEqualTo(1);
+    }
+
+    @Test
+    void ndjsonStream_ShouldCheckCountryThenStreamOneCursor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/v1/swift-codes/country/QQ").accept(CountryNdjsonWriter.APPLICATION_NDJSON))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertThat(STATEMENTS.get()).isEqualTo(2);
+    }
+
+    private static SwiftCode code(String swiftCode, boolean headquarter, String headquarterCode) {
+        return SwiftCode.builder()
+                .swiftCode(swiftCode)
+                .bankName("QUERY COUNT BANK")
+                .countryISO2("QQ")
+                .countryName("QUERYLAND")
+                .isHeadquarter(headquarter)
+                .headquarterCode(headquarterCode)
+                .build();
+    }
+
+    /**
+     * Wraps the pool so every statement created on any of its connections is counted.
+     */
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        private static final Set<String> STATEMENT_FACTORIES = Set.of("prepareStatement", "createStatement", "prepareCall");
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                            (proxy, method, args) -> {
+                                Object result = invoke(dataSource, method, args);
+                                return result instanceof Connection connection ? counting(connection) : result;
+                            });
+                }
+            };
+        }
+
+        private static Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (STATEMENT_FACTORIES.contains(method.getName())) {
+                            STATEMENTS.incrementAndGet();
+                        }
+                        return invoke(connection, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
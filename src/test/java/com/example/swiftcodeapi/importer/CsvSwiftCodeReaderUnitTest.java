@@ -0,0 +1,54 @@
+package com.example.swiftcodeapi.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvSwiftCodeReaderUnitTest {
+
+    private final CsvSwiftCodeReader reader = new CsvSwiftCodeReader();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_ShouldStreamDataRowsWithTrimmedTextAndMissingCellsAsNull() throws Exception {
+        File file = tempDir.resolve("codes.csv").toFile();
+        Files.writeString(file.toPath(), "\uFEFFCOUNTRY ISO2 CODE,SWIFT CODE,CODE TYPE,NAME,ADDRESS,TOWN NAME,COUNTRY NAME,TIME ZONE\r\n"
+                + "pl, BREXPLPWXXX ,BIC11,\"MBANK, S.A.\",\"UL. \"\"PROSTA\"\" 18\\A\",WARSZAWA,POLAND,Europe/Warsaw\r\n"
+                + "\r\n"
+                + ",BREXPLPW123,,,  ,\"MULTI\nLINE\"\n");
+
+        List<SwiftCodeRow> rows = new ArrayList<>();
+        int count = reader.read(file, rows::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(rows.get(0)).isEqualTo(new SwiftCodeRow(1, "pl", "BREXPLPWXXX", "BIC11", "MBANK, S.A.",
+                "UL. \"PROSTA\" 18\\A", "WARSZAWA", "POLAND", "Europe/Warsaw"));
+        assertThat(rows.get(1)).isEqualTo(new SwiftCodeRow(3, null, "BREXPLPW123", null, null,
+                null, "MULTI\nLINE", null, null));
+    }
+
+    @Test
+    void read_WithMissingFile_ShouldThrow() {
+        File missing = tempDir.resolve("missing.csv").toFile();
+
+        assertThrows(IOException.class, () -> reader.read(missing, row -> { }));
+    }
+
+    @Test
+    void supports_ShouldMatchCsvFilesOnly() {
+        assertThat(reader.supports(new File("SWIFT_CODES.CSV"))).isTrue();
+        assertThat(reader.supports(new File("swift_codes.xlsx"))).isFalse();
+        assertThat(new XlsxSwiftCodeReader().supports(new File("swift_codes.xlsx"))).isTrue();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.swiftcodeapi.importer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Timeout(30)
+class ImportPipelineUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void run_ShouldWriteEveryNormalizedRowOfEverySourceInFullChunks() throws Exception {
+        ImportPipeline<String> pipeline = new ImportPipeline<>(3, 2, 700, meterRegistry);
+        List<List<String>> chunks = Collections.synchronizedList(new ArrayList<>());
+
+        int written = pipeline.run(List.of(source("A", 1_234), source("B", 2_000)),
+                row -> row.rowNumber() % 10 == 0 ? null : row.swiftCode(), chunks::add);
+
+        List<String> codes = chunks.stream().flatMap(List::stream).toList();
+        assertEquals(2_911, written);
+        assertThat(codes).hasSize(2_911).doesNotHaveDuplicates().contains("A1", "A1234", "B1999").doesNotContain("A10");
+        assertThat(chunks.subList(0, chunks.size() - 1)).allMatch(chunk -> chunk.size() == 700);
+        assertEquals(3_234.0, meterRegistry.counter("swiftcode.import.rows", "stage", "read").count());
+        assertEquals(3_234.0, meterRegistry.counter("swiftcode.import.rows", "stage", "normalize").count());
+        assertEquals(2_911.0, meterRegistry.counter("swiftcode.import.rows", "stage", "write").count());
+    }
+
+    @Test
+    void run_WithNoSources_ShouldWriteNothing() throws Exception {
+        List<List<String>> chunks = new ArrayList<>();
+
+        int written = new ImportPipeline<String>(2, 1, 10, meterRegistry).run(List.of(), SwiftCodeRow::swiftCode, chunks::add);
+
+        assertEquals(0, written);
+        assertThat(chunks).isEmpty();
+    }
+
+    @Test
+    void run_WhenSourceFails_ShouldRethrowItsException() {
+        ImportPipeline.RowSource broken = consumer -> {
+            consumer.accept(row("X", 1));
+            throw new IOException("broken file");
+        };
+
+        IOException e = assertThrows(IOException.class, () -> new ImportPipeline<String>(2, 1, 10, meterRegistry)
+                .run(List.of(source("A", 5_000), broken), SwiftCodeRow::swiftCode, chunk -> { }));
+
+        assertEquals("broken file", e.getMessage());
+    }
+
+    @Test
+    void run_WhenSinkFails_ShouldStopReadersBlockedOnFullQueues() {
+        AtomicInteger produced = new AtomicInteger();
+        ImportPipeline.RowSource endless = consumer -> {
+            for (int i = 1; ; i++) {
+                consumer.accept(row("A", i));
+                produced.incrementAndGet();
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> new ImportPipeline<String>(1, 1, 10, meterRegistry)
+                .run(List.of(endless), SwiftCodeRow::swiftCode, chunk -> {
+                    throw new IllegalStateException("database down");
+                }));
+
+        // Bounded queues: the reader was at most a few batches ahead of the failed writer.
+        assertThat(produced.get()).isLessThan(10 * ImportPipeline.BATCH_SIZE);
+    }
+
+    private static ImportPipeline.RowSource source(String prefix, int rows) {
+        return consumer -> {
+            for (int i = 1; i <= rows; i++) {
+                consumer.accept(row(prefix, i));
+            }
+        };
+    }
+
+    private static SwiftCodeRow row(String prefix, int rowNumber) {
+        return new SwiftCodeRow(rowNumber, "PL", prefix + rowNumber, "BIC11", "BANK", null, null, "POLAND", null);
+    }
+}
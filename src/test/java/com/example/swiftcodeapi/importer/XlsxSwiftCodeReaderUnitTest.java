@@ -0,0 +1,74 @@
+package com.example.swiftcodeapi.importer;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class XlsxSwiftCodeReaderUnitTest {
+
+    private final XlsxSwiftCodeReader reader = new XlsxSwiftCodeReader();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_ShouldStreamDataRowsWithTrimmedTextAndMissingCellsAsNull() throws Exception {
+        File file = tempDir.resolve("codes.xlsx").toFile();
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Swift Codes");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("COUNTRY ISO2 CODE");
+            header.createCell(1).setCellValue("SWIFT CODE");
+
+            Row full = sheet.createRow(1);
+            String[] values = {"pl", " BREXPLPWXXX ", "BIC11", "MBANK", "UL. PROSTA 18", "WARSZAWA", "POLAND", "Europe/Warsaw"};
+            for (int i = 0; i < values.length; i++) {
+                full.createCell(i).setCellValue(values[i]);
+            }
+
+            Row sparse = sheet.createRow(3);
+            sparse.createCell(1).setCellValue("BREXPLPW123");
+            sparse.createCell(4).setCellValue(42);
+
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                workbook.write(out);
+            }
+        }
+
+        List<SwiftCodeRow> rows = new ArrayList<>();
+        int count = reader.read(file, rows::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(rows.get(0)).isEqualTo(new SwiftCodeRow(1, "pl", "BREXPLPWXXX", "BIC11", "MBANK",
+                "UL. PROSTA 18", "WARSZAWA", "POLAND", "Europe/Warsaw"));
+        assertThat(rows.get(1)).isEqualTo(new SwiftCodeRow(3, null, "BREXPLPW123", null, null,
+                "42", null, null, null));
+    }
+
+    @Test
+    void read_WithMissingFile_ShouldThrow() {
+        File missing = tempDir.resolve("missing.xlsx").toFile();
+
+        assertThrows(IOException.class, () -> reader.read(missing, row -> { }));
+    }
+
+    @Test
+    void columnIndex_ShouldDecodeColumnLetters() {
+        assertThat(XlsxSwiftCodeReader.columnIndex("A1")).isZero();
+        assertThat(XlsxSwiftCodeReader.columnIndex("H12")).isEqualTo(7);
+        assertThat(XlsxSwiftCodeReader.columnIndex("AA3")).isEqualTo(26);
+    }
+}
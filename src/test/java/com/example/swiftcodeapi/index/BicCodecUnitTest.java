@@ -0,0 +1,52 @@
+package com.example.swiftcodeapi.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BicCodecUnitTest {
+
+    @Test
+    void encode_ShouldRoundTripEightAndElevenCharacterCodes() {
+        for (String code : List.of("BNPAFRPPXXX", "BNPAFRPP123", "BNPAFRPP", "AAAAAA00", "ZZZZZZZZZZZ", "DEUTDEFF500")) {
+            long key = BicCodec.encode(code);
+            assertThat(key).isPositive();
+            assertThat(BicCodec.decode(key)).isEqualTo(code);
+        }
+    }
+
+    @Test
+    void encode_ShouldRejectCodesNotMatchingTheRequestPattern() {
+        assertThat(BicCodec.encode(null)).isEqualTo(BicCodec.INVALID);
+        assertThat(BicCodec.encode("")).isEqualTo(BicCodec.INVALID);
+        assertThat(BicCodec.encode("HSBC1XXX")).isEqualTo(BicCodec.INVALID);
+        assertThat(BicCodec.encode("bnpafrppxxx")).isEqualTo(BicCodec.INVALID);
+        assertThat(BicCodec.encode("BNPAFRPPXX")).isEqualTo(BicCodec.INVALID);
+        assertThat(BicCodec.encode("BNPAFRPP-XX")).isEqualTo(BicCodec.INVALID);
+        assertThat(BicCodec.isValid("BNPAFRPP")).isTrue();
+    }
+
+    @Test
+    void encode_ShouldPreserveLexicographicOrder() {
+        List<String> codes = new ArrayList<>(List.of("BNPAFRPPXXX", "BNPAFRPP", "BNPAFRPP123", "AAISALTRXXX", "BNPAFRP1XXX", "BNPAFRPPA00"));
+        List<String> byKey = new ArrayList<>(codes);
+        codes.sort(null);
+        byKey.sort((a, b) -> Long.compare(BicCodec.encode(a), BicCodec.encode(b)));
+
+        assertThat(byKey).isEqualTo(codes);
+    }
+
+    @Test
+    void prefixRange_ShouldCoverTheHeadquarterAndItsBranches() {
+        long branch = BicCodec.encode("BNPAFRPP123");
+        long headquarter = BicCodec.encode("BNPAFRPPXXX");
+
+        assertThat(BicCodec.prefixRangeStart(branch)).isEqualTo(BicCodec.prefixRangeStart(headquarter));
+        assertThat(BicCodec.encode("BNPAFRPP")).isEqualTo(BicCodec.prefixRangeStart(headquarter));
+        assertThat(branch).isBetween(BicCodec.prefixRangeStart(headquarter), BicCodec.prefixRangeEnd(headquarter) - 1);
+        assertThat(BicCodec.encode("BNPAFRPQ")).isGreaterThanOrEqualTo(BicCodec.prefixRangeEnd(headquarter));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.swiftcodeapi.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterUnitTest {
+
+    @Test
+    void mightContain_ShouldNeverMissAnAddedCode() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        List<String> codes = codes(10_000, 0);
+        codes.forEach(filter::add);
+
+        assertThat(codes).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void mightContain_ShouldStayNearTargetFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        codes(10_000, 0).forEach(filter::add);
+
+        long falsePositives = codes(100_000, 10_000).stream().filter(filter::mightContain).count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveProbability()).isBetween(0.005, 0.02);
+    }
+
+    @Test
+    void mightContain_ShouldHandleCodesThatAreNotBicShaped() {
+        BloomFilter filter = BloomFilter.create(16, 0.01);
+        filter.add("not a bic");
+
+        assertThat(filter.mightContain("not a bic")).isTrue();
+        assertThat(filter.expectedFalsePositiveProbability()).isLessThan(0.01);
+    }
+
+    private static List<String> codes(int count, int offset) {
+        List<String> codes = new ArrayList<>(count);
+        for (int i = offset; i < offset + count; i++) {
+            StringBuilder bank = new StringBuilder();
+            for (int n = i, j = 0; j < 4; j++, n /= 26) {
+                bank.append((char) ('A' + n % 26));
+            }
+            codes.add(bank + "PL" + (char) ('A' + i / 456_976 % 26) + "W" + "XXX");
+        }
+        return codes;
+    }
+}
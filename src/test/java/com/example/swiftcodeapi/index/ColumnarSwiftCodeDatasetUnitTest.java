@@ -0,0 +1,140 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarSwiftCodeDatasetUnitTest {
+
+    private final List<SwiftCodeEntry> entries = List.of(
+            new SwiftCodeEntry("BNPAFRPPXXX", "BNP PARIBAS", "16 BOULEVARD DES ITALIENS, PARIS", "BIC11", "PARIS",
+                    "FR", "FRANCE", true, null, "Europe/Paris"),
+            new SwiftCodeEntry("BNPAFRPP123", "BNP PARIBAS", "PARIS", "BIC11", "PARIS",
+                    "FR", "FRANCE", false, "BNPAFRPPXXX", "Europe/Paris"),
+            new SwiftCodeEntry("BNPAFRPPABC", "BNP PARIBAS", ", PARIS", "BIC11", "PARIS",
+                    "FR", "FRANCE", false, "SOMEHQXXXXX", "Europe/Paris"),
+            new SwiftCodeEntry("BNPAFRPQ", "BNP PARIBAS", "", null, null,
+                    "FR", "FRANCE", true, null, null),
+            new SwiftCodeEntry("BREXPLPWXXX", "MBANK S.A.", "PROSTA 18", "BIC11", "WARSZAWA",
+                    "PL", "POLAND", true, null, "Europe/Warsaw"),
+            new SwiftCodeEntry("BREXPLPW001", "MBANK S.A.", "WARSZAWA, PROSTA 18", "BIC11", "WARSZAWA",
+                    "PL", "POLAND", false, "BREXPLPWXXX", "Europe/Warsaw"),
+            new SwiftCodeEntry("AAAAPLPWXXX", null, null, null, "", "PL", "POLAND", true, null, null),
+            new SwiftCodeEntry("legacy-code", "OLD BANK", "OLD STREET, KRAKOW", "BIC11", "KRAKOW",
+                    "PL", "POLAND", false, "legacy-cXXX", "Europe/Warsaw"),
+            new SwiftCodeEntry("ZÜRICHXXXXX", "ZÜRCHER KANTONALBANK", "", null, "ZÜRICH",
+                    "CH", "SWITZERLAND", true, null, null),
+            new SwiftCodeEntry("NOCOUNTRYXX", "NOWHERE BANK", null, null, null, null, null, false, null, null));
+
+    private final ColumnarSwiftCodeDataset columns = ColumnarSwiftCodeDataset.of(entries);
+    private final SwiftCodeSnapshot snapshot = SwiftCodeSnapshot.of(entries);
+
+    @Test
+    void entries_ShouldRoundTripEveryColumn() {
+        assertThat(columns.entries()).containsExactlyInAnyOrderElementsOf(entries);
+        assertThat(columns.entries()).extracting(SwiftCodeEntry::getSwiftCode).isSorted();
+        assertThat(columns.size()).isEqualTo(entries.size());
+    }
+
+    @Test
+    void find_ShouldMatchTheSnapshot() {
+        for (String code : List.of("BNPAFRPPXXX", "BNPAFRPQ", "legacy-code", "ZÜRICHXXXXX", "NOCOUNTRYXX",
+                "BNPAFRPP999", "legacy", "")) {
+            assertThat(columns.find(code)).as(code).isEqualTo(snapshot.find(code));
+        }
+    }
+
+    @Test
+    void findByCountry_ShouldPageLikeTheSnapshot() {
+        for (String country : List.of("FR", "PL", "CH", "DE")) {
+            assertThat(columns.findByCountry(country)).as(country).isEqualTo(snapshot.findByCountry(country));
+            for (String after : List.of("", "AAAAPLPWXXX", "BNPAFRPP", "BREXPLPWXXX", "legacy-code")) {
+                for (int limit : List.of(1, 2, 10)) {
+                    assertThat(columns.findByCountry(country, after, limit)).as(country + " " + after + " " + limit)
+                            .isEqualTo(snapshot.findByCountry(country, after, limit));
+                }
+            }
+        }
+        assertThat(columns.findByCountry(null)).isEqualTo(snapshot.findByCountry(null));
+    }
+
+    @Test
+    void findBranches_ShouldMatchTheSnapshot() {
+        for (String headquarter : List.of("BNPAFRPPXXX", "BNPAFRPQ", "BREXPLPWXXX", "legacy-code")) {
+            assertThat(columns.findBranches(headquarter)).as(headquarter).isEqualTo(snapshot.findBranches(headquarter));
+            assertThat(columns.findBranches(headquarter, "BNPAFRPP123", 1))
+                    .isEqualTo(snapshot.findBranches(headquarter, "BNPAFRPP123", 1));
+        }
+    }
+
+    @Test
+    void withAndWithout_ShouldReturnAnUpdatedCopy() {
+        SwiftCodeEntry added = new SwiftCodeEntry("BNPAFRPP456", "BNP PARIBAS", "1 RUE DE LA PAIX, PARIS", "BIC11",
+                "PARIS", "FR", "FRANCE", false, "BNPAFRPPXXX", "Europe/Paris");
+
+        ColumnarSwiftCodeDataset updated = columns.with(added).without("BNPAFRPP123");
+
+        assertThat(updated.find("BNPAFRPP456")).contains(added);
+        assertThat(updated.find("BNPAFRPP123")).isEmpty();
+        assertThat(columns.find("BNPAFRPP123")).isPresent();
+        List<SwiftCodeEntry> expected = new ArrayList<>(entries);
+        expected.remove(1);
+        expected.add(added);
+        assertThat(updated.entries()).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(columns.without("BNPAFRPP999")).isSameAs(columns);
+    }
+
+    @Test
+    void suggestionsAndSearch_ShouldMatchTheSnapshotAcrossWrites() {
+        SwiftCodeEntry added = new SwiftCodeEntry("MBANPLPW001", "MBANK HIPOTECZNY", "KRAKOWSKA 1, WARSZAWA", "BIC11",
+                "WARSZAWA", "PL", "POLAND", false, "MBANPLPWXXX", "Europe/Warsaw");
+        ColumnarSwiftCodeDataset updatedColumns = columns.with(added).without("BREXPLPW001");
+        SwiftCodeSnapshot updatedSnapshot = snapshot.with(added).without("BREXPLPW001");
+
+        for (String query : List.of("BNP", "mbank", "BREXPLPW", "z")) {
+            assertThat(columns.suggestions().suggest(query, 10)).as(query)
+                    .isEqualTo(snapshot.suggestions().suggest(query, 10))
+                    .isNotEmpty();
+            assertThat(updatedColumns.suggestions().suggest(query, 10)).as(query)
+                    .isEqualTo(updatedSnapshot.suggestions().suggest(query, 10));
+        }
+        for (String query : List.of("paribas", "warszawa", "prosta")) {
+            assertThat(columns.textIndex().search(query, null, 10)).as(query)
+                    .isEqualTo(snapshot.textIndex().search(query, null, 10))
+                    .isNotEmpty();
+            assertThat(updatedColumns.textIndex().search(query, "PL", 10)).as(query)
+                    .isEqualTo(updatedSnapshot.textIndex().search(query, "PL", 10));
+        }
+    }
+
+    @Test
+    void dictionaries_ShouldUseTheNarrowestIdsThatFit() {
+        DictionaryColumn small = column(300, 150);
+        DictionaryColumn large = column(300, 300);
+
+        assertThat(small.cardinality()).isEqualTo(151);
+        assertThat(small.get(0)).isNull();
+        assertThat(small.get(299)).isEqualTo("value-149");
+        assertThat(ReflectionTestUtils.getField(small, "byteIds")).isNotNull();
+        assertThat(large.get(299)).isEqualTo("value-299");
+        assertThat(large.id(299)).isEqualTo(299);
+        assertThat(ReflectionTestUtils.getField(large, "shortIds")).isNotNull();
+    }
+
+    /**
+     * A column of {@code rows} rows cycling through {@code distinct} values, with a null first row.
+     */
+    private static DictionaryColumn column(int rows, int distinct) {
+        DictionaryColumn.Builder builder = new DictionaryColumn.Builder();
+        int[] ids = new int[rows];
+        for (int row = 1; row < rows; row++) {
+            ids[row] = builder.id("value-" + row % distinct);
+        }
+        return builder.column(ids);
+    }
+}
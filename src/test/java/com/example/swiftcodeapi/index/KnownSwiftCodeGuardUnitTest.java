@@ -0,0 +1,81 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.event.SwiftCodeChangedEvent;
+import com.example.swiftcodeapi.event.SwiftCodesImportedEvent;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KnownSwiftCodeGuardUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SwiftCodeSnapshotHolder snapshotHolder = mock(SwiftCodeSnapshotHolder.class);
+    private KnownSwiftCodeGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        guard = new KnownSwiftCodeGuard(snapshotHolder, meterRegistry, true, 0.01);
+    }
+
+    @Test
+    void isDefinitelyAbsent_BeforeFirstImport_ShouldRejectNothing() {
+        assertThat(guard.isDefinitelyAbsent("BNPAFRPPXXX")).isFalse();
+        assertThat(meterRegistry.counter("swiftcode.bloom.rejections").count()).isZero();
+    }
+
+    @Test
+    void isDefinitelyAbsent_WhenDisabled_ShouldRejectNothing() {
+        guard = new KnownSwiftCodeGuard(snapshotHolder, meterRegistry, false, 0.01);
+        importCodes("BNPAFRPPXXX");
+
+        assertThat(guard.isDefinitelyAbsent("DEUTDEFFXXX")).isFalse();
+    }
+
+    @Test
+    void isDefinitelyAbsent_AfterImport_ShouldRejectUnknownCodesAndCountThem() {
+        importCodes("BNPAFRPPXXX", "SOGEFRPP001");
+
+        assertThat(guard.isDefinitelyAbsent("BNPAFRPPXXX")).isFalse();
+        assertThat(guard.isDefinitelyAbsent("SOGEFRPP001")).isFalse();
+        assertThat(guard.isDefinitelyAbsent("DEUTDEFFXXX")).isTrue();
+        assertThat(meterRegistry.counter("swiftcode.bloom.rejections").count()).isEqualTo(1);
+    }
+
+    @Test
+    void onChanged_ShouldAdmitAddedCodes() {
+        importCodes("BNPAFRPPXXX");
+
+        guard.onChanged(SwiftCodeChangedEvent.added(entry("DEUTDEFFXXX")));
+
+        assertThat(guard.isDefinitelyAbsent("DEUTDEFFXXX")).isFalse();
+    }
+
+    @Test
+    void recordFalsePositive_ShouldFeedObservedRate() {
+        importCodes("BNPAFRPPXXX");
+        guard.isDefinitelyAbsent("DEUTDEFFXXX");
+        guard.recordFalsePositive();
+
+        assertThat(meterRegistry.get("swiftcode.bloom.false.positive.rate").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("swiftcode.bloom.expected.false.positive.probability").gauge().value())
+                .isBetween(0.0, 0.01);
+    }
+
+    private void importCodes(String... codes) {
+        List<SwiftCodeEntry> entries = Arrays.stream(codes).map(KnownSwiftCodeGuardUnitTest::entry).toList();
+        when(snapshotHolder.current()).thenReturn(SwiftCodeSnapshot.of(entries));
+        guard.onImported(new SwiftCodesImportedEvent());
+    }
+
+    private static SwiftCodeEntry entry(String code) {
+        return SwiftCodeEntry.builder().swiftCode(code).countryISO2(code.substring(4, 6)).build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.swiftcodeapi.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongObjectHashMapUnitTest {
+
+    @Test
+    void putGetRemove_ShouldBehaveLikeAHashMap() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(4);
+        Map<Long, String> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            long key = 1 + random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(reference.remove(key));
+            } else {
+                String value = "v" + i;
+                assertThat(map.put(key, value)).isEqualTo(reference.put(key, value));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(reference.size());
+        for (long key = 1; key <= 2_000; key++) {
+            assertThat(map.get(key)).isEqualTo(reference.get(key));
+        }
+        assertThat(map.values()).containsExactlyInAnyOrderElementsOf(reference.values());
+    }
+
+    @Test
+    void copy_ShouldBeIndependent() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(7L, "seven");
+
+        LongObjectHashMap<String> copy = map.copy();
+        copy.put(8L, "eight");
+        copy.remove(7L);
+
+        assertThat(map.get(7L)).isEqualTo("seven");
+        assertThat(map.containsKey(8L)).isFalse();
+        assertThat(copy.get(8L)).isEqualTo("eight");
+    }
+
+    @Test
+    void put_WithReservedKey_ShouldThrow() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, "zero"));
+        assertThat(map.get(0L)).isNull();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedSwiftCodeDatasetUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<SwiftCodeEntry> entries = List.of(
+            entry("BNPAFRPPXXX", "FR", true),
+            entry("BNPAFRPP123", "FR", false),
+            entry("BNPAFRPPABC", "FR", false),
+            entry("BNPAFRPQXXX", "FR", true),
+            entry("BREXPLPWXXX", "PL", true),
+            entry("BREXPLPW001", "PL", false),
+            entry("AAAAPLPWXXX", "PL", true),
+            entry("legacy-code", "PL", false),
+            entry("NOCOUNTRYXX", null, false));
+
+    private MappedSwiftCodeDataset mapped;
+    private SwiftCodeSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = tempDir.resolve("swift-codes.snapshot");
+        SnapshotFile.write(file, "checksum-1", entries);
+        mapped = SnapshotFile.map(file);
+        snapshot = SwiftCodeSnapshot.of(entries);
+    }
+
+    @Test
+    void find_ShouldMatchTheSnapshot() {
+        for (String code : List.of("BNPAFRPPXXX", "BNPAFRPP123", "AAAAPLPWXXX", "legacy-code", "NOCOUNTRYXX",
+                "BNPAFRPP", "BNPAFRPP999", "ZZZZZZZZZZZ", "A", "", "FAR-TOO-LONG-CODE")) {
+            assertThat(mapped.find(code)).as(code).isEqualTo(snapshot.find(code));
+        }
+        assertThat(mapped.size()).isEqualTo(entries.size());
+    }
+
+    @Test
+    void findByCountry_ShouldReturnTheCountryInCodeOrder() {
+        assertThat(mapped.findByCountry("PL")).extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("AAAAPLPWXXX", "BREXPLPW001", "BREXPLPWXXX", "legacy-code");
+        assertThat(mapped.findByCountry("FR")).isEqualTo(snapshot.findByCountry("FR"));
+        assertThat(mapped.findByCountry(null)).isEqualTo(snapshot.findByCountry(null));
+        assertThat(mapped.findByCountry("DE")).isEmpty();
+    }
+
+    @Test
+    void findByCountry_WithCursor_ShouldPageLikeTheSnapshot() {
+        for (String after : List.of("", "AAAAPLPWXXX", "BREXPLPW", "BREXPLPWXXX", "legacy-code", "BREXPLPW001-AND-MORE")) {
+            for (int limit : List.of(1, 2, 10)) {
+                assertThat(mapped.findByCountry("PL", after, limit)).as(after + "/" + limit)
+                        .isEqualTo(snapshot.findByCountry("PL", after, limit));
+            }
+        }
+    }
+
+    @Test
+    void findBranches_ShouldReturnTheBranchesOfTheHeadquarterOnly() {
+        assertThat(mapped.findBranches("BNPAFRPPXXX")).extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("BNPAFRPP123", "BNPAFRPPABC");
+        assertThat(mapped.findBranches("BNPAFRPQXXX")).isEmpty();
+        assertThat(mapped.findBranches("legacy-code")).isEmpty();
+        for (String headquarter : List.of("BNPAFRPPXXX", "BREXPLPWXXX", "AAAAPLPWXXX")) {
+            assertThat(mapped.findBranches(headquarter)).isEqualTo(snapshot.findBranches(headquarter));
+            assertThat(mapped.findBranches(headquarter, "BNPAFRPP123", 1))
+                    .isEqualTo(snapshot.findBranches(headquarter, "BNPAFRPP123", 1));
+        }
+    }
+
+    @Test
+    void entries_ShouldReturnEveryEntryInCodeOrder() {
+        assertThat(mapped.entries()).containsExactlyInAnyOrderElementsOf(entries);
+        assertThat(mapped.entries()).extracting(SwiftCodeEntry::getSwiftCode).isSorted();
+        assertThat(mapped.suggestions().suggest("BNP", 10)).isEmpty();
+    }
+
+    private static SwiftCodeEntry entry(String swiftCode, String countryISO2, boolean headquarter) {
+        return new SwiftCodeEntry(swiftCode, "BANK " + swiftCode.charAt(0), "ADDRESS", "BIC11", "TOWN", countryISO2,
+                countryISO2 == null ? null : "COUNTRY " + countryISO2, headquarter,
+                headquarter ? null : swiftCode.substring(0, Math.min(8, swiftCode.length())) + "XXX", "Europe/Warsaw");
+    }
+}
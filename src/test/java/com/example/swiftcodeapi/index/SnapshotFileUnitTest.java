@@ -0,0 +1,86 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SnapshotFileUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<SwiftCodeEntry> entries = List.of(
+            new SwiftCodeEntry("BNPAFRPPXXX", "BNP PARIBAS", "16 BOULEVARD DES ITALIENS, PARIS", "BIC11", "PARIS",
+                    "FR", "FRANCE", true, null, "Europe/Paris"),
+            new SwiftCodeEntry("BNPAFRPP123", "BNP PARIBAS", null, "BIC11", null,
+                    "FR", "FRANCE", false, "BNPAFRPPXXX", "Europe/Paris"),
+            new SwiftCodeEntry("BREXPLPWXXX", "MBANK S.A. (FORMERLY BRE BANK S.A.)", "PROSTA 18, WARSZAWA", "BIC11", "WARSZAWA",
+                    "PL", "POLAND", true, null, "Europe/Warsaw"),
+            new SwiftCodeEntry("ZÜRICHXXXXX", "ZÜRCHER KANTONALBANK", "", null, "ZÜRICH",
+                    "CH", "SWITZERLAND", true, null, null));
+
+    @Test
+    void read_ShouldReturnTheWrittenEntries() throws Exception {
+        Path file = tempDir.resolve("snapshot/swift-codes.snapshot");
+
+        SnapshotFile.write(file, "checksum-1", entries);
+
+        // Records are stored sorted by code.
+        assertThat(SnapshotFile.read(file, "checksum-1")).contains(List.of(entries.get(1), entries.get(0), entries.get(2), entries.get(3)));
+        assertThat(tempDir.resolve("snapshot")).isDirectoryContaining(path -> path.equals(file))
+                .isDirectoryNotContaining(path -> path.toString().endsWith(".tmp"));
+    }
+
+    @Test
+    void read_ShouldShareRepeatedStrings() throws Exception {
+        Path file = tempDir.resolve("swift-codes.snapshot");
+        SnapshotFile.write(file, "checksum-1", entries);
+
+        List<SwiftCodeEntry> read = SnapshotFile.read(file, "checksum-1").orElseThrow();
+
+        assertThat(read.get(0).getCountryName()).isSameAs(read.get(1).getCountryName());
+        assertThat(read.get(0).getBankName()).isSameAs(read.get(1).getBankName());
+    }
+
+    @Test
+    void read_WithMissingFileOrOtherDataset_ShouldReturnEmpty() throws Exception {
+        Path file = tempDir.resolve("swift-codes.snapshot");
+        assertThat(SnapshotFile.read(file, "checksum-1")).isEmpty();
+
+        SnapshotFile.write(file, "checksum-1", entries);
+
+        assertThat(SnapshotFile.read(file, "checksum-2")).isEmpty();
+    }
+
+    @Test
+    void read_WithCorruptOrTruncatedFile_ShouldThrow() throws Exception {
+        Path file = tempDir.resolve("swift-codes.snapshot");
+        SnapshotFile.write(file, "checksum-1", entries);
+        byte[] bytes = Files.readAllBytes(file);
+
+        bytes[bytes.length - 20] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> SnapshotFile.read(file, "checksum-1"));
+
+        Files.write(file, Arrays.copyOf(bytes, 30));
+        assertThrows(IOException.class, () -> SnapshotFile.read(file, "checksum-1"));
+    }
+
+    @Test
+    void write_WithNoEntries_ShouldRoundTrip() throws Exception {
+        Path file = tempDir.resolve("swift-codes.snapshot");
+
+        SnapshotFile.write(file, "checksum-1", List.of());
+
+        assertThat(SnapshotFile.read(file, "checksum-1")).contains(List.of());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.dtos.SuggestionDto;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SuggestionIndexUnitTest {
+
+    private static SwiftCodeEntry entry(String swiftCode, String bankName) {
+        return SwiftCodeEntry.builder()
+                .swiftCode(swiftCode)
+                .bankName(bankName)
+                .countryISO2(swiftCode.substring(4, 6))
+                .isHeadquarter(swiftCode.endsWith("XXX"))
+                .build();
+    }
+
+    private final SuggestionIndex index = SuggestionIndex.of(List.of(
+            entry("BNPAFRPPXXX", "BNP PARIBAS"),
+            entry("BNPAFRPP123", "BNP Paribas"),
+            entry("BCITITMMXXX", "INTESA SANPAOLO"),
+            entry("AAISALTRXXX", "UNITED BANK OF ALBANIA")
+    ));
+
+    @Test
+    void suggest_ShouldReturnCodesAndDeduplicatedBankNamesInAlphabeticalOrder() {
+        List<SuggestionDto> suggestions = index.suggest("bnp", 10);
+
+        assertThat(suggestions)
+                .extracting(SuggestionDto::getType, SuggestionDto::getText)
+                .containsExactly(
+                        tuple(SuggestionDto.TYPE_BANK, "BNP PARIBAS"),
+                        tuple(SuggestionDto.TYPE_SWIFT_CODE, "BNPAFRPP123"),
+                        tuple(SuggestionDto.TYPE_SWIFT_CODE, "BNPAFRPPXXX"));
+        assertThat(suggestions.get(0).getSwiftCodeCount()).isEqualTo(2);
+        assertThat(suggestions.get(1).getCountryISO2()).isEqualTo("FR");
+    }
+
+    @Test
+    void suggest_ShouldHonourLimitAndIgnoreBlankQueries() {
+        assertThat(index.suggest("B", 2)).hasSize(2);
+        assertThat(index.suggest("  ", 10)).isEmpty();
+        assertThat(index.suggest("ZZZ", 10)).isEmpty();
+        assertThat(index.suggest("united  bank", 10))
+                .extracting(SuggestionDto::getText)
+                .containsExactly("UNITED BANK OF ALBANIA");
+    }
+
+    @Test
+    void withAndWithout_ShouldKeepCodesAndBankCountsCurrent() {
+        SuggestionIndex added = index.with(entry("BNPAFRPP456", "BNP PARIBAS"));
+
+        assertThat(added.suggest("BNPAFRPP4", 10)).extracting(SuggestionDto::getSwiftCode).containsExactly("BNPAFRPP456");
+        assertThat(added.suggest("BNP P", 10).get(0).getSwiftCodeCount()).isEqualTo(3);
+        assertThat(index.suggest("BNPAFRPP4", 10)).isEmpty();
+
+        SuggestionIndex removed = index.without(entry("BCITITMMXXX", "INTESA SANPAOLO"));
+
+        assertThat(removed.suggest("INTESA", 10)).isEmpty();
+        assertThat(removed.suggest("BCIT", 10)).isEmpty();
+        assertThat(removed.size()).isEqualTo(index.size() - 2);
+    }
+
+    @Test
+    void normalize_ShouldMatchTheRegexCollapse() {
+        for (String text : List.of("", "   ", "bnp paribas", "  BNP \t\n PARIBAS  ", "a\fb\u000Bc", "x  y z\r")) {
+            assertThat(SuggestionIndex.normalize(text))
+                    .isEqualTo(text.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT));
+        }
+        assertThat(SuggestionIndex.normalize(null)).isEmpty();
+    }
+}
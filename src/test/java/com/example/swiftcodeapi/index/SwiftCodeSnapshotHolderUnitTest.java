@@ -0,0 +1,132 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.event.SwiftCodeChangedEvent;
+import com.example.swiftcodeapi.event.SwiftCodesImportedEvent;
+import com.example.swiftcodeapi.model.ImportState;
+import com.example.swiftcodeapi.model.SwiftCode;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import com.example.swiftcodeapi.repository.ImportStateRepository;
+import com.example.swiftcodeapi.repository.SwiftCodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SwiftCodeSnapshotHolderUnitTest {
+
+    @Mock
+    private SwiftCodeRepository swiftCodeRepository;
+
+    @Mock
+    private ImportStateRepository importStateRepository;
+
+    @InjectMocks
+    private SwiftCodeSnapshotHolder snapshotHolder;
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        file = tempDir.resolve("swift-codes.snapshot");
+        ReflectionTestUtils.setField(snapshotHolder, "enabled", true);
+        ReflectionTestUtils.setField(snapshotHolder, "snapshotFile", file.toString());
+        when(swiftCodeRepository.findAll()).thenReturn(List.of(code("BNPAFRPPXXX"), code("BNPAFRPP123")));
+        when(swiftCodeRepository.count()).thenReturn(2L);
+        importedWithChecksum("checksum-1");
+    }
+
+    @Test
+    void onImported_ShouldLoadFromTheFileWrittenByThePreviousLoad() {
+        snapshotHolder.onImported(new SwiftCodesImportedEvent());
+        assertThat(file).exists();
+
+        SwiftCodeSnapshotHolder restarted = new SwiftCodeSnapshotHolder(swiftCodeRepository, importStateRepository);
+        ReflectionTestUtils.setField(restarted, "enabled", true);
+        ReflectionTestUtils.setField(restarted, "snapshotFile", file.toString());
+        restarted.onImported(new SwiftCodesImportedEvent());
+
+        verify(swiftCodeRepository, times(1)).findAll();
+        assertThat(restarted.isServing()).isTrue();
+        assertThat(restarted.current().findBranches("BNPAFRPPXXX"))
+                .extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("BNPAFRPP123");
+    }
+
+    @Test
+    void onImported_AfterAnotherImportOrWithOtherRowCount_ShouldLoadFromTheDatabase() {
+        snapshotHolder.onImported(new SwiftCodesImportedEvent());
+
+        importedWithChecksum("checksum-2");
+        snapshotHolder.onImported(new SwiftCodesImportedEvent());
+        when(swiftCodeRepository.count()).thenReturn(3L);
+        snapshotHolder.onImported(new SwiftCodesImportedEvent());
+
+        verify(swiftCodeRepository, times(3)).findAll();
+    }
+
+    @Test
+    void onChanged_ShouldDeleteTheFile() {
+        snapshotHolder.onImported(new SwiftCodesImportedEvent());
+
+        snapshotHolder.onChanged(SwiftCodeChangedEvent.deleted(SwiftCodeEntry.from(code("BNPAFRPP123"))));
+
+        assertThat(file).doesNotExist();
+        assertThat(snapshotHolder.current().find("BNPAFRPP123")).isEmpty();
+    }
+
+    @Test
+    void columnar_ShouldLoadAndApplyChangesToTheColumns() {
+        ReflectionTestUtils.setField(snapshotHolder, "columnar", true);
+        snapshotHolder.onImported(new SwiftCodesImportedEvent());
+
+        snapshotHolder.onChanged(SwiftCodeChangedEvent.added(SwiftCodeEntry.from(code("BNPAFRPP456"))));
+        snapshotHolder.onChanged(SwiftCodeChangedEvent.deleted(SwiftCodeEntry.from(code("BNPAFRPP123"))));
+
+        assertThat(snapshotHolder.current()).isInstanceOf(ColumnarSwiftCodeDataset.class);
+        assertThat(snapshotHolder.current().findBranches("BNPAFRPPXXX"))
+                .extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("BNPAFRPP456");
+    }
+
+    @Test
+    void onImported_WithCorruptFile_ShouldLoadFromTheDatabase() throws Exception {
+        Files.writeString(file, "not a snapshot");
+
+        snapshotHolder.onImported(new SwiftCodesImportedEvent());
+
+        verify(swiftCodeRepository).findAll();
+        assertThat(snapshotHolder.current().size()).isEqualTo(2);
+    }
+
+    private void importedWithChecksum(String checksum) {
+        when(importStateRepository.findFirstByOrderByImportedAtDesc())
+                .thenReturn(Optional.of(new ImportState(ImportState.CONFIGURED_SOURCE, checksum, 2, Instant.now())));
+    }
+
+    private static SwiftCode code(String swiftCode) {
+        return SwiftCode.builder()
+                .swiftCode(swiftCode)
+                .bankName("BNP PARIBAS")
+                .countryISO2("FR")
+                .countryName("FRANCE")
+                .isHeadquarter(swiftCode.endsWith("XXX"))
+                .headquarterCode(swiftCode.endsWith("XXX") ? null : "BNPAFRPPXXX")
+                .build();
+    }
+}
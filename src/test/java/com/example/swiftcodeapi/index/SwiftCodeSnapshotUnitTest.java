@@ -0,0 +1,107 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwiftCodeSnapshotUnitTest {
+
+    private static SwiftCodeEntry entry(String swiftCode, String countryISO2) {
+        return SwiftCodeEntry.builder()
+                .swiftCode(swiftCode)
+                .bankName("BANK " + swiftCode)
+                .countryISO2(countryISO2)
+                .countryName("COUNTRY " + countryISO2)
+                .isHeadquarter(swiftCode.endsWith("XXX"))
+                .build();
+    }
+
+    private final SwiftCodeSnapshot snapshot = SwiftCodeSnapshot.of(List.of(
+            entry("BNPAFRPPXXX", "FR"),
+            entry("BNPAFRPP123", "FR"),
+            entry("BNPAFRPPABC", "FR"),
+            entry("AAISALTRXXX", "AL")
+    ));
+
+    @Test
+    void of_ShouldIndexByCodeCountryAndHeadquarter() {
+        assertThat(snapshot.size()).isEqualTo(4);
+        assertThat(snapshot.find("AAISALTRXXX")).isPresent();
+        assertThat(snapshot.find("UNKNOWN")).isEmpty();
+        assertThat(snapshot.findByCountry("FR"))
+                .extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("BNPAFRPP123", "BNPAFRPPABC", "BNPAFRPPXXX");
+        assertThat(snapshot.findBranches("BNPAFRPPXXX"))
+                .extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("BNPAFRPP123", "BNPAFRPPABC");
+        assertThat(snapshot.findBranches("AAISALTRXXX")).isEmpty();
+    }
+
+    @Test
+    void pagedLookups_ShouldStartAfterTheGivenCode() {
+        assertThat(snapshot.findByCountry("FR", "", 2))
+                .extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("BNPAFRPP123", "BNPAFRPPABC");
+        assertThat(snapshot.findByCountry("FR", "BNPAFRPPABC", 2))
+                .extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("BNPAFRPPXXX");
+        assertThat(snapshot.findBranches("BNPAFRPPXXX", "BNPAFRPP123", 10))
+                .extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("BNPAFRPPABC");
+        assertThat(snapshot.findBranches("BNPAFRPPXXX", "", 1)).hasSize(1);
+    }
+
+    @Test
+    void with_ShouldReturnNewSnapshotAndLeaveOriginalUntouched() {
+        SwiftCodeSnapshot updated = snapshot.with(entry("AAISALTR001", "AL"));
+
+        assertThat(updated.find("AAISALTR001")).isPresent();
+        assertThat(updated.findByCountry("AL")).hasSize(2);
+        assertThat(updated.findBranches("AAISALTRXXX")).hasSize(1);
+
+        assertThat(snapshot.find("AAISALTR001")).isEmpty();
+        assertThat(snapshot.findByCountry("AL")).hasSize(1);
+        assertThat(updated.findByCountry("FR")).isSameAs(snapshot.findByCountry("FR"));
+    }
+
+    @Test
+    void with_ExistingCode_ShouldReplaceEntry() {
+        SwiftCodeEntry moved = entry("BNPAFRPP123", "MC");
+
+        SwiftCodeSnapshot updated = snapshot.with(moved);
+
+        assertThat(updated.size()).isEqualTo(4);
+        assertThat(updated.find("BNPAFRPP123")).contains(moved);
+        assertThat(updated.findByCountry("FR")).hasSize(2);
+        assertThat(updated.findByCountry("MC")).containsExactly(moved);
+    }
+
+    @Test
+    void without_ShouldRemoveFromAllIndexes() {
+        SwiftCodeSnapshot updated = snapshot.without("BNPAFRPP123").without("AAISALTRXXX");
+
+        assertThat(updated.find("BNPAFRPP123")).isEmpty();
+        assertThat(updated.findBranches("BNPAFRPPXXX")).extracting(SwiftCodeEntry::getSwiftCode).containsExactly("BNPAFRPPABC");
+        assertThat(updated.findByCountry("AL")).isEmpty();
+        assertThat(updated.without("UNKNOWN")).isSameAs(updated);
+    }
+
+    @Test
+    void findBranches_ShouldScanOnlyTheHeadquarterPrefixRange() {
+        SwiftCodeSnapshot updated = snapshot
+                .with(entry("BNPAFRPO999", "FR"))
+                .with(entry("BNPAFRPQ001", "FR"))
+                .with(entry("BNPAFRPP", "FR"));
+
+        assertThat(updated.findBranches("BNPAFRPPXXX"))
+                .extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("BNPAFRPP", "BNPAFRPP123", "BNPAFRPPABC");
+        assertThat(updated.findBranches("BNPAFRPQXXX"))
+                .extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("BNPAFRPQ001");
+        assertThat(updated.findBranches("NOTABIC")).isEmpty();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.swiftcodeapi.index;
+
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexUnitTest {
+
+    private static SwiftCodeEntry entry(String swiftCode, String bankName, String townName, String address) {
+        return SwiftCodeEntry.builder()
+                .swiftCode(swiftCode)
+                .bankName(bankName)
+                .townName(townName)
+                .address(address)
+                .countryISO2(swiftCode.substring(4, 6))
+                .isHeadquarter(swiftCode.endsWith("XXX"))
+                .build();
+    }
+
+    private final TrigramIndex index = TrigramIndex.of(List.of(
+            entry("BNPAFRPPXXX", "BNP PARIBAS", "PARIS", "16 BOULEVARD DES ITALIENS"),
+            entry("BNPAPLPXXXX", "BNP PARIBAS BANK POLSKA", "WARSZAWA", "UL. KASPRZAKA 2"),
+            entry("BCITITMMXXX", "INTESA SANPAOLO", "MILANO", "PIAZZA DELLA SCALA 6"),
+            entry("AAISALTRXXX", "UNITED BANK OF ALBANIA", "TIRANA", "RRUGA DURRESIT")
+    ));
+
+    private static List<String> codes(List<TrigramIndex.Hit> hits) {
+        return hits.stream().map(hit -> hit.entry().getSwiftCode()).toList();
+    }
+
+    @Test
+    void search_ShouldTolerateTyposAndRankByTrigramOverlap() {
+        List<TrigramIndex.Hit> hits = index.search("parbas", null, 10);
+
+        assertThat(codes(hits)).containsExactly("BNPAFRPPXXX", "BNPAPLPXXXX");
+        assertThat(hits.get(0).score()).isGreaterThan(0.5);
+        assertThat(codes(index.search("intesa sanpaolo", null, 10))).containsExactly("BCITITMMXXX");
+        assertThat(codes(index.search("milano", null, 10))).containsExactly("BCITITMMXXX");
+        assertThat(index.search("zzzzzz", null, 10)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldApplyCountryFilterAndLimit() {
+        assertThat(codes(index.search("paribas", "pl", 10))).containsExactly("BNPAPLPXXXX");
+        assertThat(index.search("bank", null, 1)).hasSize(1);
+        assertThat(index.search("   ", null, 10)).isEmpty();
+    }
+
+    @Test
+    void withAndWithout_ShouldUpdatePostingsWithoutTouchingOriginal() {
+        TrigramIndex added = index.with(entry("INGBNL2AXXX", "ING BANK N.V.", "AMSTERDAM", "BIJLMERDREEF 106"));
+        TrigramIndex removed = added.without("BCITITMMXXX");
+
+        assertThat(codes(added.search("amsterdam", null, 10))).containsExactly("INGBNL2AXXX");
+        assertThat(index.search("amsterdam", null, 10)).isEmpty();
+        assertThat(removed.search("intesa", null, 10)).isEmpty();
+        assertThat(codes(removed.search("amsterdam", null, 10))).containsExactly("INGBNL2AXXX");
+        assertThat(removed.size()).isEqualTo(4);
+        assertThat(index.without("UNKNOWN")).isSameAs(index);
+    }
+
+    @Test
+    void without_ShouldCompactTombstones() {
+        TrigramIndex churned = index;
+        for (int i = 0; i < 200; i++) {
+            String code = String.format("TESTDE%02dXXX", i % 100);
+            churned = churned.with(entry(code, "TEST BANK " + i, "BERLIN", "")).without(code);
+        }
+
+        assertThat(churned.size()).isEqualTo(4);
+        assertThat((Object[]) ReflectionTestUtils.getField(churned, "documents")).hasSizeLessThan(4 + 64 + 1);
+        assertThat(codes(churned.search("parbas", null, 10))).containsExactly("BNPAFRPPXXX", "BNPAPLPXXXX");
+        assertThat(churned.search("berlin", null, 10)).isEmpty();
+    }
+}
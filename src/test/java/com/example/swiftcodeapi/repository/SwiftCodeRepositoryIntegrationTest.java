@@ -1,13 +1,23 @@
 package com.example.swiftcodeapi.repository;
 
+import com.example.swiftcodeapi.dtos.SwiftCodeDetailDto;
 import com.example.swiftcodeapi.model.SwiftCode;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,6 +29,9 @@ class SwiftCodeRepositoryIntegrationTest {
     @Autowired
     private SwiftCodeRepository swiftCodeRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void testSaveAndFindBySwiftCode() {
         SwiftCode swiftCode = SwiftCode.builder()
@@ -86,4 +99,291 @@ class SwiftCodeRepositoryIntegrationTest {
         assertThat(branches).hasSize(1);
         assertThat(branches.get(0).getSwiftCode()).isEqualTo("BANKUS33YYZ");
     }
+
+    @Test
+    void testFindWithBranchesBySwiftCode() {
+        SwiftCode hq = SwiftCode.builder()
+                .swiftCode("BANKUS33XXX")
+                .bankName("Headquarter Bank")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(true)
+                .build();
+
+        SwiftCode branch = SwiftCode.builder()
+                .swiftCode("BANKUS33YYZ")
+                .bankName("Branch Bank")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(false)
+                .headquarterCode("BANKUS33XXX")
+                .build();
+
+        SwiftCode otherBank = SwiftCode.builder()
+                .swiftCode("OTHRUS33XXX")
+                .bankName("Other Bank")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(true)
+                .build();
+
+        swiftCodeRepository.saveAll(List.of(hq, branch, otherBank));
+
+        List<SwiftCodeEntry> rows = swiftCodeRepository.findWithBranchesBySwiftCode("BANKUS33XXX");
+        assertThat(rows).extracting(SwiftCodeEntry::getSwiftCode).containsExactly("BANKUS33XXX", "BANKUS33YYZ");
+
+        List<SwiftCodeEntry> branchRows = swiftCodeRepository.findWithBranchesBySwiftCode("BANKUS33YYZ");
+        assertThat(branchRows).extracting(SwiftCodeEntry::getSwiftCode).containsExactly("BANKUS33YYZ");
+    }
+
+    @Test
+    void testFindWithBranchesBySwiftCodeIn() {
+        SwiftCode hq = SwiftCode.builder()
+                .swiftCode("BANKUS33XXX")
+                .bankName("Headquarter Bank")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(true)
+                .build();
+
+        SwiftCode branch = SwiftCode.builder()
+                .swiftCode("BANKUS33YYZ")
+                .bankName("Branch Bank")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(false)
+                .headquarterCode("BANKUS33XXX")
+                .build();
+
+        SwiftCode otherBank = SwiftCode.builder()
+                .swiftCode("OTHRUS33XXX")
+                .bankName("Other Bank")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(true)
+                .build();
+
+        SwiftCode otherBranch = SwiftCode.builder()
+                .swiftCode("OTHRUS33ABC")
+                .bankName("Other Branch")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(false)
+                .headquarterCode("OTHRUS33XXX")
+                .build();
+
+        swiftCodeRepository.saveAll(List.of(hq, branch, otherBank, otherBranch));
+
+        List<SwiftCodeEntry> rows = swiftCodeRepository.findWithBranchesBySwiftCodeIn(List.of("BANKUS33XXX", "OTHRUS33ABC", "MISSUS33XXX"));
+        assertThat(rows).extracting(SwiftCodeEntry::getSwiftCode).containsExactly("BANKUS33XXX", "BANKUS33YYZ", "OTHRUS33ABC");
+    }
+
+    @Test
+    void testStreamByCountryISO2() {
+        SwiftCode second = SwiftCode.builder()
+                .swiftCode("BANKUS33YYZ")
+                .bankName("Branch Bank")
+                .address("1 Branch Road")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(false)
+                .headquarterCode("BANKUS33XXX")
+                .build();
+
+        SwiftCode first = SwiftCode.builder()
+                .swiftCode("BANKUS33XXX")
+                .bankName("Headquarter Bank")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(true)
+                .build();
+
+        SwiftCode foreign = SwiftCode.builder()
+                .swiftCode("BANKFRPPXXX")
+                .bankName("French Bank")
+                .countryISO2("FR")
+                .countryName("France")
+                .isHeadquarter(true)
+                .build();
+
+        swiftCodeRepository.saveAllAndFlush(List.of(second, first, foreign));
+
+        List<SwiftCodeDetailDto> streamed = new ArrayList<>();
+        swiftCodeRepository.streamByCountryISO2("US", streamed::add);
+
+        assertThat(streamed).extracting(SwiftCodeDetailDto::getSwiftCode).containsExactly("BANKUS33XXX", "BANKUS33YYZ");
+        assertThat(streamed.get(0).isHeadquarter()).isTrue();
+        assertThat(streamed.get(1).getAddress()).isEqualTo("1 Branch Road");
+        assertThat(swiftCodeRepository.existsByCountryISO2("US")).isTrue();
+        assertThat(swiftCodeRepository.existsByCountryISO2("DE")).isFalse();
+    }
+
+    @Test
+    void testKeysetPageQueries() {
+        SwiftCode hq = SwiftCode.builder()
+                .swiftCode("BANKUS33XXX")
+                .bankName("Headquarter Bank")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(true)
+                .build();
+
+        SwiftCode branchA = SwiftCode.builder()
+                .swiftCode("BANKUS33AAA")
+                .bankName("Branch A")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(false)
+                .headquarterCode("BANKUS33XXX")
+                .build();
+
+        SwiftCode branchB = SwiftCode.builder()
+                .swiftCode("BANKUS33BBB")
+                .bankName("Branch B")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(false)
+                .headquarterCode("BANKUS33XXX")
+                .build();
+
+        swiftCodeRepository.saveAll(List.of(hq, branchA, branchB));
+
+        assertThat(swiftCodeRepository.findByCountryISO2After("US", "", Limit.of(2)))
+                .extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("BANKUS33AAA", "BANKUS33BBB");
+        assertThat(swiftCodeRepository.findByCountryISO2After("US", "BANKUS33BBB", Limit.of(2)))
+                .extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("BANKUS33XXX");
+        assertThat(swiftCodeRepository.findBranchesByHeadquarterCodeAfter("BANKUS33XXX", "BANKUS33AAA", Limit.of(10)))
+                .extracting(SwiftCodeEntry::getSwiftCode)
+                .containsExactly("BANKUS33BBB");
+    }
+
+    @Test
+    void testEntryProjections() {
+        SwiftCode hq = SwiftCode.builder()
+                .swiftCode("BANKUS33XXX")
+                .bankName("Headquarter Bank")
+                .address("1 Main Street")
+                .townName("NEW YORK")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(true)
+                .timeZone("America/New_York")
+                .build();
+
+        SwiftCode foreign = SwiftCode.builder()
+                .swiftCode("BANKFRPPXXX")
+                .bankName("French Bank")
+                .countryISO2("FR")
+                .countryName("France")
+                .isHeadquarter(true)
+                .build();
+
+        swiftCodeRepository.saveAll(List.of(hq, foreign));
+
+        assertThat(swiftCodeRepository.findEntryBySwiftCode("BANKUS33XXX")).contains(SwiftCodeEntry.from(hq));
+        assertThat(swiftCodeRepository.findEntryBySwiftCode("MISSUS33XXX")).isEmpty();
+        assertThat(swiftCodeRepository.findEntriesByCountryISO2("US")).containsExactly(SwiftCodeEntry.from(hq));
+    }
+
+    @Test
+    void testBulkInsert() {
+        SwiftCode hq = SwiftCode.builder()
+                .swiftCode("BANKUS33XXX")
+                .bankName("Headquarter \"Bank\", Inc.")
+                .address("")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(true)
+                .build();
+
+        SwiftCode branch = SwiftCode.builder()
+                .swiftCode("BANKUS33YYZ")
+                .bankName("Branch Bank")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(false)
+                .headquarterCode("BANKUS33XXX")
+                .build();
+
+        swiftCodeRepository.bulkInsert(List.of(hq, branch));
+
+        assertThat(swiftCodeRepository.findWithBranchesBySwiftCode("BANKUS33XXX"))
+                .containsExactly(SwiftCodeEntry.from(hq), SwiftCodeEntry.from(branch));
+    }
+
+    @Test
+    void testBulkUpdateDeleteAndRowHashes() {
+        SwiftCode imported = SwiftCode.builder()
+                .swiftCode("BANKUS33XXX")
+                .bankName("Old Name")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(true)
+                .rowHash(1L)
+                .build();
+
+        SwiftCode gone = SwiftCode.builder()
+                .swiftCode("GONEUS33XXX")
+                .bankName("Gone Bank")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(true)
+                .rowHash(2L)
+                .build();
+
+        SwiftCode added = SwiftCode.builder()
+                .swiftCode("APIXUS33XXX")
+                .bankName("Added Through The API")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(true)
+                .build();
+
+        swiftCodeRepository.bulkInsert(List.of(imported, gone));
+        swiftCodeRepository.saveAndFlush(added);
+
+        imported.setBankName("New Name");
+        imported.setRowHash(3L);
+        swiftCodeRepository.bulkUpdate(List.of(imported));
+        swiftCodeRepository.bulkDelete(List.of("GONEUS33XXX"));
+
+        assertThat(swiftCodeRepository.findEntryBySwiftCode("BANKUS33XXX")).contains(SwiftCodeEntry.from(imported));
+        Map<String, Long> expected = new HashMap<>();
+        expected.put("BANKUS33XXX", 3L);
+        expected.put("APIXUS33XXX", null);
+        assertThat(swiftCodeRepository.findRowHashes()).isEqualTo(expected);
+    }
+
+    @Test
+    void testAppendCsv() {
+        StringBuilder csv = new StringBuilder();
+        SwiftCodeJdbcRepositoryImpl.appendCsv(csv, "Bank \"A\", Inc.").append(',');
+        SwiftCodeJdbcRepositoryImpl.appendCsv(csv, null).append(',');
+        SwiftCodeJdbcRepositoryImpl.appendCsv(csv, "");
+
+        assertThat(csv).hasToString("\"Bank \"\"A\"\", Inc.\",,\"\"");
+    }
+
+    @Test
+    void testNormalizeHeadquarterCodesMigration() {
+        SwiftCode legacyBranch = SwiftCode.builder()
+                .swiftCode("BANKUS33YYZ")
+                .bankName("Branch Bank")
+                .countryISO2("US")
+                .countryName("United States")
+                .isHeadquarter(false)
+                .headquarterCode("BANKUS33")
+                .build();
+
+        swiftCodeRepository.saveAndFlush(legacyBranch);
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/h2/V4__normalize_headquarter_codes.sql"));
+            return null;
+        });
+
+        assertThat(swiftCodeRepository.findBranchesByHeadquarterCode("BANKUS33XXX")).hasSize(1);
+    }
 }
@@ -0,0 +1,55 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.dtos.SwiftCodeDetailDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+class CountryNdjsonWriterUnitTest {
+
+    @Mock
+    private SwiftCodeService swiftCodeService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CountryNdjsonWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        writer = new CountryNdjsonWriter(swiftCodeService, objectMapper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_ShouldEmitOneJsonObjectPerLine() throws Exception {
+        SwiftCodeDetailDto first = SwiftCodeDetailDto.builder().swiftCode("BNPAFRPPXXX").bankName("BNP PARIBAS").countryISO2("FR").isHeadquarter(true).build();
+        SwiftCodeDetailDto second = SwiftCodeDetailDto.builder().swiftCode("BNPAFRPP123").bankName("BNP PARIBAS").countryISO2("FR").build();
+        doAnswer(invocation -> {
+            Consumer<SwiftCodeDetailDto> consumer = invocation.getArgument(1);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(swiftCodeService).streamSwiftCodesByCountry(eq("FR"), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write("FR", out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals(objectMapper.writeValueAsString(first), lines[0]);
+        assertEquals(objectMapper.writeValueAsString(second), lines[1]);
+        assertEquals("", lines[2]);
+    }
+}
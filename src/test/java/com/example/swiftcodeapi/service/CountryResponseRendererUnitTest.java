@@ -0,0 +1,82 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.dtos.CountrySwiftCodesResponseDto;
+import com.example.swiftcodeapi.dtos.SwiftCodeDetailDto;
+import com.example.swiftcodeapi.event.SwiftCodeChangedEvent;
+import com.example.swiftcodeapi.exception.ResourceNotFoundException;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import com.example.swiftcodeapi.service.CountryResponseRenderer.RenderedCountry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CountryResponseRendererUnitTest {
+
+    @Mock
+    private SwiftCodeService swiftCodeService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CountryResponseRenderer renderer;
+
+    private final CountrySwiftCodesResponseDto france = CountrySwiftCodesResponseDto.builder()
+            .countryISO2("FR")
+            .countryName("FRANCE")
+            .swiftCodes(List.of(SwiftCodeDetailDto.builder()
+                    .swiftCode("BNPAFRPPXXX")
+                    .bankName("BNP PARIBAS")
+                    .countryISO2("FR")
+                    .isHeadquarter(true)
+                    .build()))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        renderer = new CountryResponseRenderer(swiftCodeService, objectMapper);
+        when(swiftCodeService.getSwiftCodesByCountry("FR")).thenReturn(france);
+    }
+
+    @Test
+    void render_ShouldProduceJacksonOutputAndMatchingGzip() throws Exception {
+        RenderedCountry rendered = renderer.render("fr");
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(france), rendered.json());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(rendered.gzip()))) {
+            assertArrayEquals(rendered.json(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void render_ShouldReuseBytesUntilTheCountryChanges() {
+        RenderedCountry first = renderer.render("FR");
+        assertSame(first, renderer.render("FR"));
+
+        renderer.onChanged(SwiftCodeChangedEvent.added(SwiftCodeEntry.builder().swiftCode("AAISALTRXXX").countryISO2("AL").build()));
+        assertSame(first, renderer.render("FR"));
+
+        renderer.onChanged(SwiftCodeChangedEvent.added(SwiftCodeEntry.builder().swiftCode("BNPAFRPP123").countryISO2("FR").build()));
+        assertNotSame(first, renderer.render("FR"));
+        verify(swiftCodeService, times(2)).getSwiftCodesByCountry("FR");
+    }
+
+    @Test
+    void render_ShouldNotCacheAFailure() {
+        when(swiftCodeService.getSwiftCodesByCountry("XX"))
+                .thenThrow(new ResourceNotFoundException("No swift codes found for country: XX"))
+                .thenReturn(france);
+
+        assertThrows(ResourceNotFoundException.class, () -> renderer.render("XX"));
+        assertNotNull(renderer.render("XX"));
+        verify(swiftCodeService, times(2)).getSwiftCodesByCountry("XX");
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.event.SwiftCodeChangedEvent;
+import com.example.swiftcodeapi.event.SwiftCodesImportedEvent;
+import com.example.swiftcodeapi.index.SwiftCodeDataset;
+import com.example.swiftcodeapi.index.SwiftCodeSnapshot;
+import com.example.swiftcodeapi.index.SwiftCodeSnapshotHolder;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DatasetVersionsUnitTest {
+
+    private final AtomicReference<SwiftCodeDataset> dataset = new AtomicReference<>(SwiftCodeSnapshot.of(List.of(
+            entry("BNPAFRPPXXX", "FR"),
+            entry("PKOPPLPWXXX", "PL"))));
+
+    private final SwiftCodeSnapshotHolder snapshotHolder = mock(SwiftCodeSnapshotHolder.class);
+
+    private DatasetVersions versions;
+
+    private static SwiftCodeEntry entry(String swiftCode, String countryISO2) {
+        return SwiftCodeEntry.builder().swiftCode(swiftCode).countryISO2(countryISO2).build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(snapshotHolder.isLoaded()).thenReturn(true);
+        when(snapshotHolder.current()).thenAnswer(invocation -> dataset.get());
+        versions = loadedVersions();
+    }
+
+    private DatasetVersions loadedVersions() {
+        DatasetVersions loaded = new DatasetVersions(snapshotHolder);
+        loaded.fingerprintLoadedDataset();
+        return loaded;
+    }
+
+    @Test
+    void onChanged_ShouldOnlyMoveTheTouchedCountry() {
+        String france = versions.countryETag("FR", "c");
+        String poland = versions.countryETag("PL", "c");
+        String detail = versions.swiftCodeETag("BNPAFRPPXXX", "d");
+        String global = versions.globalETag("s", "BNP", 10);
+
+        SwiftCodeEntry branch = entry("BNPAFRPP123", "FR");
+        dataset.set(((SwiftCodeSnapshot) dataset.get()).with(branch));
+        versions.onChanged(SwiftCodeChangedEvent.added(branch));
+
+        assertNotEquals(france, versions.countryETag("fr", "c"));
+        assertNotEquals(detail, versions.swiftCodeETag("BNPAFRPPXXX", "d"));
+        assertNotEquals(global, versions.globalETag("s", "BNP", 10));
+        assertEquals(poland, versions.countryETag("PL", "c"));
+
+        dataset.set(((SwiftCodeSnapshot) dataset.get()).without(branch.getSwiftCode()));
+        versions.onChanged(SwiftCodeChangedEvent.deleted(branch));
+
+        assertEquals(france, versions.countryETag("FR", "c"));
+        assertEquals(global, versions.globalETag("s", "BNP", 10));
+    }
+
+    @Test
+    void versions_ShouldBeTheSameForTheSameDataAcrossInstances() {
+        DatasetVersions replica = loadedVersions();
+
+        assertEquals(versions.countryETag("FR", "c"), replica.countryETag("FR", "c"));
+        assertEquals(versions.swiftCodeETag("PKOPPLPWXXX", "d"), replica.swiftCodeETag("PKOPPLPWXXX", "d"));
+        assertEquals(versions.globalETag("q", "paribas", null, 20), replica.globalETag("q", "paribas", null, 20));
+    }
+
+    @Test
+    void onImported_ShouldMoveOnlyTheCountriesWhoseRowsChanged() {
+        String france = versions.countryETag("FR", "c");
+        String poland = versions.countryETag("PL", "c");
+
+        versions.onImported(new SwiftCodesImportedEvent());
+        assertEquals(france, versions.countryETag("FR", "c"));
+
+        dataset.set(SwiftCodeSnapshot.of(List.of(
+                SwiftCodeEntry.builder().swiftCode("BNPAFRPPXXX").bankName("BNP PARIBAS").countryISO2("FR").build(),
+                entry("PKOPPLPWXXX", "PL"))));
+        versions.onImported(new SwiftCodesImportedEvent());
+
+        assertNotEquals(france, versions.countryETag("FR", "c"));
+        assertEquals(poland, versions.countryETag("PL", "c"));
+    }
+
+    @Test
+    void globalETag_ShouldDependOnTheRequestParameters() {
+        assertNotEquals(versions.globalETag("s", "BNP", 10), versions.globalETag("s", "BNP", 5));
+        assertNotEquals(versions.globalETag("s", "BNP", 10), versions.globalETag("s", "PKO", 10));
+        assertNotEquals(versions.globalETag("q", "bank", null, 20), versions.globalETag("q", "bank", "PL", 20));
+    }
+
+    @Test
+    void versions_ShouldFallBackToAStartupTokenUntilTheDatasetIsLoaded() {
+        when(snapshotHolder.isLoaded()).thenReturn(false);
+        DatasetVersions unloaded = loadedVersions();
+        String before = unloaded.countryETag("FR", "c");
+
+        unloaded.onChanged(SwiftCodeChangedEvent.added(entry("BNPAFRPP123", "FR")));
+
+        assertNotEquals(before, unloaded.countryETag("FR", "c"));
+        assertNotEquals(versions.countryETag("FR", "c"), unloaded.countryETag("FR", "c"));
+    }
+
+    @Test
+    void matches_ShouldUseWeakComparisonOverTheList() {
+        String etag = versions.countryETag("FR", "c");
+
+        assertTrue(DatasetVersions.matches(etag, etag));
+        assertTrue(DatasetVersions.matches("\"other\", W/" + etag, etag));
+        assertFalse(DatasetVersions.matches("*", etag));
+        assertFalse(DatasetVersions.matches("\"other\"", etag));
+        assertFalse(DatasetVersions.matches(null, etag));
+        assertNotEquals(etag, versions.countryETag("FR", "cz"));
+    }
+}
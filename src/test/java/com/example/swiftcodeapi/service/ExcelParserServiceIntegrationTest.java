@@ -1,7 +1,13 @@
 package com.example.swiftcodeapi.service;
 
+import com.example.swiftcodeapi.importer.CsvSwiftCodeReader;
+import com.example.swiftcodeapi.importer.XlsxSwiftCodeReader;
+import com.example.swiftcodeapi.model.ImportState;
 import com.example.swiftcodeapi.model.SwiftCode;
+import com.example.swiftcodeapi.repository.ImportStateRepository;
 import com.example.swiftcodeapi.repository.SwiftCodeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,13 +16,19 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
@@ -25,6 +37,15 @@ class ExcelParserServiceIntegrationTest {
     @Mock
     private SwiftCodeRepository swiftCodeRepository;
 
+    @Mock
+    private ImportStateRepository importStateRepository;
+
+    @Spy
+    private XlsxSwiftCodeReader xlsxSwiftCodeReader = new XlsxSwiftCodeReader();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private ExcelParserService excelParserService;
 
@@ -66,21 +87,22 @@ class ExcelParserServiceIntegrationTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(excelParserService, "swiftCodeSources",
+                List.of(xlsxSwiftCodeReader, new CsvSwiftCodeReader()));
     }
 
     @Test
-    void parseExcelFileOnStartup_WithEmptyDatabase_ShouldImportSwiftCodes() throws Exception {
+    void importSwiftCodes_WithEmptyDatabase_ShouldImportSwiftCodes() throws Exception {
         File testFile = createTestExcelFile();
         ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath", testFile.getAbsolutePath());
 
         when(swiftCodeRepository.count()).thenReturn(0L);
-        when(swiftCodeRepository.saveAll(anyList())).thenReturn(List.of());
 
-        excelParserService.parseExcelFileOnStartup();
+        excelParserService.importSwiftCodes();
 
         verify(swiftCodeRepository, times(1)).count();
 
-        verify(swiftCodeRepository, times(1)).saveAll(argThat(list -> {
+        verify(swiftCodeRepository, times(1)).bulkInsert(argThat(list -> {
             List<SwiftCode> codes = (List<SwiftCode>) list;
             return codes.size() == 3 &&
                     codes.stream().anyMatch(code -> code.getSwiftCode().equals("CHASUSXXXX")) &&
@@ -90,26 +112,29 @@ class ExcelParserServiceIntegrationTest {
     }
 
     @Test
-    void parseExcelFileOnStartup_WithExistingData_ShouldSkipImport() throws Exception {
+    void importSwiftCodes_WithExistingDataAndUnchangedFile_ShouldSkipImport() throws Exception {
         File testFile = createTestExcelFile();
         ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath", testFile.getAbsolutePath());
 
         when(swiftCodeRepository.count()).thenReturn(10L);
+        when(importStateRepository.findById(ImportState.CONFIGURED_SOURCE)).thenReturn(Optional.of(new ImportState(
+                ImportState.CONFIGURED_SOURCE, ExcelParserService.checksum(List.of(testFile)), 3, Instant.now())));
 
-        excelParserService.parseExcelFileOnStartup();
+        excelParserService.importSwiftCodes();
 
         verify(swiftCodeRepository, times(1)).count();
-
-        verify(swiftCodeRepository, never()).saveAll(anyList());
+        verify(xlsxSwiftCodeReader, never()).read(any(), any());
+        verify(swiftCodeRepository, never()).bulkInsert(anyList());
+        verify(importStateRepository, never()).save(any());
     }
 
     @Test
-    void parseExcelFileOnStartup_WithNonExistentFile_ShouldHandleException() {
+    void importSwiftCodes_WithNonExistentFile_ShouldFailWithoutWriting() {
         String nonExistentFilePath = tempDir.resolve("non-existent-file.xlsx").toString();
         ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath", nonExistentFilePath);
 
-        excelParserService.parseExcelFileOnStartup();
+        assertThrows(IOException.class, () -> excelParserService.importSwiftCodes());
 
-        verify(swiftCodeRepository, never()).saveAll(anyList());
+        verify(swiftCodeRepository, never()).bulkInsert(anyList());
     }
 }
@@ -1,24 +1,45 @@
 
 package com.example.swiftcodeapi.service;
 
+import com.example.swiftcodeapi.importer.CsvSwiftCodeReader;
+import com.example.swiftcodeapi.importer.ImportProgress;
+import com.example.swiftcodeapi.importer.XlsxSwiftCodeReader;
+import com.example.swiftcodeapi.importer.SwiftCodeRow;
+import com.example.swiftcodeapi.model.ImportState;
 import com.example.swiftcodeapi.model.SwiftCode;
+import com.example.swiftcodeapi.repository.ImportStateRepository;
 import com.example.swiftcodeapi.repository.SwiftCodeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.mockito.Spy;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
@@ -29,7 +50,13 @@ class ExcelParserServiceUnitTest {
     private SwiftCodeRepository swiftCodeRepository;
 
     @Mock
-    private ApplicationReadyEvent applicationReadyEvent;
+    private ImportStateRepository importStateRepository;
+
+    @Spy
+    private XlsxSwiftCodeReader xlsxSwiftCodeReader = new XlsxSwiftCodeReader();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private ExcelParserService excelParserService;
@@ -37,6 +64,11 @@ class ExcelParserServiceUnitTest {
     @TempDir
     Path tempDir;
 
+    private static long rowHash(int rowNumber, String... cells) {
+        return ExcelParserService.toSwiftCode(new SwiftCodeRow(rowNumber, cells[0], cells[1], cells[2], cells[3],
+                cells[4], cells[5], cells[6], cells[7])).getRowHash();
+    }
+
     private File createTestExcelFile() throws Exception {
         File file = tempDir.resolve("C:\\\\Users\\\\SAHIN\\\\Downloads\\\\Interns_2025_SWIFT_CODES.xlsx").toFile();
 
@@ -72,20 +104,21 @@ class ExcelParserServiceUnitTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(excelParserService, "swiftCodeSources",
+                List.of(xlsxSwiftCodeReader, new CsvSwiftCodeReader()));
     }
 
     @Test
-    void parseExcelFileOnStartup_WithEmptyDatabase_ShouldImportSwiftCodes() throws Exception {
+    void importSwiftCodes_WithEmptyDatabase_ShouldImportSwiftCodes() throws Exception {
         File testFile = createTestExcelFile();
         ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath", testFile.getAbsolutePath());
 
         when(swiftCodeRepository.count()).thenReturn(0L);
-        when(swiftCodeRepository.saveAll(anyList())).thenReturn(List.of());
 
-        excelParserService.parseExcelFileOnStartup();
+        excelParserService.importSwiftCodes();
 
         verify(swiftCodeRepository, times(1)).count();
-        verify(swiftCodeRepository, times(1)).saveAll(argThat(list -> {
+        verify(swiftCodeRepository, times(1)).bulkInsert(argThat(list -> {
             List<SwiftCode> codes = (List<SwiftCode>) list;
             return codes.size() == 3 &&
                     codes.stream().anyMatch(code -> code.getSwiftCode().equals("CHASUSXXXX")) &&
@@ -95,25 +128,298 @@ class ExcelParserServiceUnitTest {
     }
 
     @Test
-    void parseExcelFileOnStartup_WithExistingData_ShouldSkipImport() throws Exception {
+    void importSwiftCodes_ShouldInsertInChunks() throws Exception {
+        File testFile = createTestExcelFile();
+        ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath", testFile.getAbsolutePath());
+        ReflectionTestUtils.setField(excelParserService, "chunkSize", 2);
+
+        when(swiftCodeRepository.count()).thenReturn(0L);
+
+        excelParserService.importSwiftCodes();
+
+        verify(swiftCodeRepository).bulkInsert(argThat(list -> list.size() == 2));
+        verify(swiftCodeRepository).bulkInsert(argThat(list -> list.size() == 1));
+        verify(swiftCodeRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void importSwiftCodes_WithSeveralFiles_ShouldImportEachCodeOnce() throws Exception {
+        File first = createTestExcelFile();
+        File second = tempDir.resolve("more_swift_codes.xlsx").toFile();
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Swift Codes");
+            createDataRow(sheet.createRow(0), new String[]{"CountryISO2", "SWIFT Code"});
+            createDataRow(sheet.createRow(1), new String[]{"GB", "HSBC1XXX", "HQ", "HSBC BANK", "8 Canada Square", "London", "United Kingdom", "UTC+0"});
+            createDataRow(sheet.createRow(2), new String[]{"PL", "BREXPLPWXXX", "BIC11", "MBANK", "Prosta 18", "Warszawa", "Poland", "Europe/Warsaw"});
+            try (FileOutputStream fos = new FileOutputStream(second)) {
+                workbook.write(fos);
+            }
+        }
+        ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath",
+                first.getAbsolutePath() + ", " + second.getAbsolutePath());
+        ReflectionTestUtils.setField(excelParserService, "workers", 2);
+
+        when(swiftCodeRepository.count()).thenReturn(0L);
+
+        excelParserService.importSwiftCodes();
+
+        ArgumentCaptor<List<SwiftCode>> chunks = ArgumentCaptor.captor();
+        verify(swiftCodeRepository, atLeastOnce()).bulkInsert(chunks.capture());
+        List<String> inserted = chunks.getAllValues().stream().flatMap(List::stream).map(SwiftCode::getSwiftCode).toList();
+        assertEquals(4, inserted.size());
+        assertEquals(4, inserted.stream().distinct().count());
+        assertTrue(inserted.contains("BREXPLPWXXX"));
+        verify(swiftCodeRepository, never()).bulkUpdate(anyList());
+        assertEquals(4.0, meterRegistry.counter("swiftcode.import.rows", "stage", "write").count());
+    }
+
+    @Test
+    void importSwiftCodes_WithTheSameCodeInTwoFiles_ShouldKeepTheLastOccurrenceInFileOrder() throws Exception {
+        File first = tempDir.resolve("first.csv").toFile();
+        Files.writeString(first.toPath(), """
+                CountryISO2,SWIFT Code,Code Type,Bank Name,Address,Town,Country Name,Time Zone
+                GB,HSBC1XXX,HQ,HSBC BANK,8 Canada Square,London,United Kingdom,UTC+0
+                US,CHASUSXXXX,HQ,JPMORGAN CHASE,270 Park Avenue,New York,United States,UTC-5
+                """);
+        File second = tempDir.resolve("second.csv").toFile();
+        Files.writeString(second.toPath(), """
+                CountryISO2,SWIFT Code,Code Type,Bank Name,Address,Town,Country Name,Time Zone
+                GB,HSBC1XXX,HQ,HSBC UK,1 Centenary Square,Birmingham,United Kingdom,UTC+0
+                PL,BREXPLPWXXX,BIC11,MBANK,Prosta 18,Warszawa,Poland,Europe/Warsaw
+                GB,HSBC1XXX,HQ,HSBC UK BANK PLC,1 Centenary Square,Birmingham,United Kingdom,UTC+0
+                """);
+        ReflectionTestUtils.setField(excelParserService, "workers", 4);
+        when(swiftCodeRepository.count()).thenReturn(0L);
+
+        for (int attempt = 0; attempt < 20; attempt++) {
+            clearInvocations(swiftCodeRepository);
+            Map<String, SwiftCode> table = new HashMap<>();
+            doAnswer(invocation -> {
+                invocation.<List<SwiftCode>>getArgument(0).forEach(code -> table.put(code.getSwiftCode(), code));
+                return null;
+            }).when(swiftCodeRepository).bulkInsert(anyList());
+            doAnswer(invocation -> {
+                invocation.<List<SwiftCode>>getArgument(0).forEach(code -> table.put(code.getSwiftCode(), code));
+                return null;
+            }).when(swiftCodeRepository).bulkUpdate(anyList());
+            ImportProgress progress = new ImportProgress();
+
+            excelParserService.importSwiftCodes(List.of(first, second), progress);
+
+            assertEquals(3, table.size());
+            assertEquals("HSBC UK BANK PLC", table.get("HSBC1XXX").getBankName());
+            assertEquals(2, progress.getRowsRejected());
+        }
+    }
+
+    @Test
+    void importSwiftCodes_WithExistingDataAndUnchangedFile_ShouldSkipImport() throws Exception {
         File testFile = createTestExcelFile();
         ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath", testFile.getAbsolutePath());
 
         when(swiftCodeRepository.count()).thenReturn(10L);
+        when(importStateRepository.findById(ImportState.CONFIGURED_SOURCE)).thenReturn(Optional.of(new ImportState(
+                ImportState.CONFIGURED_SOURCE, ExcelParserService.checksum(List.of(testFile)), 3, Instant.now())));
 
-        excelParserService.parseExcelFileOnStartup();
+        assertFalse(excelParserService.importSwiftCodes());
 
         verify(swiftCodeRepository, times(1)).count();
-        verify(swiftCodeRepository, never()).saveAll(anyList());
+        verify(xlsxSwiftCodeReader, never()).read(any(), any());
+        verify(swiftCodeRepository, never()).bulkInsert(anyList());
+        verify(importStateRepository, never()).save(any());
     }
 
     @Test
-    void parseExcelFileOnStartup_WithNonExistentFile_ShouldHandleException() {
+    void importSwiftCodes_WithExistingDataAndChangedFile_ShouldApplyOnlyTheDifference() throws Exception {
+        File testFile = createTestExcelFile();
+        ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath", testFile.getAbsolutePath());
+        long unchangedHash = ExcelParserService.toSwiftCode(new SwiftCodeRow(1, "US", "CHASUSXXXX", "HQ",
+                "JPMORGAN CHASE", "270 Park Avenue", "New York", "United States", "UTC-5")).getRowHash();
+        Map<String, Long> hashes = new HashMap<>();
+        hashes.put("CHASUSXXXX", unchangedHash);
+        hashes.put("HSBC1XXX", 42L);
+        hashes.put("GONEUS33XXX", 7L);
+        hashes.put("APIXUS33XXX", null);
+
+        when(swiftCodeRepository.count()).thenReturn(4L);
+        when(importStateRepository.findById(ImportState.CONFIGURED_SOURCE)).thenReturn(Optional.of(new ImportState(
+                ImportState.CONFIGURED_SOURCE, "checksum of the previous file", 3, Instant.now())));
+        when(swiftCodeRepository.findRowHashes()).thenReturn(hashes);
+
+        assertTrue(excelParserService.importSwiftCodes());
+
+        verify(swiftCodeRepository).bulkInsert(argThat(list -> list.size() == 1 && list.get(0).getSwiftCode().equals("CHASUSNY11")));
+        verify(swiftCodeRepository).bulkUpdate(argThat(list -> list.size() == 1 && list.get(0).getSwiftCode().equals("HSBC1XXX")));
+        verify(swiftCodeRepository).bulkDelete(List.of("GONEUS33XXX"));
+        verify(importStateRepository).save(argThat(state -> state.getRowCount() == 3
+                && state.getChecksum().matches("[0-9a-f]{64}")));
+    }
+
+    @Test
+    void importSwiftCodes_WithChangedFileButSameRows_ShouldReportNoChange() throws Exception {
+        File testFile = createTestExcelFile();
+        ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath", testFile.getAbsolutePath());
+        Map<String, Long> hashes = new HashMap<>();
+        hashes.put("CHASUSXXXX", rowHash(1, "US", "CHASUSXXXX", "HQ", "JPMORGAN CHASE", "270 Park Avenue", "New York", "United States", "UTC-5"));
+        hashes.put("CHASUSNY11", rowHash(2, "US", "CHASUSNY11", "BRANCH", "JPMORGAN CHASE NY", "1 New York Plaza", "New York", "United States", "UTC-5"));
+        hashes.put("HSBC1XXX", rowHash(3, "GB", "HSBC1XXX", "HQ", "HSBC BANK", "8 Canada Square", "London", "United Kingdom", "UTC+0"));
+
+        when(swiftCodeRepository.count()).thenReturn(3L);
+        when(importStateRepository.findById(ImportState.CONFIGURED_SOURCE)).thenReturn(Optional.of(new ImportState(
+                ImportState.CONFIGURED_SOURCE, "checksum of the re-saved file", 3, Instant.now())));
+        when(swiftCodeRepository.findRowHashes()).thenReturn(hashes);
+
+        assertFalse(excelParserService.importSwiftCodes());
+
+        verify(swiftCodeRepository).bulkInsert(List.of());
+        verify(swiftCodeRepository).bulkUpdate(List.of());
+        verify(swiftCodeRepository).bulkDelete(List.of());
+        verify(importStateRepository).save(any());
+    }
+
+    @Test
+    void importSwiftCodes_WithARepeatedCodeWhoseLastRowIsStored_ShouldReportNoChange() throws Exception {
+        File file = tempDir.resolve("codes.csv").toFile();
+        Files.writeString(file.toPath(), """
+                CountryISO2,SWIFT Code,Code Type,Bank Name,Address,Town,Country Name,Time Zone
+                GB,HSBC1XXX,HQ,HSBC UK,1 Centenary Square,Birmingham,United Kingdom,UTC+0
+                US,CHASUSXXXX,HQ,JPMORGAN CHASE,270 Park Avenue,New York,United States,UTC-5
+                GB,HSBC1XXX,HQ,HSBC BANK,8 Canada Square,London,United Kingdom,UTC+0
+                """);
+        ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath", file.getAbsolutePath());
+        Map<String, Long> hashes = new HashMap<>();
+        hashes.put("CHASUSXXXX", rowHash(2, "US", "CHASUSXXXX", "HQ", "JPMORGAN CHASE", "270 Park Avenue", "New York", "United States", "UTC-5"));
+        hashes.put("HSBC1XXX", rowHash(3, "GB", "HSBC1XXX", "HQ", "HSBC BANK", "8 Canada Square", "London", "United Kingdom", "UTC+0"));
+
+        when(swiftCodeRepository.count()).thenReturn(2L);
+        when(importStateRepository.findById(ImportState.CONFIGURED_SOURCE)).thenReturn(Optional.of(new ImportState(
+                ImportState.CONFIGURED_SOURCE, "checksum of the previous file", 2, Instant.now())));
+        when(swiftCodeRepository.findRowHashes()).thenReturn(hashes);
+
+        assertFalse(excelParserService.importSwiftCodes());
+
+        verify(swiftCodeRepository, never()).bulkInsert(argThat(list -> !list.isEmpty()));
+        verify(swiftCodeRepository, never()).bulkUpdate(argThat(list -> !list.isEmpty()));
+        verify(swiftCodeRepository).bulkDelete(List.of());
+    }
+
+    @Test
+    void rowHash_ShouldChangeWithAnyColumnIncludingTextMovedBetweenColumns() {
+        SwiftCode code = SwiftCode.builder().swiftCode("BANKUS33XXX").bankName("BANK").address("MAIN STREET")
+                .countryISO2("US").countryName("UNITED STATES").isHeadquarter(true).build();
+        long hash = ExcelParserService.rowHash(code);
+
+        code.setTimeZone("UTC");
+        long withTimeZone = ExcelParserService.rowHash(code);
+        code.setBankName("BANKMAIN");
+        code.setAddress(" STREET");
+
+        assertNotEquals(hash, withTimeZone);
+        assertNotEquals(withTimeZone, ExcelParserService.rowHash(code));
+        code.setBankName("BANK");
+        code.setAddress("MAIN STREET");
+        assertEquals(withTimeZone, ExcelParserService.rowHash(code));
+    }
+
+    @Test
+    void importSwiftCodes_WithCsvFile_ShouldImportTheSameRowsAsFromXlsx() throws Exception {
+        File csv = tempDir.resolve("swift_codes.csv").toFile();
+        Files.writeString(csv.toPath(), """
+                CountryISO2,SWIFT Code,Code Type,Bank Name,Address,Town,Country Name,Time Zone
+                US,CHASUSXXXX,HQ,JPMORGAN CHASE,270 Park Avenue,New York,United States,UTC-5
+                US,CHASUSNY11,BRANCH,JPMORGAN CHASE NY,1 New York Plaza,New York,United States,UTC-5
+                GB,HSBC1XXX,HQ,HSBC BANK,8 Canada Square,London,United Kingdom,UTC+0
+                """);
+        when(swiftCodeRepository.count()).thenReturn(0L);
+
+        ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath", csv.getAbsolutePath());
+        excelParserService.importSwiftCodes();
+        ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath", createTestExcelFile().getAbsolutePath());
+        excelParserService.importSwiftCodes();
+
+        ArgumentCaptor<List<SwiftCode>> chunks = ArgumentCaptor.captor();
+        verify(swiftCodeRepository, times(2)).bulkInsert(chunks.capture());
+        assertEquals(rowHashes(chunks.getAllValues().get(1)), rowHashes(chunks.getAllValues().get(0)));
+        assertEquals(3, chunks.getAllValues().get(0).size());
+    }
+
+    @Test
+    void importSwiftCodes_WithTheLastUploadAgain_ShouldSkipIt() throws Exception {
+        File csv = tempDir.resolve("upload.csv").toFile();
+        Files.writeString(csv.toPath(), "CountryISO2,SWIFT Code\nUS,CHASUSXXXX\n");
+        when(swiftCodeRepository.count()).thenReturn(1L);
+        when(importStateRepository.findFirstByOrderByImportedAtDesc()).thenReturn(Optional.of(new ImportState(
+                ImportState.UPLOAD_SOURCE, ExcelParserService.checksum(List.of(csv)), 1, Instant.now())));
+
+        assertFalse(excelParserService.importSwiftCodes(List.of(csv), new ImportProgress()));
+
+        verify(importStateRepository, never()).save(any());
+    }
+
+    @Test
+    void importSwiftCodes_WithAnUploadTheConfiguredFilesReplaced_ShouldImportItAgain() throws Exception {
+        File csv = tempDir.resolve("upload.csv").toFile();
+        Files.writeString(csv.toPath(), "CountryISO2,SWIFT Code\nUS,CHASUSXXXX\n");
+        String checksum = ExcelParserService.checksum(List.of(csv));
+        when(swiftCodeRepository.count()).thenReturn(1L);
+        when(importStateRepository.findById(ImportState.UPLOAD_SOURCE)).thenReturn(Optional.of(new ImportState(
+                ImportState.UPLOAD_SOURCE, checksum, 1, Instant.now().minusSeconds(60))));
+        when(importStateRepository.findFirstByOrderByImportedAtDesc()).thenReturn(Optional.of(new ImportState(
+                ImportState.CONFIGURED_SOURCE, "checksum of the configured files", 3, Instant.now())));
+
+        assertTrue(excelParserService.importSwiftCodes(List.of(csv), new ImportProgress()));
+
+        verify(importStateRepository).save(argThat(state -> state.getSource().equals(ImportState.UPLOAD_SOURCE)
+                && state.getChecksum().equals(checksum)));
+    }
+
+    @Test
+    void importSwiftCodes_WithGivenFiles_ShouldCountProgress() throws Exception {
+        File csv = tempDir.resolve("upload.csv").toFile();
+        Files.writeString(csv.toPath(), """
+                CountryISO2,SWIFT Code,Code Type,Bank Name,Address,Town,Country Name,Time Zone
+                US,CHASUSXXXX,HQ,JPMORGAN CHASE,270 Park Avenue,New York,United States,UTC-5
+                US,,BRANCH,NO CODE,,,United States,UTC-5
+                US,CHASUSXXXX,HQ,JPMORGAN CHASE AGAIN,,,United States,UTC-5
+                GB,HSBC1XXX,HQ,HSBC BANK,8 Canada Square,London,United Kingdom,UTC+0
+                """);
+        when(swiftCodeRepository.count()).thenReturn(0L);
+        String checksum = ExcelParserService.checksum(List.of(csv));
+        ImportProgress progress = new ImportProgress();
+
+        assertTrue(excelParserService.importSwiftCodes(List.of(csv), progress));
+
+        assertEquals(4, progress.getRowsParsed());
+        assertEquals(2, progress.getRowsWritten());
+        assertEquals(2, progress.getRowsRejected());
+        verify(importStateRepository).save(argThat(state -> state.getChecksum().equals(checksum)
+                && state.getSource().equals(ImportState.UPLOAD_SOURCE)));
+    }
+
+    @Test
+    void importSwiftCodes_WithUnsupportedFormat_ShouldFailWithoutWriting() throws Exception {
+        File json = tempDir.resolve("swift_codes.json").toFile();
+        Files.writeString(json.toPath(), "[]");
+        ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath", json.getAbsolutePath());
+        when(swiftCodeRepository.count()).thenReturn(0L);
+
+        IOException e = assertThrows(IOException.class, () -> excelParserService.importSwiftCodes());
+
+        assertTrue(e.getMessage().startsWith("Unsupported Swift Codes file format"));
+        verify(swiftCodeRepository, never()).bulkInsert(anyList());
+    }
+
+    private static Map<String, Long> rowHashes(List<SwiftCode> codes) {
+        return codes.stream().collect(Collectors.toMap(SwiftCode::getSwiftCode, SwiftCode::getRowHash));
+    }
+
+    @Test
+    void importSwiftCodes_WithNonExistentFile_ShouldFailWithoutWriting() {
         String nonExistentFilePath = tempDir.resolve("non-existent-file.xlsx").toString();
         ReflectionTestUtils.setField(excelParserService, "swiftCodesFilePath", nonExistentFilePath);
 
-        excelParserService.parseExcelFileOnStartup();
+        assertThrows(IOException.class, () -> excelParserService.importSwiftCodes());
 
-        verify(swiftCodeRepository, never()).saveAll(anyList());
+        verify(swiftCodeRepository, never()).bulkInsert(anyList());
     }
 }
\ No newline at end of file
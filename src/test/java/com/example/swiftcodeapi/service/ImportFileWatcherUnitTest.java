@@ -0,0 +1,79 @@
+package com.example.swiftcodeapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+class ImportFileWatcherUnitTest {
+
+    @Mock
+    private SwiftCodeImportRunner importRunner;
+
+    @TempDir
+    Path tempDir;
+
+    private ImportFileWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (watcher != null) {
+            watcher.shutdown();
+        }
+    }
+
+    @Test
+    void start_WhenFileIsWrittenSeveralTimes_ShouldReloadOnceAfterTheDebounce() throws Exception {
+        Path file = tempDir.resolve("codes.csv");
+        watcher = watcher(file, true);
+        watcher.start();
+
+        Files.writeString(file, "COUNTRY ISO2 CODE");
+        Thread.sleep(100);
+        Files.writeString(file, "COUNTRY ISO2 CODE,SWIFT CODE");
+
+        verify(importRunner, timeout(10_000)).reload();
+        Thread.sleep(1_000);
+        verify(importRunner, times(1)).reload();
+    }
+
+    @Test
+    void start_WhenAnotherFileChanges_ShouldNotReload() throws Exception {
+        watcher = watcher(tempDir.resolve("codes.csv"), true);
+        watcher.start();
+
+        Files.writeString(tempDir.resolve("other.csv"), "unrelated");
+
+        Thread.sleep(1_000);
+        verify(importRunner, never()).reload();
+    }
+
+    @Test
+    void start_WhenDisabled_ShouldNotWatch() throws Exception {
+        Path file = tempDir.resolve("codes.csv");
+        watcher = watcher(file, false);
+        watcher.start();
+
+        Files.writeString(file, "COUNTRY ISO2 CODE");
+
+        Thread.sleep(1_000);
+        verify(importRunner, never()).reload();
+    }
+
+    private ImportFileWatcher watcher(Path file, boolean enabled) {
+        return new ImportFileWatcher(importRunner, file.toString(), enabled, Duration.ofMillis(300));
+    }
+}
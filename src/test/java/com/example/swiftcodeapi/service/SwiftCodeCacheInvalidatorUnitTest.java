@@ -0,0 +1,66 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.config.CacheConfig;
+import com.example.swiftcodeapi.event.SwiftCodeChangedEvent;
+import com.example.swiftcodeapi.event.SwiftCodesImportedEvent;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwiftCodeCacheInvalidatorUnitTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SwiftCodeCacheInvalidator invalidator;
+    private Cache details;
+    private Cache countries;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.SWIFT_CODE_DETAILS, CacheConfig.COUNTRY_SWIFT_CODES);
+        invalidator = new SwiftCodeCacheInvalidator(cacheManager);
+        details = cacheManager.getCache(CacheConfig.SWIFT_CODE_DETAILS);
+        countries = cacheManager.getCache(CacheConfig.COUNTRY_SWIFT_CODES);
+
+        details.put("BNPAFRPPXXX", "hq");
+        details.put("BNPAFRPP123", "branch");
+        details.put("AAISALTRXXX", "other");
+        countries.put("FR", "france");
+        countries.put("AL", "albania");
+    }
+
+    @Test
+    void onChanged_Branch_ShouldEvictBranchHeadquarterAndCountry() {
+        SwiftCodeEntry branch = SwiftCodeEntry.builder().swiftCode("BNPAFRPP123").countryISO2("FR").isHeadquarter(false).build();
+
+        invalidator.onChanged(SwiftCodeChangedEvent.added(branch));
+
+        assertNull(details.get("BNPAFRPP123"));
+        assertNull(details.get("BNPAFRPPXXX"));
+        assertNull(countries.get("FR"));
+        assertNotNull(details.get("AAISALTRXXX"));
+        assertNotNull(countries.get("AL"));
+    }
+
+    @Test
+    void onChanged_Headquarter_ShouldOnlyEvictItselfAndCountry() {
+        SwiftCodeEntry headquarter = SwiftCodeEntry.builder().swiftCode("BNPAFRPPXXX").countryISO2("FR").isHeadquarter(true).build();
+
+        invalidator.onChanged(SwiftCodeChangedEvent.deleted(headquarter));
+
+        assertNull(details.get("BNPAFRPPXXX"));
+        assertNotNull(details.get("BNPAFRPP123"));
+        assertNull(countries.get("FR"));
+    }
+
+    @Test
+    void onImported_ShouldClearAllCaches() {
+        invalidator.onImported(new SwiftCodesImportedEvent());
+
+        assertNull(details.get("AAISALTRXXX"));
+        assertNull(countries.get("AL"));
+    }
+}
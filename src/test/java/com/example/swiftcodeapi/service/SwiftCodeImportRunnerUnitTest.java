@@ -0,0 +1,250 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.event.SwiftCodesImportedEvent;
+import com.example.swiftcodeapi.index.SwiftCodeSnapshotHolder;
+import com.example.swiftcodeapi.model.SwiftCode;
+import com.example.swiftcodeapi.repository.ImportStateRepository;
+import com.example.swiftcodeapi.repository.SwiftCodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SwiftCodeImportRunnerUnitTest {
+
+    @Mock
+    private ExcelParserService excelParserService;
+
+    @Mock
+    private SwiftCodeRepository swiftCodeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void run_ShouldImportThenPublishThenReportDone() throws Exception {
+        SwiftCodeImportRunner runner = runner(true);
+        assertEquals(SwiftCodeImportRunner.Status.PENDING, runner.getStatus());
+        assertFalse(runner.isServable());
+
+        runner.run();
+
+        InOrder inOrder = inOrder(excelParserService, eventPublisher);
+        inOrder.verify(excelParserService).importSwiftCodes();
+        inOrder.verify(eventPublisher).publishEvent(any(SwiftCodesImportedEvent.class));
+        assertEquals(SwiftCodeImportRunner.Status.DONE, runner.completion().get());
+        assertTrue(runner.isServable());
+        assertEquals(Status.UP, new ImportHealthIndicator(runner).health().getStatus());
+    }
+
+    @Test
+    void run_WhenImportFails_ShouldStillPublishAndReportFailed() throws Exception {
+        doThrow(new IOException("broken file")).when(excelParserService).importSwiftCodes();
+        SwiftCodeImportRunner runner = runner(true);
+
+        runner.run();
+
+        verify(eventPublisher).publishEvent(any(SwiftCodesImportedEvent.class));
+        assertEquals(SwiftCodeImportRunner.Status.FAILED, runner.getStatus());
+        assertTrue(runner.getFailure().contains("broken file"));
+        assertFalse(runner.isServable());
+        assertEquals(Status.DOWN, new ImportHealthIndicator(runner).health().getStatus());
+    }
+
+    @Test
+    void run_WhenImportFailsOverExistingData_ShouldServeIt() throws Exception {
+        when(swiftCodeRepository.count()).thenReturn(10L);
+        doThrow(new IllegalStateException("database down")).when(excelParserService).importSwiftCodes();
+        SwiftCodeImportRunner runner = runner(false);
+
+        runner.run();
+
+        assertEquals(SwiftCodeImportRunner.Status.FAILED, runner.getStatus());
+        assertTrue(runner.isServable());
+    }
+
+    @Test
+    void runReload_WhenRowsChanged_ShouldPublishAndKeepServing() throws Exception {
+        when(excelParserService.importSwiftCodes()).thenReturn(true);
+        SwiftCodeImportRunner runner = runner(true);
+        runner.run();
+
+        runner.runReload();
+
+        verify(eventPublisher, times(2)).publishEvent(any(SwiftCodesImportedEvent.class));
+        assertEquals(SwiftCodeImportRunner.Status.DONE, runner.getStatus());
+        assertNotNull(runner.getReloadedAt());
+    }
+
+    @Test
+    void runReload_WhenNothingChanged_ShouldNotPublish() throws Exception {
+        when(excelParserService.importSwiftCodes()).thenReturn(false);
+        SwiftCodeImportRunner runner = runner(true);
+
+        runner.runReload();
+
+        verify(excelParserService).importSwiftCodes();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void runReload_WhenImportFails_ShouldKeepServingThePreviousData() throws Exception {
+        SwiftCodeImportRunner runner = runner(true);
+        runner.run();
+        doThrow(new IOException("half-written file")).when(excelParserService).importSwiftCodes();
+
+        runner.runReload();
+
+        verify(eventPublisher, times(1)).publishEvent(any(SwiftCodesImportedEvent.class));
+        assertEquals(SwiftCodeImportRunner.Status.DONE, runner.getStatus());
+        assertTrue(runner.isServable());
+        assertTrue(runner.getFailure().contains("half-written file"));
+    }
+
+    @Test
+    void runJob_ShouldImportTheUploadThenDeleteIt() throws Exception {
+        File upload = Files.createTempFile("swift-import-", "-codes.csv").toFile();
+        when(excelParserService.importSwiftCodes(eq(List.of(upload)), any())).thenReturn(true);
+        SwiftCodeImportRunner runner = runner(true);
+        ImportJob job = new ImportJob("codes.csv", upload);
+
+        runner.runJob(job);
+
+        verify(eventPublisher).publishEvent(any(SwiftCodesImportedEvent.class));
+        assertEquals(SwiftCodeImportRunner.Status.DONE, job.getStatus());
+        assertNotNull(job.getFinishedAt());
+        assertFalse(upload.exists());
+    }
+
+    @Test
+    void runJob_WhenImportFails_ShouldReportTheFailure() throws Exception {
+        File upload = Files.createTempFile("swift-import-", "-codes.csv").toFile();
+        when(excelParserService.importSwiftCodes(any(), any())).thenThrow(new IOException("bad row"));
+        ImportJob job = new ImportJob("codes.csv", upload);
+
+        runner(true).runJob(job);
+
+        verifyNoInteractions(eventPublisher);
+        assertEquals(SwiftCodeImportRunner.Status.FAILED, job.getStatus());
+        assertTrue(job.getFailure().contains("bad row"));
+        assertFalse(upload.exists());
+    }
+
+    @Test
+    void submit_ShouldKeepOnlyTheLatestJobs() throws Exception {
+        SwiftCodeImportRunner runner = runner(true);
+        try {
+            ImportJob first = runner.submit("first.csv", new File("first.csv"));
+            ImportJob last = null;
+            for (int i = 0; i < SwiftCodeImportRunner.MAX_JOBS; i++) {
+                last = runner.submit("next.csv", new File("next.csv"));
+            }
+
+            assertTrue(runner.findJob(first.getId()).isEmpty());
+            assertTrue(runner.findJob(last.getId()).isPresent());
+        } finally {
+            runner.shutdown();
+        }
+    }
+
+    @Test
+    void isServable_WhileRunning_ShouldFollowPolicyAndExistingData() throws Exception {
+        assertTrue(servableWhileRunning(true, 10L));
+        assertFalse(servableWhileRunning(false, 10L));
+        assertFalse(servableWhileRunning(true, 0L));
+    }
+
+    @Test
+    void run_WhenServingExistingData_ShouldLoadItBeforeReportingReady() throws Exception {
+        when(swiftCodeRepository.count()).thenReturn(1L);
+        when(swiftCodeRepository.findAll()).thenReturn(List.of(SwiftCode.builder()
+                .swiftCode("BNPAFRPPXXX").bankName("BNP PARIBAS").countryISO2("FR").countryName("FRANCE")
+                .isHeadquarter(true).build()));
+        SwiftCodeSnapshotHolder holder = new SwiftCodeSnapshotHolder(swiftCodeRepository,
+                mock(ImportStateRepository.class));
+        ReflectionTestUtils.setField(holder, "snapshotFile", "");
+        doAnswer(invocation -> {
+            holder.onImported(invocation.getArgument(0));
+            return null;
+        }).when(eventPublisher).publishEvent(any(SwiftCodesImportedEvent.class));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return false;
+        }).when(excelParserService).importSwiftCodes();
+        SwiftCodeImportRunner runner = runner(true);
+        try {
+            runner.start();
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+
+            assertEquals(SwiftCodeImportRunner.Status.RUNNING, runner.getStatus());
+            assertTrue(runner.isServable());
+            assertFalse(holder.current().suggestions().suggest("BNP", 10).isEmpty());
+        } finally {
+            release.countDown();
+            runner.completion().get(10, TimeUnit.SECONDS);
+            runner.shutdown();
+        }
+        // The import changed nothing, so what was loaded before it is kept.
+        verify(eventPublisher, times(1)).publishEvent(any(SwiftCodesImportedEvent.class));
+    }
+
+    @Test
+    void run_WhenLoadingExistingDataFails_ShouldNotServeUntilDone() throws Exception {
+        doThrow(new IllegalStateException("corrupt row")).doNothing()
+                .when(eventPublisher).publishEvent(any(SwiftCodesImportedEvent.class));
+        assertFalse(servableWhileRunning(true, 10L));
+        verify(eventPublisher, times(2)).publishEvent(any(SwiftCodesImportedEvent.class));
+    }
+
+    private boolean servableWhileRunning(boolean serveExistingData, long existing) throws Exception {
+        when(swiftCodeRepository.count()).thenReturn(existing);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return true;
+        }).when(excelParserService).importSwiftCodes();
+        SwiftCodeImportRunner runner = runner(serveExistingData);
+        try {
+            runner.start();
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+            assertEquals(SwiftCodeImportRunner.Status.RUNNING, runner.getStatus());
+            Status health = new ImportHealthIndicator(runner).health().getStatus();
+            assertEquals(runner.isServable() ? Status.UP : Status.OUT_OF_SERVICE, health);
+            return runner.isServable();
+        } finally {
+            release.countDown();
+            runner.completion().get(10, TimeUnit.SECONDS);
+            runner.shutdown();
+        }
+    }
+
+    private SwiftCodeImportRunner runner(boolean serveExistingData) {
+        return new SwiftCodeImportRunner(excelParserService, swiftCodeRepository, eventPublisher, serveExistingData);
+    }
+}
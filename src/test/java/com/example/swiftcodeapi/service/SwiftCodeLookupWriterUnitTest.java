@@ -0,0 +1,57 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.dtos.SwiftCodeResponseDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+class SwiftCodeLookupWriterUnitTest {
+
+    @Mock
+    private SwiftCodeService swiftCodeService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SwiftCodeLookupWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        writer = new SwiftCodeLookupWriter(swiftCodeService, objectMapper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_ShouldStreamFoundEntriesThenNotFoundCodes() throws Exception {
+        List<String> codes = List.of("BNPAFRPPXXX", "UNKNOWN0XXX");
+        doAnswer(invocation -> {
+            ((Consumer<SwiftCodeResponseDto>) invocation.getArgument(1)).accept(SwiftCodeResponseDto.builder()
+                    .swiftCode("BNPAFRPPXXX")
+                    .bankName("BNP PARIBAS")
+                    .isHeadquarter(true)
+                    .build());
+            ((Consumer<String>) invocation.getArgument(2)).accept("UNKNOWN0XXX");
+            return null;
+        }).when(swiftCodeService).lookup(eq(codes), any(), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(codes, out);
+
+        JsonNode response = objectMapper.readTree(out.toByteArray());
+        assertEquals(1, response.get("found").size());
+        assertEquals("BNPAFRPPXXX", response.get("found").get(0).get("swiftCode").asText());
+        assertEquals("UNKNOWN0XXX", response.get("notFound").get(0).asText());
+    }
+}
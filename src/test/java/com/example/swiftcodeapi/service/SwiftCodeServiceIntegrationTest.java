@@ -13,6 +13,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.TimeUnit;
+
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,10 +30,14 @@ class SwiftCodeServiceIntegrationTest {
     @Autowired
     private SwiftCodeRepository swiftCodeRepository;
 
+    @Autowired
+    private SwiftCodeImportRunner importRunner;
+
     private SwiftCode sampleSwiftCode;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
+        importRunner.completion().get(1, TimeUnit.MINUTES);
         // Test için örnek Swift Code ekle
         sampleSwiftCode = SwiftCode.builder().swiftCode("CHASUSXXXX").bankName("JPMORGAN CHASE").address("270 Park Avenue").countryISO2("US").countryName("United States").isHeadquarter(true).headquarterCode(null).build();
 
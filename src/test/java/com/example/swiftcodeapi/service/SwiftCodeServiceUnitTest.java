@@ -1,7 +1,12 @@
 package com.example.swiftcodeapi.service;
 
+import com.example.swiftcodeapi.exception.BadRequestException;
 import com.example.swiftcodeapi.exception.ResourceNotFoundException;
+import com.example.swiftcodeapi.index.KnownSwiftCodeGuard;
+import com.example.swiftcodeapi.index.SwiftCodeSnapshot;
+import com.example.swiftcodeapi.index.SwiftCodeSnapshotHolder;
 import com.example.swiftcodeapi.model.SwiftCode;
+import com.example.swiftcodeapi.model.SwiftCodeEntry;
 import com.example.swiftcodeapi.repository.SwiftCodeRepository;
 import com.example.swiftcodeapi.dtos.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,7 +14,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +31,15 @@ class SwiftCodeServiceUnitTest {
     @Mock
     private SwiftCodeRepository swiftCodeRepository;
 
+    @Mock
+    private SwiftCodeSnapshotHolder snapshotHolder;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private KnownSwiftCodeGuard knownSwiftCodeGuard;
+
     @InjectMocks
     private SwiftCodeService swiftCodeService;
 
@@ -67,8 +84,9 @@ class SwiftCodeServiceUnitTest {
                         .build()
         );
 
-        when(swiftCodeRepository.findBySwiftCode(swiftCode)).thenReturn(Optional.of(headquarter));
-        when(swiftCodeRepository.findBranchesByHeadquarterCode(swiftCode.substring(0, 8))).thenReturn(branches);
+        List<SwiftCode> rows = new ArrayList<>(branches);
+        rows.add(headquarter);
+        when(swiftCodeRepository.findWithBranchesBySwiftCode(swiftCode)).thenReturn(entries(rows));
 
         SwiftCodeResponseDto result = swiftCodeService.getSwiftCodeDetails(swiftCode);
 
@@ -80,8 +98,9 @@ class SwiftCodeServiceUnitTest {
         assertTrue(result.isHeadquarter());
         assertEquals(2, result.getBranches().size());
 
-        verify(swiftCodeRepository, times(1)).findBySwiftCode(swiftCode);
-        verify(swiftCodeRepository, times(1)).findBranchesByHeadquarterCode(swiftCode.substring(0, 8));
+        verify(swiftCodeRepository, times(1)).findWithBranchesBySwiftCode(swiftCode);
+        verify(swiftCodeRepository, never()).findEntryBySwiftCode(any());
+        verify(swiftCodeRepository, never()).findBranchesByHeadquarterCode(any());
     }
 
     @Test
@@ -98,7 +117,7 @@ class SwiftCodeServiceUnitTest {
                 .headquarterCode("HSBC1XXX".substring(0, 8))
                 .build();
 
-        when(swiftCodeRepository.findBySwiftCode(swiftCode)).thenReturn(Optional.of(branch));
+        when(swiftCodeRepository.findWithBranchesBySwiftCode(swiftCode)).thenReturn(entries(List.of(branch)));
 
         SwiftCodeResponseDto result = swiftCodeService.getSwiftCodeDetails(swiftCode);
 
@@ -110,21 +129,148 @@ class SwiftCodeServiceUnitTest {
         assertFalse(result.isHeadquarter());
         assertNull(result.getBranches());
 
-        verify(swiftCodeRepository, times(1)).findBySwiftCode(swiftCode);
+        verify(swiftCodeRepository, times(1)).findWithBranchesBySwiftCode(swiftCode);
         verify(swiftCodeRepository, never()).findBranchesByHeadquarterCode(any());
     }
 
+    @Test
+    void getSwiftCodeDetails_WithSnapshotServing_ShouldNotQueryRepository() {
+        SwiftCodeSnapshot snapshot = SwiftCodeSnapshot.of(List.of(
+                SwiftCodeEntry.builder().swiftCode("BNPAFRPPXXX").bankName("BNP PARIBAS").countryISO2("FR").countryName("FRANCE").isHeadquarter(true).build(),
+                SwiftCodeEntry.builder().swiftCode("BNPAFRPP123").bankName("BNP PARIBAS PARIS").countryISO2("FR").countryName("FRANCE").isHeadquarter(false).build()
+        ));
+        when(snapshotHolder.isServing()).thenReturn(true);
+        when(snapshotHolder.current()).thenReturn(snapshot);
+
+        SwiftCodeResponseDto result = swiftCodeService.getSwiftCodeDetails("BNPAFRPPXXX");
+
+        assertTrue(result.isHeadquarter());
+        assertEquals(1, result.getBranches().size());
+        assertEquals("BNPAFRPP123", result.getBranches().get(0).getSwiftCode());
+        assertEquals(2, swiftCodeService.getSwiftCodesByCountry("fr").getSwiftCodes().size());
+        assertThrows(ResourceNotFoundException.class, () -> swiftCodeService.getSwiftCodeDetails("NONEXISTENT"));
+        verifyNoInteractions(swiftCodeRepository);
+    }
+
+    @Test
+    void lookup_ShouldResolveChunkWithOneQueryAndGroupBranches() {
+        SwiftCode headquarter = SwiftCode.builder().swiftCode("BNPAFRPPXXX").bankName("BNP PARIBAS").countryISO2("FR").isHeadquarter(true).build();
+        SwiftCode branch = SwiftCode.builder().swiftCode("BNPAFRPP123").bankName("BNP PARIBAS").countryISO2("FR").isHeadquarter(false).headquarterCode("BNPAFRPPXXX").build();
+        SwiftCode otherBranch = SwiftCode.builder().swiftCode("SOGEFRPP001").bankName("SOCIETE GENERALE").countryISO2("FR").isHeadquarter(false).headquarterCode("SOGEFRPPXXX").build();
+        when(swiftCodeRepository.findWithBranchesBySwiftCodeIn(any())).thenReturn(entries(List.of(branch, headquarter, otherBranch)));
+
+        List<SwiftCodeResponseDto> found = new ArrayList<>();
+        List<String> notFound = new ArrayList<>();
+        swiftCodeService.lookup(List.of("BNPAFRPPXXX", "MISSINGXXXX", "SOGEFRPP001", "BNPAFRPPXXX"), found::add, notFound::add);
+
+        assertEquals(2, found.size());
+        assertEquals("BNPAFRPPXXX", found.get(0).getSwiftCode());
+        assertEquals(1, found.get(0).getBranches().size());
+        assertEquals("BNPAFRPP123", found.get(0).getBranches().get(0).getSwiftCode());
+        assertEquals("SOGEFRPP001", found.get(1).getSwiftCode());
+        assertNull(found.get(1).getBranches());
+        assertEquals(List.of("MISSINGXXXX"), notFound);
+        verify(swiftCodeRepository, times(1)).findWithBranchesBySwiftCodeIn(List.of("BNPAFRPPXXX", "MISSINGXXXX", "SOGEFRPP001"));
+        verify(swiftCodeRepository, never()).findWithBranchesBySwiftCode(any());
+    }
+
+    @Test
+    void getSwiftCodeDetails_WithCodeRejectedByBloomFilter_ShouldNotQueryRepository() {
+        when(knownSwiftCodeGuard.isDefinitelyAbsent("UNKNOWNXXXX")).thenReturn(true);
+
+        assertThrows(ResourceNotFoundException.class, () -> swiftCodeService.getSwiftCodeDetails("UNKNOWNXXXX"));
+
+        verifyNoInteractions(swiftCodeRepository, snapshotHolder);
+    }
+
+    @Test
+    void lookup_ShouldOnlyQueryCodesPassedByBloomFilter() {
+        SwiftCode known = SwiftCode.builder().swiftCode("BNPAFRPPXXX").bankName("BNP PARIBAS").countryISO2("FR")
+                .countryName("FRANCE").isHeadquarter(false).build();
+        when(knownSwiftCodeGuard.isDefinitelyAbsent("UNKNOWNXXXX")).thenReturn(true);
+        when(swiftCodeRepository.findWithBranchesBySwiftCodeIn(List.of("BNPAFRPPXXX", "MISSINGXXXX"))).thenReturn(entries(List.of(known)));
+        List<SwiftCodeResponseDto> found = new ArrayList<>();
+        List<String> notFound = new ArrayList<>();
+
+        swiftCodeService.lookup(List.of("UNKNOWNXXXX", "BNPAFRPPXXX", "MISSINGXXXX"), found::add, notFound::add);
+
+        assertEquals(1, found.size());
+        assertEquals(List.of("UNKNOWNXXXX", "MISSINGXXXX"), notFound);
+        verify(knownSwiftCodeGuard).recordFalsePositive();
+    }
+
+    @Test
+    void lookup_WithEveryCodeRejected_ShouldNotQueryRepository() {
+        when(knownSwiftCodeGuard.isDefinitelyAbsent(any())).thenReturn(true);
+        List<String> notFound = new ArrayList<>();
+
+        swiftCodeService.lookup(List.of("UNKNOWNXXXX", "MISSINGXXXX"), dto -> fail(), notFound::add);
+
+        assertEquals(List.of("UNKNOWNXXXX", "MISSINGXXXX"), notFound);
+        verify(swiftCodeRepository, never()).findWithBranchesBySwiftCodeIn(any());
+    }
+
+    @Test
+    void getSwiftCodesByCountryPage_ShouldFetchOneExtraRowForTheCursor() {
+        List<SwiftCode> rows = List.of(
+                SwiftCode.builder().swiftCode("BNPAFRPP123").bankName("BNP PARIBAS").countryISO2("FR").countryName("FRANCE").build(),
+                SwiftCode.builder().swiftCode("BNPAFRPPABC").bankName("BNP PARIBAS").countryISO2("FR").countryName("FRANCE").build(),
+                SwiftCode.builder().swiftCode("BNPAFRPPXXX").bankName("BNP PARIBAS").countryISO2("FR").countryName("FRANCE").isHeadquarter(true).build()
+        );
+        when(swiftCodeRepository.findByCountryISO2After("FR", "", Limit.of(3))).thenReturn(entries(rows));
+        when(swiftCodeRepository.findByCountryISO2After("FR", "BNPAFRPPABC", Limit.of(3))).thenReturn(entries(rows.subList(2, 3)));
+
+        CountrySwiftCodesResponseDto first = swiftCodeService.getSwiftCodesByCountryPage("fr", null, 2);
+        assertEquals(2, first.getSwiftCodes().size());
+        assertEquals("FRANCE", first.getCountryName());
+        assertNotNull(first.getNextCursor());
+
+        CountrySwiftCodesResponseDto second = swiftCodeService.getSwiftCodesByCountryPage("fr", first.getNextCursor(), 2);
+        assertEquals("BNPAFRPPXXX", second.getSwiftCodes().get(0).getSwiftCode());
+        assertNull(second.getNextCursor());
+
+        assertThrows(BadRequestException.class, () -> swiftCodeService.getSwiftCodesByCountryPage("fr", "not a cursor!", 2));
+        verify(swiftCodeRepository, never()).findEntriesByCountryISO2(any());
+    }
+
+    @Test
+    void getBranchesPage_ShouldRejectCodesThatAreNotHeadquarters() {
+        SwiftCode branch = SwiftCode.builder().swiftCode("BNPAFRPP123").bankName("BNP PARIBAS").countryISO2("FR").isHeadquarter(false).build();
+        when(swiftCodeRepository.findEntryBySwiftCode("BNPAFRPP123")).thenReturn(Optional.of(SwiftCodeEntry.from(branch)));
+        when(swiftCodeRepository.findEntryBySwiftCode("BNPAFRPPXXX")).thenReturn(Optional.of(
+                SwiftCodeEntry.builder().swiftCode("BNPAFRPPXXX").bankName("BNP PARIBAS").countryISO2("FR").isHeadquarter(true).build()));
+        when(swiftCodeRepository.findBranchesByHeadquarterCodeAfter("BNPAFRPPXXX", "", Limit.of(11))).thenReturn(entries(List.of(branch)));
+
+        assertThrows(ResourceNotFoundException.class, () -> swiftCodeService.getBranchesPage("BNPAFRPP123", null, 10));
+        BranchesPageDto page = swiftCodeService.getBranchesPage("BNPAFRPPXXX", null, 10);
+        assertEquals(1, page.getBranches().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void suggest_ShouldClampLimitAndReadFromSnapshot() {
+        SwiftCodeSnapshot snapshot = SwiftCodeSnapshot.of(List.of(
+                SwiftCodeEntry.builder().swiftCode("BNPAFRPPXXX").bankName("BNP PARIBAS").countryISO2("FR").isHeadquarter(true).build(),
+                SwiftCodeEntry.builder().swiftCode("BNPAFRPP123").bankName("BNP PARIBAS").countryISO2("FR").isHeadquarter(false).build()
+        ));
+        when(snapshotHolder.current()).thenReturn(snapshot);
+
+        assertEquals(3, swiftCodeService.suggest("bnp", 1000).size());
+        assertEquals(1, swiftCodeService.suggest("bnp", 0).size());
+        verifyNoInteractions(swiftCodeRepository);
+    }
+
     @Test
     void getSwiftCodeDetails_WithNonExistentCode_ShouldThrowException() {
         String swiftCode = "NONEXISTENT";
-        when(swiftCodeRepository.findBySwiftCode(swiftCode)).thenReturn(Optional.empty());
+        when(swiftCodeRepository.findWithBranchesBySwiftCode(swiftCode)).thenReturn(List.of());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             swiftCodeService.getSwiftCodeDetails(swiftCode);
         });
 
         assertEquals("Swift code not found: " + swiftCode, exception.getMessage());
-        verify(swiftCodeRepository, times(1)).findBySwiftCode(swiftCode);
+        verify(swiftCodeRepository, times(1)).findWithBranchesBySwiftCode(swiftCode);
     }
 
     @Test
@@ -148,7 +294,7 @@ class SwiftCodeServiceUnitTest {
                         .build()
         );
 
-        when(swiftCodeRepository.findByCountryISO2(countryISO2.toUpperCase())).thenReturn(swiftCodes);
+        when(swiftCodeRepository.findEntriesByCountryISO2(countryISO2.toUpperCase())).thenReturn(entries(swiftCodes));
 
         CountrySwiftCodesResponseDto result = swiftCodeService.getSwiftCodesByCountry(countryISO2);
 
@@ -157,21 +303,21 @@ class SwiftCodeServiceUnitTest {
         assertEquals("UNITED STATES", result.getCountryName());
         assertEquals(2, result.getSwiftCodes().size());
 
-        verify(swiftCodeRepository, times(1)).findByCountryISO2(countryISO2.toUpperCase());
+        verify(swiftCodeRepository, times(1)).findEntriesByCountryISO2(countryISO2.toUpperCase());
     }
 
     @Test
     void getSwiftCodesByCountry_WithNoSwiftCodes_ShouldThrowException() {
 
         String countryISO2 = "ZZ";
-        when(swiftCodeRepository.findByCountryISO2(countryISO2.toUpperCase())).thenReturn(List.of());
+        when(swiftCodeRepository.findEntriesByCountryISO2(countryISO2.toUpperCase())).thenReturn(List.of());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             swiftCodeService.getSwiftCodesByCountry(countryISO2);
         });
 
         assertEquals("No swift codes found for country: " + countryISO2, exception.getMessage());
-        verify(swiftCodeRepository, times(1)).findByCountryISO2(countryISO2.toUpperCase());
+        verify(swiftCodeRepository, times(1)).findEntriesByCountryISO2(countryISO2.toUpperCase());
     }
 
     @Test
@@ -230,7 +376,7 @@ class SwiftCodeServiceUnitTest {
                         swiftCode.getCountryISO2().equals(requestDto.getCountryISO2().toUpperCase()) &&
                         swiftCode.getCountryName().equals(requestDto.getCountryName().toUpperCase()) &&
                         swiftCode.isHeadquarter() == requestDto.getIsHeadquarter() &&
-                        swiftCode.getHeadquarterCode().equals(requestDto.getSwiftCode().substring(0, 8))
+                        swiftCode.getHeadquarterCode().equals("BNPAFRPPXXX")
         ));
     }
 
@@ -270,4 +416,8 @@ class SwiftCodeServiceUnitTest {
         verify(swiftCodeRepository, times(1)).findBySwiftCode(swiftCode);
         verify(swiftCodeRepository, never()).delete(any());
     }
+
+    private static List<SwiftCodeEntry> entries(List<SwiftCode> rows) {
+        return rows.stream().map(SwiftCodeEntry::from).toList();
+    }
 }
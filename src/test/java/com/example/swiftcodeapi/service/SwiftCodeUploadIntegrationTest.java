@@ -0,0 +1,73 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.repository.ImportStateRepository;
+import com.example.swiftcodeapi.repository.SwiftCodeRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "swiftcode.import.upload-enabled=true")
+@AutoConfigureMockMvc
+class SwiftCodeUploadIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SwiftCodeImportRunner importRunner;
+
+    @Autowired
+    private ExcelParserService excelParserService;
+
+    @Autowired
+    private SwiftCodeRepository swiftCodeRepository;
+
+    @Autowired
+    private ImportStateRepository importStateRepository;
+
+    @AfterEach
+    void restoreConfiguredFiles() {
+        // The database is shared with the other tests: forget both imports so the configured files apply again.
+        importStateRepository.deleteAll();
+        importRunner.runReload();
+    }
+
+    @Test
+    void upload_ShouldSurviveARestartWithUnchangedConfiguredFiles() throws Exception {
+        importRunner.completion().get(1, TimeUnit.MINUTES);
+        MockMultipartFile file = new MockMultipartFile("file", "codes.csv", "text/csv",
+                ("COUNTRY ISO2 CODE,SWIFT CODE,CODE TYPE,NAME,ADDRESS,TOWN NAME,COUNTRY NAME,TIME ZONE\n"
+                        + "PL,UPLDPLPWXXX,BIC11,UPLOADED BANK,UL. TESTOWA 1,WARSZAWA,POLAND,Europe/Warsaw\n").getBytes());
+
+        String body = mockMvc.perform(multipart("/v1/swift-codes/import").file(file))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        ImportJob job = importRunner.findJob(JsonPath.read(body, "$.importId")).orElseThrow();
+        for (int i = 0; i < 600 && job.getFinishedAt() == null; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(SwiftCodeImportRunner.Status.DONE, job.getStatus());
+        assertEquals(1, swiftCodeRepository.count());
+
+        // What a restart, or the file watcher, runs against the configured files
+        assertFalse(excelParserService.importSwiftCodes());
+
+        assertEquals(1, swiftCodeRepository.count());
+        mockMvc.perform(get("/v1/swift-codes/UPLDPLPWXXX"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bankName").value("UPLOADED BANK"));
+    }
+}
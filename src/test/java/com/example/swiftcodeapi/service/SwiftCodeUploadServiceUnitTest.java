@@ -0,0 +1,109 @@
+package com.example.swiftcodeapi.service;
+
+import com.example.swiftcodeapi.dtos.ImportStatusDto;
+import com.example.swiftcodeapi.exception.BadRequestException;
+import com.example.swiftcodeapi.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SwiftCodeUploadServiceUnitTest {
+
+    @Mock
+    private SwiftCodeImportRunner importRunner;
+
+    @Mock
+    private ExcelParserService excelParserService;
+
+    @InjectMocks
+    private SwiftCodeUploadService swiftCodeUploadService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(swiftCodeUploadService, "uploadEnabled", true);
+        when(excelParserService.supports(any())).thenAnswer(invocation ->
+                ((String) invocation.getArgument(0)).endsWith(".csv"));
+    }
+
+    @Test
+    void startImport_ShouldQueueTheUploadedBytesUnderTheOriginalName() throws Exception {
+        byte[] content = "CountryISO2,SWIFT Code\nPL,BREXPLPWXXX\n".getBytes();
+        ImportJob job = new ImportJob("codes.csv", new File("codes.csv"));
+        when(importRunner.submit(eq("codes.csv"), any())).thenReturn(job);
+
+        ImportStatusDto status = swiftCodeUploadService.startImport(
+                new MockMultipartFile("file", "codes.csv", "text/csv", content));
+
+        ArgumentCaptor<File> file = ArgumentCaptor.forClass(File.class);
+        verify(importRunner).submit(eq("codes.csv"), file.capture());
+        try {
+            assertArrayEquals(content, Files.readAllBytes(file.getValue().toPath()));
+            assertTrue(file.getValue().getName().endsWith(".csv"));
+        } finally {
+            Files.deleteIfExists(file.getValue().toPath());
+        }
+        assertEquals(job.getId(), status.getImportId());
+        assertEquals("PENDING", status.getStatus());
+    }
+
+    @Test
+    void startImport_WithUnsupportedOrEmptyFile_ShouldRejectIt() {
+        assertThrows(BadRequestException.class, () -> swiftCodeUploadService.startImport(
+                new MockMultipartFile("file", "codes.json", "application/json", "[]".getBytes())));
+        assertThrows(BadRequestException.class, () -> swiftCodeUploadService.startImport(
+                new MockMultipartFile("file", "codes.csv", "text/csv", new byte[0])));
+        verifyNoInteractions(importRunner);
+    }
+
+    @Test
+    void startImport_WhenUploadsAreDisabled_ShouldAnswerNotFound() {
+        ReflectionTestUtils.setField(swiftCodeUploadService, "uploadEnabled", false);
+
+        assertThrows(ResourceNotFoundException.class, () -> swiftCodeUploadService.startImport(
+                new MockMultipartFile("file", "codes.csv", "text/csv", "CountryISO2,SWIFT Code\n".getBytes())));
+        verifyNoInteractions(importRunner);
+    }
+
+    @Test
+    void getImport_ShouldReportProgressAndRate() {
+        ImportJob job = new ImportJob("codes.csv", new File("codes.csv"));
+        job.started();
+        job.getProgress().parsed();
+        job.getProgress().parsed();
+        job.getProgress().rejected();
+        job.getProgress().written(1);
+        job.finished(null);
+        when(importRunner.findJob(job.getId())).thenReturn(Optional.of(job));
+
+        ImportStatusDto status = swiftCodeUploadService.getImport(job.getId());
+
+        assertEquals("DONE", status.getStatus());
+        assertEquals(2, status.getRowsParsed());
+        assertEquals(1, status.getRowsWritten());
+        assertEquals(1, status.getRowsRejected());
+        assertNotNull(status.getFinishedAt());
+        assertNull(status.getError());
+    }
+
+    @Test
+    void getImport_WithUnknownId_ShouldThrowNotFound() {
+        when(importRunner.findJob("missing")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> swiftCodeUploadService.getImport("missing"));
+    }
+}